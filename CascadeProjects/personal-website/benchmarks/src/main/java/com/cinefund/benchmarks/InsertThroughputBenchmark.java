@@ -0,0 +1,199 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.fundingservice.entity.Investment;
+import com.cinefund.fundingservice.entity.Transaction;
+import com.cinefund.fundingservice.repository.InvestmentRepository;
+import com.cinefund.fundingservice.repository.PayoutJdbcRepository;
+import com.cinefund.fundingservice.repository.PayoutLine;
+import com.cinefund.fundingservice.repository.TransactionIdAllocator;
+import com.cinefund.fundingservice.repository.TransactionRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of the two bulk write paths on PostgreSQL, with the id strategy the
+ * entities had before ({@code identity}: one INSERT ... RETURNING per row, no JDBC batching)
+ * and now ({@code pooled}: sequence blocks of 50, batches of 50 rewritten into multi-row
+ * inserts). {@code bulkImport} saves investments and their transactions through the real
+ * repositories, as createInvestments does; {@code payout} writes the payout transactions
+ * with one multi-row statement. Each operation writes {@code rows} rows of each kind.
+ *
+ * <p>Runs against an embedded PostgreSQL, which will not start as root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 6, time = 5)
+@Measurement(iterations = 8, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class InsertThroughputBenchmark {
+
+    @Param({"identity", "pooled"})
+    private String ids;
+
+    @Param("1000")
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private EntityManagerFactory entityManagerFactory;
+    private InvestmentRepository investmentRepository;
+    private TransactionRepository transactionRepository;
+    private PayoutJdbcRepository payoutJdbcRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        boolean pooled = ids.equals("pooled");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres" + (pooled ? "?reWriteBatchedInserts=true" : ""),
+                "postgres", "postgres");
+
+        // Same settings as funding-service's application.yml for the pooled case
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create");
+        if (pooled) {
+            properties.put("hibernate.jdbc.batch_size", 50);
+            properties.put("hibernate.order_inserts", true);
+        }
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setManagedTypes(PersistenceManagedTypes.of(Investment.class.getName(), Transaction.class.getName()));
+        if (!pooled) {
+            factory.setMappingResources("META-INF/identity-ids-orm.xml");
+        }
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(entityManager);
+        investmentRepository = repositoryFactory.getRepository(InvestmentRepository.class);
+        transactionRepository = repositoryFactory.getRepository(TransactionRepository.class);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Hibernate maps identity ids to bigserial on PostgreSQL: a nextval column default
+        Boolean databaseGenerated = jdbcTemplate.queryForObject(
+                "SELECT column_default IS NOT NULL OR is_identity = 'YES' FROM information_schema.columns " +
+                "WHERE table_name = 'investments' AND column_name = 'id'", Boolean.class);
+        if (databaseGenerated == pooled) {
+            throw new IllegalStateException("investments.id was not mapped as " + ids);
+        }
+        TransactionIdAllocator transactionIdAllocator = new TransactionIdAllocator();
+        ReflectionTestUtils.setField(transactionIdAllocator, "jdbcTemplate", jdbcTemplate);
+        payoutJdbcRepository = new PayoutJdbcRepository();
+        ReflectionTestUtils.setField(payoutJdbcRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(payoutJdbcRepository, "transactionIdAllocator", transactionIdAllocator);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        entityManagerFactory.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int bulkImport() {
+        return transactionTemplate.execute(status -> {
+            List<Investment> investments = new ArrayList<>(rows);
+            List<Transaction> transactions = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                String transactionId = "INV" + sequence++;
+                investments.add(investment(transactionId, i));
+                transactions.add(transaction(transactionId, i));
+            }
+            investmentRepository.saveAll(investments);
+            transactionRepository.saveAll(transactions);
+            return investments.size();
+        });
+    }
+
+    @Benchmark
+    public int payout() {
+        List<PayoutLine> lines = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            PayoutLine line = new PayoutLine((long) i, 1000L + i, 7L, BigDecimal.valueOf(500), "Movie 1");
+            line.setReturnAmount(BigDecimal.valueOf(575));
+            line.setPayoutTransactionId("PAY" + sequence++);
+            lines.add(line);
+        }
+        return transactionTemplate.execute(status -> ids.equals("pooled")
+                ? payoutJdbcRepository.insertPayoutTransactions(1L, lines, LocalDateTime.now())
+                : insertPayoutTransactionsWithColumnDefault(lines, LocalDateTime.now()));
+    }
+
+    // The payout insert as it was with identity ids: the column default numbers each row
+    private int insertPayoutTransactionsWithColumnDefault(List<PayoutLine> lines, LocalDateTime completedAt) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO transactions (transaction_id, user_id, movie_id, producer_id, amount, type, status, " +
+                "description, created_at, completed_at) VALUES ");
+        List<Object> args = new ArrayList<>(lines.size() * 8);
+        Timestamp timestamp = Timestamp.valueOf(completedAt);
+        for (int i = 0; i < lines.size(); i++) {
+            PayoutLine line = lines.get(i);
+            sql.append(i == 0 ? "(" : ", (").append("?, ?, ?, ?, ?, 'PAYOUT', 'SUCCESS', ?, ?, ?)");
+            args.add(line.getPayoutTransactionId());
+            args.add(line.getUserId());
+            args.add(1L);
+            args.add(line.getProducerId());
+            args.add(line.getReturnAmount());
+            args.add("Return payment for movie: " + line.getMovieTitle());
+            args.add(timestamp);
+            args.add(timestamp);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static Investment investment(String transactionId, int i) {
+        Investment investment = new Investment();
+        investment.setUserId(1000L + i);
+        investment.setMovieId(1L + i % 50);
+        investment.setProducerId(7L);
+        investment.setAmount(BigDecimal.valueOf(100 + i));
+        investment.setTransactionId(transactionId);
+        investment.setUserName("investor" + i);
+        investment.setMovieTitle("Movie " + (1 + i % 50));
+        investment.setProducerName("producer");
+        investment.setExpectedReturnPercentage(new BigDecimal("15.0"));
+        investment.setInvestmentDate(LocalDateTime.now());
+        return investment;
+    }
+
+    private static Transaction transaction(String transactionId, int i) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(transactionId);
+        transaction.setUserId(1000L + i);
+        transaction.setMovieId(1L + i % 50);
+        transaction.setProducerId(7L);
+        transaction.setAmount(BigDecimal.valueOf(100 + i));
+        transaction.setType(Transaction.TransactionType.INVESTMENT);
+        transaction.setDescription("Investment in movie: Movie " + (1 + i % 50));
+        return transaction;
+    }
+}
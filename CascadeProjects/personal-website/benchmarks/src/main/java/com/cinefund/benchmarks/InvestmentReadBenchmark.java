@@ -0,0 +1,126 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import com.cinefund.fundingservice.entity.Investment;
+import com.cinefund.fundingservice.repository.InvestmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One 10k-row investment listing read three ways: managed entities copied into DTOs in a
+ * read-write transaction (the old read path), the same in a read-only transaction, and the
+ * constructor-expression projection the repository now uses. Runs on in-memory H2, so the
+ * numbers leave out the network but keep Hibernate's per-row work. Run with {@code -prof gc}
+ * and compare {@code gc.alloc.rate.norm} (bytes per listing).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvestmentReadBenchmark {
+
+    private static final Long MOVIE_ID = 1L;
+    private static final String ENTITY_QUERY = "SELECT i FROM Investment i WHERE i.movieId = :movieId ORDER BY i.id";
+    private static final String PROJECTION_QUERY = InvestmentRepository.SELECT_RESPONSE + "WHERE i.movieId = :movieId ORDER BY i.id";
+
+    @Param("10000")
+    private int rows;
+
+    private EmbeddedDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(database);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setManagedTypes(PersistenceManagedTypes.of(Investment.class.getName()));
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.jdbc.batch_size", "50"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < rows; i++) {
+                Investment investment = new Investment(1000L + i, MOVIE_ID, 7L,
+                        BigDecimal.valueOf(100 + i % 4900), "TXN" + i);
+                investment.setStatus(Investment.InvestmentStatus.CONFIRMED);
+                investment.setUserName("investor" + i);
+                investment.setMovieTitle("Benchmark Movie");
+                investment.setProducerName("producer");
+                investment.setExpectedReturnPercentage(new BigDecimal("15.00"));
+                investment.setInvestmentDate(now.minusMinutes(i));
+                entityManager.persist(investment);
+                if (i % 50 == 49) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<InvestmentResponseDto> entities() {
+        return readWrite.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    public List<InvestmentResponseDto> entitiesReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    public List<InvestmentResponseDto> projection() {
+        return readOnly.execute(status -> entityManager.createQuery(PROJECTION_QUERY, InvestmentResponseDto.class)
+                .setParameter("movieId", MOVIE_ID)
+                .getResultList());
+    }
+
+    private List<InvestmentResponseDto> loadEntities() {
+        return entityManager.createQuery(ENTITY_QUERY, Investment.class)
+                .setParameter("movieId", MOVIE_ID)
+                .getResultList().stream()
+                .map(InvestmentResponseDto::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,49 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.userservice.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and the parse-and-verify every authenticated request pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String USERNAME = "investor@cinefund.com";
+    private static final Long USER_ID = 42L;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        // Same values as user-service's application.yml
+        ReflectionTestUtils.setField(jwtService, "secret", "cinefund-secret-key-for-jwt-token-generation-2024");
+        ReflectionTestUtils.setField(jwtService, "expiration", 86400000L);
+        token = jwtService.generateToken(USERNAME, USER_ID, "INVESTOR");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(USERNAME, USER_ID, "INVESTOR");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, USERNAME);
+    }
+}
@@ -0,0 +1,110 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.movieservice.entity.Movie;
+import com.cinefund.movieservice.repository.MovieChangeJdbcRepository;
+import com.cinefund.movieservice.repository.MovieRepository;
+import com.cinefund.movieservice.service.MovieCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * movie-service's browse snapshot when one movie changes, as after a raised-amount flush of a
+ * hot movie, over a catalog of {@code movies} movies of which a tenth are open for funding.
+ * The repository is an in-memory stub, so no database time is included. {@code refresh} is
+ * the snapshot update alone; the other two also serve the next browse request, for the
+ * funding list the movie is in and for a status list it is not in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class MovieCatalogBenchmark {
+
+    @Param("1000000")
+    private int movies;
+
+    private final Map<Long, Movie> table = new HashMap<>();
+    private MovieCatalog catalog;
+    private Movie hotMovie;
+
+    @Setup
+    public void setUp() {
+        Movie.MovieStatus[] statuses = Movie.MovieStatus.values();
+        for (long id = 1; id <= movies; id++) {
+            Movie movie = new Movie();
+            movie.setId(id);
+            movie.setTitle("Movie " + id);
+            movie.setBudget(BigDecimal.valueOf(1_000_000));
+            movie.setRaisedAmount(BigDecimal.ZERO);
+            movie.setProducerId(id % 500);
+            movie.setStatus(id % 10 == 0 ? Movie.MovieStatus.FUNDING : statuses[1 + (int) (id % (statuses.length - 1))]);
+            movie.setFundingDeadline(LocalDate.now().plusYears(1));
+            movie.setIsActive(true);
+            table.put(id, movie);
+        }
+        hotMovie = table.get(movies / 2L / 10 * 10);
+
+        catalog = new MovieCatalog();
+        ReflectionTestUtils.setField(catalog, "movieRepository", repository());
+        ReflectionTestUtils.setField(catalog, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+        // Not enabled, so refreshes are not announced
+        ReflectionTestUtils.setField(catalog, "movieChangeJdbcRepository", new MovieChangeJdbcRepository());
+        catalog.reload();
+        catalog.forFunding().getJson();
+        catalog.byStatus(Movie.MovieStatus.RELEASED).getJson();
+    }
+
+    @Benchmark
+    public MovieCatalog.View refresh() {
+        fund();
+        catalog.refresh(hotMovie.getId());
+        return catalog.forFunding();
+    }
+
+    @Benchmark
+    public byte[] refreshThenServeFunding() {
+        fund();
+        catalog.refresh(hotMovie.getId());
+        return catalog.forFunding().getJson();
+    }
+
+    @Benchmark
+    public byte[] refreshThenServeReleased() {
+        fund();
+        catalog.refresh(hotMovie.getId());
+        return catalog.byStatus(Movie.MovieStatus.RELEASED).getJson();
+    }
+
+    private void fund() {
+        hotMovie.setRaisedAmount(hotMovie.getRaisedAmount().add(BigDecimal.ONE));
+    }
+
+    // Answers the lookups the catalog makes from the in-memory table
+    private MovieRepository repository() {
+        return (MovieRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{MovieRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> new ArrayList<>(table.values());
+                    case "findById" -> Optional.ofNullable(table.get((Long) args[0]));
+                    case "findAllById" -> {
+                        List<Movie> found = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Movie movie = table.get((Long) id);
+                            if (movie != null) {
+                                found.add(movie);
+                            }
+                        }
+                        yield found;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,133 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.movieservice.dto.MovieSearchDocument;
+import com.cinefund.movieservice.service.MovieSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Movie search over a synthetic catalog: movie-service's BM25 index for a rare word, a common
+ * word and a three-word query, against a substring scan of every searchable field (what the
+ * {@code LIKE %keyword%} query does, minus the I/O). Word frequencies are skewed so a few words
+ * appear in a large share of movies. {@code rebuild} is the startup build of the whole index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class MovieSearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int LIMIT = 100;
+    private static final String[] GENRES = {"Drama", "Comedy", "Action", "Thriller", "Horror",
+            "Romance", "Documentary", "Animation", "Sci-Fi", "Fantasy"};
+
+    @Param("1000000")
+    private int movies;
+
+    private List<MovieSearchDocument> documents;
+    private MovieSearchIndex index;
+    private String rareWord;
+    private String commonWord;
+    private String threeWords;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        documents = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            documents.add(new MovieSearchDocument((long) i + 1,
+                    words(random, 3),
+                    words(random, 20),
+                    GENRES[random.nextInt(GENRES.length)],
+                    name(random, 5_000),
+                    name(random, 50_000) + ", " + name(random, 50_000) + ", " + name(random, 50_000)));
+        }
+        index = new MovieSearchIndex();
+        index.rebuild(documents);
+
+        rareWord = word(VOCABULARY - 17);
+        commonWord = word(3);
+        threeWords = word(40) + " " + word(900) + " " + GENRES[2];
+    }
+
+    @Benchmark
+    public List<Long> searchRareWord() {
+        return index.search(rareWord, LIMIT, id -> true);
+    }
+
+    @Benchmark
+    public List<Long> searchCommonWord() {
+        return index.search(commonWord, LIMIT, id -> true);
+    }
+
+    @Benchmark
+    public List<Long> searchThreeWords() {
+        return index.search(threeWords, LIMIT, id -> true);
+    }
+
+    @Benchmark
+    public List<Long> scanCommonWord() {
+        List<Long> matches = new ArrayList<>();
+        for (MovieSearchDocument document : documents) {
+            if (contains(document.title(), commonWord) || contains(document.description(), commonWord)
+                    || contains(document.genre(), commonWord) || contains(document.directorName(), commonWord)
+                    || contains(document.cast(), commonWord)) {
+                matches.add(document.id());
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public MovieSearchIndex rebuild() {
+        MovieSearchIndex rebuilt = new MovieSearchIndex();
+        rebuilt.rebuild(documents);
+        return rebuilt;
+    }
+
+    private static boolean contains(String text, String keyword) {
+        return text != null && text.contains(keyword);
+    }
+
+    // Cubing the uniform draw skews it towards the low, frequent word numbers
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            double skewed = Math.pow(random.nextDouble(), 3);
+            text.append(word((int) (skewed * VOCABULARY)));
+        }
+        return text.toString();
+    }
+
+    private static String name(Random random, int people) {
+        int person = random.nextInt(people);
+        return capitalize(word(VOCABULARY + person)) + " " + capitalize(word(VOCABULARY + people + person));
+    }
+
+    private static String word(int number) {
+        StringBuilder word = new StringBuilder();
+        int n = number * 7919 + 104729;
+        do {
+            word.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.fundingservice.service.PayoutAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splitting a movie's profit across its investors, as FundingService and the bulk and
+ * streaming payouts do it, against the per-investor BigDecimal ratio the service used before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayoutAllocationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int investors;
+
+    private long[] weights;
+    private long weightSum;
+    private long profit;
+
+    private BigDecimal[] amounts;
+    private BigDecimal totalInvestment;
+    private BigDecimal profitAmount;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        weights = new long[investors];
+        amounts = new BigDecimal[investors];
+        for (int i = 0; i < investors; i++) {
+            // 100.00 to 50,000.00 per investment
+            weights[i] = 10_000 + random.nextInt(4_990_001);
+            weightSum += weights[i];
+            amounts[i] = PayoutAllocator.fromMinorUnits(weights[i]);
+        }
+        totalInvestment = PayoutAllocator.fromMinorUnits(weightSum);
+        profit = weightSum / 3 + 7;
+        profitAmount = PayoutAllocator.fromMinorUnits(profit);
+    }
+
+    @Benchmark
+    public long[] largestRemainder() {
+        return PayoutAllocator.allocate(weights, profit);
+    }
+
+    @Benchmark
+    public void cumulativeShares(Blackhole blackhole) {
+        long cumulative = 0;
+        long before = 0;
+        for (long weight : weights) {
+            cumulative += weight;
+            long after = PayoutAllocator.cumulativeShare(profit, cumulative, weightSum);
+            blackhole.consume(after - before);
+            before = after;
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalRatio(Blackhole blackhole) {
+        for (BigDecimal amount : amounts) {
+            BigDecimal ratio = amount.divide(totalInvestment, 6, RoundingMode.HALF_UP);
+            blackhole.consume(amount.add(profitAmount.multiply(ratio)));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.fundingservice.dto.ReturnSummaryDto;
+import com.cinefund.fundingservice.entity.Investment;
+import com.cinefund.fundingservice.repository.InvestmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The producer return summary for one producer with a million investments across 50 movies,
+ * half of them paid out: every Investment loaded and folded with streams (the old path)
+ * against the grouped {@code summarizeReturnsByProducer} query it was replaced with. Both go
+ * through the real {@link InvestmentRepository} on in-memory H2, so the network is left out.
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} as well as the time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ProducerSummaryBenchmark {
+
+    private static final Long PRODUCER_ID = 7L;
+    private static final int MOVIES = 50;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Param("1000000")
+    private int investments;
+
+    private EmbeddedDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private InvestmentRepository investmentRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(database);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setManagedTypes(PersistenceManagedTypes.of(Investment.class.getName()));
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        investmentRepository = new JpaRepositoryFactory(entityManager).getRepository(InvestmentRepository.class);
+
+        readOnly = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readOnly.setReadOnly(true);
+
+        // Plain JDBC batches: a million persist() calls would take longer than the benchmark
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < investments; i++) {
+            long movieId = 1 + i % MOVIES;
+            boolean paid = movieId % 2 == 0;
+            BigDecimal amount = BigDecimal.valueOf(100 + i % 4900);
+            batch.add(new Object[]{(long) i + 1, 1000L + i % 20_000, movieId, PRODUCER_ID, amount, "TXN" + i,
+                    paid ? "RETURN_PAID" : "CONFIRMED", "investor" + i, "Movie " + movieId, "producer",
+                    paid ? amount.multiply(BigDecimal.valueOf(2)) : BigDecimal.ZERO, paid, now, now, now});
+            if (batch.size() == INSERT_BATCH || i == investments - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO investments (id, currency, user_id, movie_id, producer_id, amount, " +
+                        "transaction_id, status, user_name, movie_title, producer_name, expected_return_percentage, " +
+                        "actual_return_amount, return_paid, investment_date, created_at, updated_at) " +
+                        "VALUES (?, 'INR', ?, ?, ?, ?, ?, ?, ?, ?, ?, 15.00, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        database.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, Object> loadAllInvestments() {
+        return readOnly.execute(status -> {
+            List<Investment> allInvestments = investmentRepository.findByProducerId(PRODUCER_ID);
+
+            long totalInvestments = allInvestments.size();
+            BigDecimal totalInvestmentAmount = allInvestments.stream()
+                    .map(Investment::getAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            long paidReturns = allInvestments.stream()
+                    .mapToLong(inv -> inv.getReturnPaid() != null && inv.getReturnPaid() ? 1 : 0)
+                    .sum();
+            BigDecimal totalReturnsPaid = allInvestments.stream()
+                    .filter(inv -> inv.getReturnPaid() != null && inv.getReturnPaid())
+                    .map(inv -> inv.getActualReturnAmount() != null ? inv.getActualReturnAmount() : BigDecimal.ZERO)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            Map<Long, List<Investment>> investmentsByMovie = allInvestments.stream()
+                    .collect(Collectors.groupingBy(Investment::getMovieId));
+            List<Map<String, Object>> movieSummaries = new ArrayList<>();
+            for (Map.Entry<Long, List<Investment>> entry : investmentsByMovie.entrySet()) {
+                List<Investment> movieInvestments = entry.getValue();
+                Map<String, Object> movieSummary = new HashMap<>();
+                movieSummary.put("movieId", entry.getKey());
+                movieSummary.put("movieTitle", movieInvestments.get(0).getMovieTitle());
+                movieSummary.put("totalInvestments", movieInvestments.size());
+                movieSummary.put("totalAmount", movieInvestments.stream()
+                        .map(Investment::getAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add));
+                long moviePaidReturns = movieInvestments.stream()
+                        .mapToLong(inv -> inv.getReturnPaid() != null && inv.getReturnPaid() ? 1 : 0)
+                        .sum();
+                movieSummary.put("paidReturns", moviePaidReturns);
+                movieSummary.put("unpaidReturns", movieInvestments.size() - moviePaidReturns);
+                movieSummaries.add(movieSummary);
+            }
+            return summary(totalInvestments, totalInvestmentAmount, paidReturns, totalReturnsPaid, movieSummaries);
+        });
+    }
+
+    @Benchmark
+    public ReturnSummaryDto groupedQuery() {
+        return readOnly.execute(status -> ReturnSummaryDto.of(PRODUCER_ID, investmentRepository.summarizeReturnsByProducer(PRODUCER_ID)));
+    }
+
+    private static Map<String, Object> summary(long totalInvestments, BigDecimal totalInvestmentAmount, long paidReturns,
+                                               BigDecimal totalReturnsPaid, List<Map<String, Object>> movieSummaries) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("producerId", PRODUCER_ID);
+        summary.put("totalInvestments", totalInvestments);
+        summary.put("totalInvestmentAmount", totalInvestmentAmount);
+        summary.put("paidReturns", paidReturns);
+        summary.put("unpaidReturns", totalInvestments - paidReturns);
+        summary.put("totalReturnsPaid", totalReturnsPaid);
+        summary.put("movieBreakdown", movieSummaries);
+        return summary;
+    }
+}
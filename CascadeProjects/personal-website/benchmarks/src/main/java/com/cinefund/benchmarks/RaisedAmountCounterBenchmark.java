@@ -0,0 +1,50 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.movieservice.service.RaisedAmountCounter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many investors funding the same movie at once: movie-service's striped raised-amount
+ * counter against a single lock-protected BigDecimal total. The flush threshold is set out
+ * of reach so only the in-memory accumulation is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RaisedAmountCounterBenchmark {
+
+    private static final Long MOVIE_ID = 1L;
+    private static final BigDecimal AMOUNT = new BigDecimal("250.00");
+
+    private RaisedAmountCounter counter;
+
+    private final Object lock = new Object();
+    private BigDecimal raisedAmount = BigDecimal.ZERO;
+
+    @Setup
+    public void setUp() {
+        counter = new RaisedAmountCounter();
+        ReflectionTestUtils.setField(counter, "flushThreshold", Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public void stripedCounter() {
+        counter.add(MOVIE_ID, AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal lockedTotal() {
+        synchronized (lock) {
+            raisedAmount = raisedAmount.add(AMOUNT);
+            return raisedAmount;
+        }
+    }
+}
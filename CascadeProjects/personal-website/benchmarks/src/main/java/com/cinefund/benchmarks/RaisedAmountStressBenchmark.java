@@ -0,0 +1,183 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.movieservice.entity.Movie;
+import com.cinefund.movieservice.repository.MovieFundingJdbcRepository;
+import com.cinefund.movieservice.service.MovieCatalog;
+import com.cinefund.movieservice.service.RaisedAmountCounter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stress test of movie-service's raised-amount counter on PostgreSQL: {@code investors}
+ * threads released together, each investing {@code investmentsPerInvestor} times in the same
+ * movie, spread over {@code instances} counters that each flush every 100 ms as the service
+ * does. The budget is reached part-way through. Every round checks that raised_amount is the
+ * exact sum of the investments and that FUNDING to PRODUCTION happened exactly once, and
+ * fails the run otherwise. The score is the time for one round, final flush included.
+ *
+ * <p>Runs against an embedded PostgreSQL, which will not start as root.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 50)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class RaisedAmountStressBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("250.00");
+    private static final long FLUSH_INTERVAL_MS = 100;
+
+    @Param("1000")
+    private int investors;
+
+    @Param("5")
+    private int investmentsPerInvestor;
+
+    @Param("2")
+    private int instances;
+
+    private EmbeddedPostgres postgres;
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private List<RaisedAmountCounter> counters;
+    private List<ReentrantLock> flushLocks;
+    private ExecutorService investorPool;
+    private ScheduledExecutorService flushers;
+    private final AtomicInteger transitions = new AtomicInteger();
+    private Long movieId;
+    private BigDecimal expectedTotal;
+
+    @Setup
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres", "postgres", "postgres");
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setManagedTypes(PersistenceManagedTypes.of(Movie.class.getName()));
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Counts the status updates that actually moved the movie to PRODUCTION
+        MovieFundingJdbcRepository fundingRepository = new MovieFundingJdbcRepository() {
+            @Override
+            public int startProductionIfFunded(Long id) {
+                int updated = super.startProductionIfFunded(id);
+                transitions.addAndGet(updated);
+                return updated;
+            }
+        };
+        ReflectionTestUtils.setField(fundingRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(fundingRepository, "entityManagerFactory", entityManagerFactory);
+        // Only queues the movies to refresh; each round checks the database itself
+        MovieCatalog catalog = new MovieCatalog();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        counters = new ArrayList<>(instances);
+        flushLocks = new ArrayList<>(instances);
+        flushers = Executors.newScheduledThreadPool(instances);
+        for (int i = 0; i < instances; i++) {
+            RaisedAmountCounter counter = new RaisedAmountCounter();
+            ReflectionTestUtils.setField(counter, "movieFundingJdbcRepository", fundingRepository);
+            ReflectionTestUtils.setField(counter, "transactionTemplate", transactionTemplate);
+            ReflectionTestUtils.setField(counter, "movieCatalog", catalog);
+            ReflectionTestUtils.setField(counter, "flushThreshold", 500L);
+            ReentrantLock flushLock = new ReentrantLock();
+            counters.add(counter);
+            flushLocks.add(flushLock);
+            flushers.scheduleWithFixedDelay(() -> {
+                flushLock.lock();
+                try {
+                    counter.flushAll();
+                } finally {
+                    flushLock.unlock();
+                }
+            }, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+        investorPool = Executors.newFixedThreadPool(investors);
+
+        expectedTotal = AMOUNT.multiply(BigDecimal.valueOf((long) investors * investmentsPerInvestor));
+        jdbcTemplate.update("INSERT INTO movies (id, title, budget, raised_amount, producer_id, status, is_active) " +
+                "VALUES (1, 'Hot movie', ?, 0, 7, 'FUNDING', true)", expectedTotal.multiply(new BigDecimal("0.8")));
+        movieId = 1L;
+    }
+
+    @Setup(Level.Iteration)
+    public void resetMovie() {
+        jdbcTemplate.update("UPDATE movies SET raised_amount = 0, status = 'FUNDING' WHERE id = ?", movieId);
+        transitions.set(0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        investorPool.shutdownNow();
+        flushers.shutdownNow();
+        entityManagerFactory.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public BigDecimal investInOneMovie() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> investments = new ArrayList<>(investors);
+        for (int i = 0; i < investors; i++) {
+            RaisedAmountCounter counter = counters.get(i % instances);
+            investments.add(investorPool.submit(() -> {
+                start.await();
+                for (int n = 0; n < investmentsPerInvestor; n++) {
+                    counter.add(movieId, AMOUNT);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> investment : investments) {
+            investment.get();
+        }
+        // Waits out any scheduled flush in flight, then sends what is left as the next tick would
+        flushLocks.forEach(ReentrantLock::lock);
+        Map<String, Object> movie;
+        try {
+            counters.forEach(counter -> counter.flush(movieId));
+            movie = jdbcTemplate.queryForMap("SELECT raised_amount, status FROM movies WHERE id = ?", movieId);
+        } finally {
+            flushLocks.forEach(ReentrantLock::unlock);
+        }
+        BigDecimal raised = (BigDecimal) movie.get("raised_amount");
+        if (raised.compareTo(expectedTotal) != 0) {
+            throw new IllegalStateException("raised_amount is " + raised + ", expected " + expectedTotal);
+        }
+        if (!"PRODUCTION".equals(movie.get("status")) || transitions.get() != 1) {
+            throw new IllegalStateException("Movie is " + movie.get("status") + " after " + transitions.get()
+                    + " FUNDING to PRODUCTION transitions, expected PRODUCTION after exactly one");
+        }
+        return raised;
+    }
+}
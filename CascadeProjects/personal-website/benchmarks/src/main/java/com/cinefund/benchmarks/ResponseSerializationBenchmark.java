@@ -0,0 +1,211 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.fundingservice.dto.ApiResponse;
+import com.cinefund.fundingservice.dto.CursorPageDto;
+import com.cinefund.fundingservice.dto.InvestmentPagePayload;
+import com.cinefund.fundingservice.dto.InvestmentPayload;
+import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import com.cinefund.fundingservice.entity.Investment;
+import com.cinefund.movieservice.dto.MovieListPayload;
+import com.cinefund.movieservice.dto.MovieResponseDto;
+import com.cinefund.movieservice.entity.Movie;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response DTO construction from entities, and Jackson serialisation of response bodies with
+ * an ObjectMapper configured the way Spring Boot configures it: the HashMap bodies the
+ * controllers used to build, next to the typed {@code ApiResponse} envelopes that replaced
+ * them. Run with {@code -prof gc} to compare allocation per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private static final BigDecimal TOTAL_AMOUNT = new BigDecimal("250000.00");
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Investment investment;
+    private Movie movie;
+    private Map<String, Object> investmentResponse;
+    private Map<String, Object> investmentPageResponse;
+    private Map<String, Object> movieListResponse;
+    private InvestmentResponseDto investmentDto;
+    private CursorPageDto<InvestmentResponseDto> investmentPage;
+    private List<MovieResponseDto> movies;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        investment = investment(1L);
+        movie = movie(1L);
+
+        investmentResponse = new HashMap<>();
+        investmentResponse.put("success", true);
+        investmentResponse.put("message", "Investment created successfully");
+        investmentResponse.put("investment", new InvestmentResponseDto(investment));
+
+        List<InvestmentResponseDto> investments = new ArrayList<>(pageSize);
+        movies = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            investments.add(new InvestmentResponseDto(investment(id)));
+            movies.add(new MovieResponseDto(movie(id)));
+        }
+        investmentPageResponse = new HashMap<>();
+        investmentPageResponse.put("success", true);
+        investmentPageResponse.put("investments", investments);
+        investmentPageResponse.put("count", investments.size());
+        investmentPageResponse.put("nextCursor", "eyJpZCI6MjB9");
+        investmentPageResponse.put("hasMore", true);
+        investmentPageResponse.put("totalAmount", new BigDecimal("250000.00"));
+
+        movieListResponse = new HashMap<>();
+        movieListResponse.put("success", true);
+        movieListResponse.put("movies", movies);
+        movieListResponse.put("count", movies.size());
+
+        investmentDto = new InvestmentResponseDto(investment);
+        investmentPage = new CursorPageDto<>(investments, "eyJpZCI6MjB9");
+    }
+
+    @Benchmark
+    public InvestmentResponseDto investmentDto() {
+        return new InvestmentResponseDto(investment);
+    }
+
+    @Benchmark
+    public MovieResponseDto movieDto() {
+        return new MovieResponseDto(movie);
+    }
+
+    @Benchmark
+    public byte[] investmentResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(investmentResponse);
+    }
+
+    @Benchmark
+    public byte[] investmentPageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(investmentPageResponse);
+    }
+
+    @Benchmark
+    public byte[] movieListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movieListResponse);
+    }
+
+    // Per request as a controller does it: build the body, then stream it out like the message converter
+
+    @Benchmark
+    public void investmentMapPerRequest() throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Investment created successfully");
+        response.put("investment", investmentDto);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public void investmentTypedPerRequest() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(),
+                ApiResponse.ok("Investment created successfully", new InvestmentPayload(investmentDto)));
+    }
+
+    @Benchmark
+    public void investmentPageMapPerRequest() throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("investments", investmentPage.getItems());
+        response.put("count", investmentPage.getItems().size());
+        response.put("nextCursor", investmentPage.getNextCursor());
+        response.put("hasMore", investmentPage.isHasMore());
+        response.put("totalAmount", TOTAL_AMOUNT);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public void investmentPageTypedPerRequest() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(),
+                ApiResponse.ok(new InvestmentPagePayload(investmentPage, TOTAL_AMOUNT, null)));
+    }
+
+    @Benchmark
+    public void movieListMapPerRequest() throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("movies", movies);
+        response.put("count", movies.size());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    @Benchmark
+    public void movieListTypedPerRequest() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(),
+                com.cinefund.movieservice.dto.ApiResponse.ok(new MovieListPayload(movies)));
+    }
+
+    private static Investment investment(long id) {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        Investment investment = new Investment();
+        investment.setId(id);
+        investment.setUserId(1000 + id);
+        investment.setMovieId(7L);
+        investment.setProducerId(3L);
+        investment.setAmount(new BigDecimal("12500.00"));
+        investment.setTransactionId("TXN_01HZX3K7P9QRS" + id);
+        investment.setStatus(Investment.InvestmentStatus.CONFIRMED);
+        investment.setUserName("investor" + id);
+        investment.setMovieTitle("The Long Take");
+        investment.setProducerName("North Star Pictures");
+        investment.setExpectedReturnPercentage(new BigDecimal("18.50"));
+        investment.setReturnPaid(false);
+        investment.setInvestmentDate(now);
+        investment.setCreatedAt(now);
+        investment.setUpdatedAt(now);
+        return investment;
+    }
+
+    private static Movie movie(long id) {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle("The Long Take " + id);
+        movie.setDescription("A one-shot thriller set over a single night in a film studio.");
+        movie.setStoryline("A continuity editor discovers the dailies are showing tomorrow's scenes.");
+        movie.setBudget(new BigDecimal("5000000.00"));
+        movie.setRaisedAmount(new BigDecimal("3250000.00"));
+        movie.setExpectedReturnPercentage(new BigDecimal("18.50"));
+        movie.setProducerId(3L);
+        movie.setProducerName("North Star Pictures");
+        movie.setDirectorName("A. Director");
+        movie.setCast("Lead One, Lead Two, Supporting Three");
+        movie.setGenre("Thriller");
+        movie.setReleaseDate(LocalDate.of(2025, 10, 1));
+        movie.setFundingDeadline(LocalDate.of(2024, 12, 31));
+        movie.setStatus(Movie.MovieStatus.FUNDING);
+        movie.setPosterUrl("https://example.com/posters/" + id + ".jpg");
+        movie.setIsActive(true);
+        movie.setCreatedAt(now);
+        movie.setUpdatedAt(now);
+        return movie;
+    }
+}
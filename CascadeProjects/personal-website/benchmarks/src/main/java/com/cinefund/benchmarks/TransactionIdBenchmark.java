@@ -0,0 +1,44 @@
+package com.cinefund.benchmarks;
+
+import com.cinefund.fundingservice.service.SnowflakeTransactionIdGenerator;
+import com.cinefund.fundingservice.service.TransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction id generation, alone and with eight threads sharing one generator as request
+ * threads do. The UUID-based id is the format the service used before.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionIdBenchmark {
+
+    private TransactionIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new SnowflakeTransactionIdGenerator(1);
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return generator.nextPayoutId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeContended() {
+        return generator.nextPayoutId();
+    }
+
+    @Benchmark
+    public String uuid() {
+        return "PAYOUT_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+    }
+}
@@ -18,6 +18,7 @@ CREATE TABLE IF NOT EXISTS investments (
     actual_return_amount DECIMAL(19,2) DEFAULT 0.00,
     return_paid BOOLEAN DEFAULT FALSE,
     return_payment_date TIMESTAMP,
+    confirmed_at TIMESTAMP,
     investment_date TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
@@ -41,16 +42,111 @@ CREATE TABLE IF NOT EXISTS transactions (
     completed_at TIMESTAMP
 );
 
+-- Create payout checkpoints table (one row per movie for resumable streaming payouts)
+CREATE TABLE IF NOT EXISTS payout_checkpoints (
+    movie_id BIGINT PRIMARY KEY,
+    total_revenue DECIMAL(19,2) NOT NULL,
+    total_investment DECIMAL(19,2) NOT NULL,
+    allocated_investment DECIMAL(19,2) DEFAULT 0.00,
+    last_investment_id BIGINT NOT NULL DEFAULT 0,
+    investors_processed BIGINT NOT NULL DEFAULT 0,
+    amount_distributed DECIMAL(19,2) NOT NULL DEFAULT 0.00,
+    status VARCHAR(20) NOT NULL DEFAULT 'IN_PROGRESS',
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    confirmed_by TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Create node id leases table (Snowflake transaction id node ids held by running instances)
+CREATE TABLE IF NOT EXISTS node_id_leases (
+    node_id INTEGER PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    lease_expires_at TIMESTAMP NOT NULL,
+    last_timestamp BIGINT NOT NULL
+);
+
+-- Create payout jobs table (background payouts submitted through the REST API)
+CREATE TABLE IF NOT EXISTS payout_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    type VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    movie_id BIGINT,
+    producer_id BIGINT,
+    total_revenue DECIMAL(19,2),
+    request_payload TEXT,
+    investors_total BIGINT DEFAULT 0,
+    investors_processed BIGINT DEFAULT 0,
+    amount_distributed DECIMAL(19,2) DEFAULT 0.00,
+    result_payload TEXT,
+    error_message TEXT,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    owner VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Create funding aggregate tables (totals of CONFIRMED investments, maintained by the funding service)
+CREATE TABLE IF NOT EXISTS movie_funding_totals (
+    movie_id BIGINT PRIMARY KEY,
+    total_investment DECIMAL(19,2) NOT NULL DEFAULT 0.00,
+    investor_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS producer_funding_totals (
+    producer_id BIGINT PRIMARY KEY,
+    total_investment DECIMAL(19,2) NOT NULL DEFAULT 0.00,
+    unique_investor_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS producer_investors (
+    producer_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    confirmed_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (producer_id, user_id)
+);
+
+-- Responses of createInvestment calls made with an Idempotency-Key, kept until expires_at
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    investment_id BIGINT,
+    response_payload TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Ids are handed out by Hibernate in pooled blocks of 50 (allocationSize on the entities)
+ALTER SEQUENCE investments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_investments_user_id ON investments(user_id);
 CREATE INDEX IF NOT EXISTS idx_investments_movie_id ON investments(movie_id);
 CREATE INDEX IF NOT EXISTS idx_investments_producer_id ON investments(producer_id);
+CREATE INDEX IF NOT EXISTS idx_investments_producer_movie ON investments(producer_id, movie_id);
 CREATE INDEX IF NOT EXISTS idx_investments_transaction_id ON investments(transaction_id);
 CREATE INDEX IF NOT EXISTS idx_investments_status ON investments(status);
+CREATE INDEX IF NOT EXISTS idx_investments_unpaid_page ON investments(id)
+    WHERE return_paid = FALSE AND status = 'CONFIRMED';
+CREATE INDEX IF NOT EXISTS idx_investments_unpaid_date_page ON investments(investment_date, id)
+    WHERE return_paid = FALSE AND status = 'CONFIRMED';
+CREATE INDEX IF NOT EXISTS idx_investments_unpaid_movie ON investments(movie_id, id)
+    WHERE return_paid = FALSE AND status = 'CONFIRMED';
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_payout_jobs_status ON payout_jobs(status);
 
 CREATE INDEX IF NOT EXISTS idx_transactions_transaction_id ON transactions(transaction_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_user_id ON transactions(user_id);
 CREATE INDEX IF NOT EXISTS idx_transactions_status ON transactions(status);
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at ON transactions(created_at, id);
 
 -- Insert some test data
 INSERT INTO investments (
@@ -2,8 +2,10 @@ package com.cinefund.fundingservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FundingServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(FundingServiceApplication.class, args);
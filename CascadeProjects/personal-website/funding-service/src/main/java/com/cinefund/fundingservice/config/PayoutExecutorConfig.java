@@ -0,0 +1,57 @@
+package com.cinefund.fundingservice.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PayoutExecutorConfig {
+
+    @Autowired
+    private Environment environment;
+
+    @Bean(name = "payoutExecutor")
+    public ThreadPoolTaskExecutor payoutExecutor(@Value("${funding.payout.parallel.workers:4}") int workers,
+                                                 @Value("${funding.payout.parallel.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payout-");
+        useVirtualThreadsIfEnabled(executor, "payout-");
+        // A full queue pushes work back onto the submitting thread instead of failing the movie
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "payoutJobExecutor")
+    public ThreadPoolTaskExecutor payoutJobExecutor(@Value("${funding.payout.jobs.workers:2}") int workers,
+                                                    @Value("${funding.payout.jobs.queue-capacity:1000}") int queueCapacity) {
+        // Kept apart from payoutExecutor: a producer job waits on per-movie tasks submitted there
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payout-job-");
+        useVirtualThreadsIfEnabled(executor, "payout-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    // With spring.threads.virtual.enabled on Java 21 the workers become virtual threads; the
+    // pool size and queue still bound how many payouts hold a database connection at once
+    private void useVirtualThreadsIfEnabled(ThreadPoolTaskExecutor executor, String threadNamePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
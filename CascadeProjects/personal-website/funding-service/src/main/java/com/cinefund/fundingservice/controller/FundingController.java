@@ -1,28 +1,52 @@
 package com.cinefund.fundingservice.controller;
 
+import com.cinefund.fundingservice.dto.ApiResponse;
+import com.cinefund.fundingservice.dto.BulkTransitionPayload;
+import com.cinefund.fundingservice.dto.BulkTransitionRequestDto;
+import com.cinefund.fundingservice.dto.CursorPageDto;
 import com.cinefund.fundingservice.dto.InvestmentDto;
+import com.cinefund.fundingservice.dto.InvestmentListPayload;
+import com.cinefund.fundingservice.dto.InvestmentPagePayload;
+import com.cinefund.fundingservice.dto.InvestmentPayload;
 import com.cinefund.fundingservice.dto.InvestmentResponseDto;
-import com.cinefund.fundingservice.dto.ReturnProcessingDto;
+import com.cinefund.fundingservice.dto.LedgerExportFilter;
+import com.cinefund.fundingservice.dto.MovieCollectionResultDto;
 import com.cinefund.fundingservice.dto.MovieCollectionUpdateDto;
+import com.cinefund.fundingservice.dto.MovieIdsPayload;
+import com.cinefund.fundingservice.dto.MovieReturnsResultDto;
+import com.cinefund.fundingservice.dto.PayoutJobPayload;
+import com.cinefund.fundingservice.dto.PayoutJobStatusDto;
+import com.cinefund.fundingservice.dto.ProducerInvestorsPayload;
+import com.cinefund.fundingservice.dto.ResultPayload;
+import com.cinefund.fundingservice.dto.ReturnProcessingDto;
+import com.cinefund.fundingservice.dto.ReturnSummaryDto;
+import com.cinefund.fundingservice.dto.SummaryPayload;
+import com.cinefund.fundingservice.entity.Transaction;
+import com.cinefund.fundingservice.service.FundingAggregateService;
 import com.cinefund.fundingservice.service.FundingService;
+import com.cinefund.fundingservice.service.IdempotencyService;
+import com.cinefund.fundingservice.service.InvestmentGroupCommitService;
+import com.cinefund.fundingservice.service.LedgerExportService;
+import com.cinefund.fundingservice.service.PayoutJobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-
 @RestController
 @RequestMapping("/api/funding")
 @CrossOrigin(origins = "*")
@@ -32,21 +56,32 @@ public class FundingController {
     @Autowired
     private FundingService fundingService;
 
+    @Autowired
+    private PayoutJobService payoutJobService;
+
+    @Autowired
+    private FundingAggregateService fundingAggregateService;
+
+    @Autowired
+    private LedgerExportService ledgerExportService;
+
+    @Autowired
+    private InvestmentGroupCommitService investmentGroupCommitService;
+
     @PostMapping("/invest")
     @Operation(summary = "Create investment", description = "Create a new investment in a movie")
-    public ResponseEntity<?> createInvestment(@Valid @RequestBody InvestmentDto investmentDto) {
+    public ResponseEntity<?> createInvestment(@Valid @RequestBody InvestmentDto investmentDto,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         try {
-            InvestmentResponseDto investment = fundingService.createInvestment(investmentDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Investment created successfully");
-            response.put("investment", investment);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            InvestmentResponseDto investment = investmentGroupCommitService.isEnabled()
+                    ? investmentGroupCommitService.submit(investmentDto, idempotencyKey)
+                    : fundingService.createInvestment(investmentDto, idempotencyKey);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("Investment created successfully", new InvestmentPayload(investment)));
+        } catch (IllegalStateException e) {
+            // Idempotency-Key reused for another body, or the first attempt has not finished
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -55,43 +90,47 @@ public class FundingController {
     public ResponseEntity<?> confirmInvestment(@PathVariable("transactionId") String transactionId) {
         try {
             InvestmentResponseDto investment = fundingService.confirmInvestment(transactionId);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Investment confirmed successfully");
-            response.put("investment", investment);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Investment confirmed successfully", new InvestmentPayload(investment)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/confirm/bulk")
+    @Operation(summary = "Confirm investments in bulk", description = "Confirm many pending investments at once; returns an outcome per transaction ID")
+    public ResponseEntity<?> confirmInvestments(@Valid @RequestBody BulkTransitionRequestDto request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.ok(BulkTransitionPayload.of(fundingService.confirmInvestments(request.getTransactionIds()))));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/cancel/bulk")
+    @Operation(summary = "Cancel investments in bulk", description = "Cancel many investments at once; returns an outcome per transaction ID")
+    public ResponseEntity<?> cancelInvestments(@Valid @RequestBody BulkTransitionRequestDto request) {
+        try {
+            return ResponseEntity.ok(ApiResponse.ok(BulkTransitionPayload.of(fundingService.cancelInvestments(request.getTransactionIds(), request.getReason()))));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
     @PutMapping("/cancel/{transactionId}")
     @Operation(summary = "Cancel investment", description = "Cancel a pending investment by transaction ID")
-    public ResponseEntity<Map<String, Object>> cancelInvestment(
+    public ResponseEntity<ApiResponse<Void>> cancelInvestment(
             @PathVariable("transactionId") String transactionId,
             @RequestParam(value = "reason", required = false) String reason) {
 
-        Map<String, Object> response = new HashMap<>();
         try {
             fundingService.cancelInvestment(transactionId, reason);
-            response.put("success", true);
-            response.put("message", "Investment cancelled successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Investment cancelled successfully"));
         } catch (IllegalArgumentException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
         } catch (IllegalStateException e) {
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
-            response.put("success", false);
-            response.put("message", "Failed to cancel investment: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error("Failed to cancel investment: " + e.getMessage()));
         }
     }
 
@@ -101,14 +140,8 @@ public class FundingController {
     public ResponseEntity<?> getInvestmentById(@PathVariable("id") Long id) {
         try {
             InvestmentResponseDto investment = fundingService.getInvestmentById(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("investment", investment);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok(new InvestmentPayload(investment)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -118,140 +151,173 @@ public class FundingController {
     public ResponseEntity<?> getInvestmentByTransactionId(@PathVariable("transactionId") String transactionId) {
         try {
             InvestmentResponseDto investment = fundingService.getInvestmentByTransactionId(transactionId);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("investment", investment);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok(new InvestmentPayload(investment)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Get investments by user", description = "Retrieve all investments made by a user")
-    public ResponseEntity<?> getInvestmentsByUser(@PathVariable("userId") Long userId) {
-        List<InvestmentResponseDto> investments = fundingService.getInvestmentsByUser(userId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        response.put("totalAmount", fundingService.getTotalInvestmentByUser(userId));
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get investments by user", description = "Retrieve a page of investments made by a user; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<?> getInvestmentsByUser(@PathVariable("userId") Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        try {
+            CursorPageDto<InvestmentResponseDto> page = fundingService.getInvestmentsByUser(userId, cursor, limit, sort);
+            return ResponseEntity.ok(ApiResponse.ok(new InvestmentPagePayload(page, fundingService.getTotalInvestmentByUser(userId), null)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/movie/{movieId}")
-    @Operation(summary = "Get investments by movie", description = "Retrieve all investments for a movie")
-    public ResponseEntity<?> getInvestmentsByMovie(@PathVariable("movieId") Long movieId) {
-        List<InvestmentResponseDto> investments = fundingService.getInvestmentsByMovie(movieId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        response.put("totalAmount", fundingService.getTotalInvestmentByMovie(movieId));
-        response.put("investorCount", fundingService.getInvestorCountByMovie(movieId));
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get investments by movie", description = "Retrieve a page of investments for a movie; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<?> getInvestmentsByMovie(@PathVariable("movieId") Long movieId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        try {
+            CursorPageDto<InvestmentResponseDto> page = fundingService.getInvestmentsByMovie(movieId, cursor, limit, sort);
+            return ResponseEntity.ok(ApiResponse.ok(new InvestmentPagePayload(page,
+                    fundingService.getTotalInvestmentByMovie(movieId), fundingService.getInvestorCountByMovie(movieId))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/movie/{movieId}/confirmed")
     @Operation(summary = "Get confirmed investments by movie", description = "Retrieve confirmed investments for a movie")
     public ResponseEntity<?> getConfirmedInvestmentsByMovie(@PathVariable("movieId") Long movieId) {
         List<InvestmentResponseDto> investments = fundingService.getConfirmedInvestmentsByMovie(movieId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        response.put("totalAmount", fundingService.getTotalInvestmentByMovie(movieId));
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new InvestmentListPayload(investments, fundingService.getTotalInvestmentByMovie(movieId), null)));
     }
 
     @GetMapping("/producer/{producerId}")
-    @Operation(summary = "Get investments by producer", description = "Retrieve all investments for a producer's movies")
-    public ResponseEntity<?> getInvestmentsByProducer(@PathVariable("producerId") Long producerId) {
-        List<InvestmentResponseDto> investments = fundingService.getInvestmentsByProducer(producerId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get investments by producer", description = "Retrieve a page of investments for a producer's movies; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<?> getInvestmentsByProducer(@PathVariable("producerId") Long producerId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        try {
+            CursorPageDto<InvestmentResponseDto> page = fundingService.getInvestmentsByProducer(producerId, cursor, limit, sort);
+            return ResponseEntity.ok(ApiResponse.ok(new InvestmentPagePayload(page)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/user/{userId}/movies")
     @Operation(summary = "Get movies invested by user", description = "Get list of movie IDs that user has invested in")
     public ResponseEntity<?> getMovieIdsInvestedByUser(@PathVariable("userId") Long userId) {
         List<Long> movieIds = fundingService.getMovieIdsInvestedByUser(userId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movieIds", movieIds);
-        response.put("count", movieIds.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new MovieIdsPayload(movieIds)));
     }
 
     @PostMapping("/returns/{movieId}")
-    @Operation(summary = "Process returns", description = "Process returns for investors of a movie")
+    @Operation(summary = "Process returns", description = "Queue a background job that pays returns to investors of a movie")
     public ResponseEntity<?> processReturns(@PathVariable("movieId") Long movieId, @RequestParam BigDecimal totalRevenue) {
         try {
-            fundingService.processReturns(movieId, totalRevenue);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Returns processed successfully");
-            return ResponseEntity.ok(response);
+            PayoutJobStatusDto job = payoutJobService.submitMovieReturns(movieId, totalRevenue);
+            return jobAccepted(job);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get payout job status", description = "Progress of a background payout job: investors processed, amount distributed, throughput and ETA")
+    public ResponseEntity<?> getPayoutJob(@PathVariable("id") String id) {
+        try {
+            PayoutJobStatusDto job = payoutJobService.getJob(id);
+            return ResponseEntity.ok(ApiResponse.ok(new PayoutJobPayload(job)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/transactions/export")
+    @Operation(summary = "Export transaction ledger", description = "Stream transactions created in [from, to) as NDJSON or CSV, optionally filtered by type, status and movie")
+    public ResponseEntity<?> exportTransactions(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "type", required = false) Transaction.TransactionType type,
+            @RequestParam(value = "status", required = false) Transaction.TransactionStatus status,
+            @RequestParam(value = "movieId", required = false) Long movieId,
+            @RequestParam(value = "format", required = false) String format) {
+        try {
+            if (!from.isBefore(to)) {
+                throw new IllegalArgumentException("'from' must be before 'to'");
+            }
+            LedgerExportService.Format exportFormat = LedgerExportService.parseFormat(format);
+            LedgerExportFilter filter = new LedgerExportFilter(from, to, type, status, movieId);
+            StreamingResponseBody body = out -> ledgerExportService.export(filter, exportFormat, out);
+
+            boolean csv = exportFormat == LedgerExportService.Format.CSV;
+            return ResponseEntity.ok()
+                    .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                    .body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/aggregates/verify")
+    @Operation(summary = "Verify funding aggregates", description = "Compare the per-movie and per-producer totals with the investments table")
+    public ResponseEntity<?> verifyAggregates() {
+        return ResponseEntity.ok(ApiResponse.ok(fundingAggregateService.verify()));
+    }
+
+    @PostMapping("/aggregates/rebuild")
+    @Operation(summary = "Rebuild funding aggregates", description = "Recompute the per-movie and per-producer totals from the investments table; needs the X-Admin-Token header")
+    public ResponseEntity<?> rebuildAggregates(@RequestHeader(value = "X-Admin-Token", required = false) String adminToken) {
+        // Locks the investments table against writers for the whole rebuild
+        if (!fundingAggregateService.isRebuildAllowed(adminToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("Aggregate rebuild requires a valid X-Admin-Token"));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.ok(fundingAggregateService.rebuild()));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
     @GetMapping("/returns/unpaid")
-    @Operation(summary = "Get unpaid returns", description = "Get all investments with unpaid returns")
-    public ResponseEntity<?> getUnpaidReturns() {
-        List<InvestmentResponseDto> investments = fundingService.getUnpaidReturns();
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Get unpaid returns", description = "Get a page of investments with unpaid returns; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<?> getUnpaidReturns(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "sort", required = false) String sort) {
+        try {
+            CursorPageDto<InvestmentResponseDto> page = fundingService.getUnpaidReturns(cursor, limit, sort);
+            return ResponseEntity.ok(ApiResponse.ok(new InvestmentPagePayload(page)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/returns/unpaid/movie/{movieId}")
     @Operation(summary = "Get unpaid returns by movie", description = "Get unpaid returns for a specific movie")
     public ResponseEntity<?> getUnpaidReturnsByMovie(@PathVariable("movieId") Long movieId) {
         List<InvestmentResponseDto> investments = fundingService.getUnpaidReturnsByMovie(movieId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new InvestmentListPayload(investments)));
     }
 
     @GetMapping("/producer/{producerId}/investors")
     @Operation(summary = "Get all investors for producer's movies", description = "Get detailed list of investors for all movies by a producer")
     public ResponseEntity<?> getInvestorsForProducer(@PathVariable("producerId") Long producerId) {
         List<InvestmentResponseDto> investments = fundingService.getInvestmentsByProducer(producerId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        response.put("totalInvestmentAmount", fundingService.getTotalInvestmentByProducer(producerId));
-        response.put("uniqueInvestorCount", fundingService.getUniqueInvestorCountByProducer(producerId));
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new ProducerInvestorsPayload(investments,
+                fundingService.getTotalInvestmentByProducer(producerId), fundingService.getUniqueInvestorCountByProducer(producerId))));
     }
 
     @GetMapping("/producer/{producerId}/movie/{movieId}/investors")
     @Operation(summary = "Get investors for specific movie by producer", description = "Get detailed list of investors for a specific movie by producer")
     public ResponseEntity<?> getInvestorsForProducerMovie(@PathVariable("producerId") Long producerId, @PathVariable("movieId") Long movieId) {
         List<InvestmentResponseDto> investments = fundingService.getInvestmentsByProducerAndMovie(producerId, movieId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("investments", investments);
-        response.put("count", investments.size());
-        response.put("totalAmount", fundingService.getTotalInvestmentByMovie(movieId));
-        response.put("investorCount", fundingService.getInvestorCountByMovie(movieId));
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new InvestmentListPayload(investments,
+                fundingService.getTotalInvestmentByMovie(movieId), fundingService.getInvestorCountByMovie(movieId))));
     }
 
     @PostMapping("/producer/{producerId}/movie/{movieId}/collection")
@@ -261,19 +327,13 @@ public class FundingController {
             @PathVariable("movieId") Long movieId, 
             @Valid @RequestBody MovieCollectionUpdateDto collectionData) {
         try {
-            Map<String, Object> result = fundingService.updateMovieCollectionAndDistributeReturns(
+            MovieCollectionResultDto result = fundingService.updateMovieCollectionAndDistributeReturns(
                 producerId, movieId, collectionData.getCollectionAmount(), 
                 collectionData.getCollectionDate(), collectionData.getNotes(), 
                 collectionData.getAutoDistributeReturns());
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", result);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok(new ResultPayload<>(result)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -284,47 +344,36 @@ public class FundingController {
             @PathVariable("movieId") Long movieId, 
             @Valid @RequestBody ReturnProcessingDto returnData) {
         try {
-            Map<String, Object> result = fundingService.processReturnsForProducer(producerId, movieId, returnData.getTotalRevenue(), returnData.getNotes());
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Returns processed successfully for all investors");
-            response.put("data", result);
-            return ResponseEntity.ok(response);
+            MovieReturnsResultDto result = fundingService.processReturnsForProducer(producerId, movieId, returnData.getTotalRevenue(), returnData.getNotes());
+            return ResponseEntity.ok(ApiResponse.ok("Returns processed successfully for all investors", new ResultPayload<>(result)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
     @PostMapping("/producer/{producerId}/returns/bulk")
-    @Operation(summary = "Process returns for all producer's movies", description = "Producer processes returns for all their movies")
+    @Operation(summary = "Process returns for all producer's movies", description = "Queue a background job that pays returns for all of a producer's movies")
     public ResponseEntity<?> processReturnsForAllProducerMovies(
             @PathVariable("producerId") Long producerId,
             @RequestBody Map<String, Object> returnData) {
         try {
-            Map<String, Object> result = fundingService.processReturnsForAllProducerMovies(producerId, returnData);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Returns processed successfully for all movies");
-            response.put("data", result);
-            return ResponseEntity.ok(response);
+            PayoutJobStatusDto job = payoutJobService.submitProducerBulkReturns(producerId, returnData);
+            return jobAccepted(job);
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
     @GetMapping("/producer/{producerId}/returns/summary")
     @Operation(summary = "Get return summary for producer", description = "Get summary of returns paid/unpaid for producer's movies")
     public ResponseEntity<?> getReturnSummaryForProducer(@PathVariable("producerId") Long producerId) {
-        Map<String, Object> summary = fundingService.getReturnSummaryForProducer(producerId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("summary", summary);
-        return ResponseEntity.ok(response);
+        ReturnSummaryDto summary = fundingService.getReturnSummaryForProducer(producerId);
+        return ResponseEntity.ok(ApiResponse.ok(new SummaryPayload(summary)));
+    }
+
+    private ResponseEntity<?> jobAccepted(PayoutJobStatusDto job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/funding/jobs/" + job.getJobId())
+                .body(ApiResponse.ok("Payout job submitted", new PayoutJobPayload(job.getJobId(), job)));
     }
 }
@@ -0,0 +1,9 @@
+package com.cinefund.fundingservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Movies and producers whose aggregate rows disagree with the investments table, up to the report limit
+public record AggregateCheckDto(boolean consistent, List<Long> mismatchedMovieIds, List<Long> mismatchedProducerIds,
+                                LocalDateTime checkedAt) {
+}
@@ -0,0 +1,13 @@
+package com.cinefund.fundingservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record AggregateRebuildDto(boolean rebuilt, boolean wasConsistent, List<Long> mismatchedMovieIds,
+                                  List<Long> mismatchedProducerIds, LocalDateTime rebuiltAt) {
+
+    public static AggregateRebuildDto after(AggregateCheckDto before) {
+        return new AggregateRebuildDto(true, before.consistent(), before.mismatchedMovieIds(),
+                before.mismatchedProducerIds(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,29 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * The one response shape of the funding API: {@code success}, an optional {@code message},
+ * and the payload record unwrapped into the same object. A typed record instead of a map
+ * lets Jackson serialise it in one pass with the serializers it has cached per class.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(boolean success, String message, @JsonUnwrapped T payload) {
+
+    public static <T> ApiResponse<T> ok(T payload) {
+        return new ApiResponse<>(true, null, payload);
+    }
+
+    public static <T> ApiResponse<T> ok(String message, T payload) {
+        return new ApiResponse<>(true, message, payload);
+    }
+
+    public static ApiResponse<Void> ok(String message) {
+        return new ApiResponse<>(true, message, null);
+    }
+
+    public static ApiResponse<Void> error(String message) {
+        return new ApiResponse<>(false, message, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cinefund.fundingservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record BulkReturnsResultDto(Long producerId, List<MoviePayoutResultDto> moviesProcessed,
+                                   List<MoviePayoutResultDto> moviesFailed, int totalMovies, int totalFailed,
+                                   BigDecimal totalRevenueProcessed, long totalInvestmentsProcessed,
+                                   long elapsedMillis, LocalDateTime processedAt) {
+}
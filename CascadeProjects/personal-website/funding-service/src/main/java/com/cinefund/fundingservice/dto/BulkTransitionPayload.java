@@ -0,0 +1,11 @@
+package com.cinefund.fundingservice.dto;
+
+import java.util.List;
+
+public record BulkTransitionPayload(int requested, long succeeded, long failed, List<BulkTransitionResultDto> results) {
+
+    public static BulkTransitionPayload of(List<BulkTransitionResultDto> results) {
+        long succeeded = results.stream().filter(result -> result.getOutcome().isSuccess()).count();
+        return new BulkTransitionPayload(results.size(), succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,22 @@
+package com.cinefund.fundingservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkTransitionRequestDto {
+    @NotEmpty(message = "Transaction IDs are required")
+    private List<String> transactionIds;
+
+    private String reason;
+
+    // Constructors
+    public BulkTransitionRequestDto() {}
+
+    // Getters and Setters
+    public List<String> getTransactionIds() { return transactionIds; }
+    public void setTransactionIds(List<String> transactionIds) { this.transactionIds = transactionIds; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,34 @@
+package com.cinefund.fundingservice.dto;
+
+public class BulkTransitionResultDto {
+    private String transactionId;
+    private Outcome outcome;
+    private String currentStatus;
+
+    public enum Outcome {
+        CONFIRMED, CANCELLED, ALREADY_CONFIRMED, ALREADY_CANCELLED, NOT_FOUND, WRONG_STATE, DUPLICATE;
+
+        public boolean isSuccess() {
+            return this == CONFIRMED || this == CANCELLED;
+        }
+    }
+
+    // Constructors
+    public BulkTransitionResultDto() {}
+
+    public BulkTransitionResultDto(String transactionId, Outcome outcome, String currentStatus) {
+        this.transactionId = transactionId;
+        this.outcome = outcome;
+        this.currentStatus = currentStatus;
+    }
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+    public String getCurrentStatus() { return currentStatus; }
+    public void setCurrentStatus(String currentStatus) { this.currentStatus = currentStatus; }
+}
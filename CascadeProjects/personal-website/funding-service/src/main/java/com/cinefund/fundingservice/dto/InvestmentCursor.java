@@ -0,0 +1,64 @@
+package com.cinefund.fundingservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated investment list: the sort key of the last row returned.
+ * Clients only ever see it as an opaque token.
+ */
+public class InvestmentCursor {
+
+    public enum SortKey { ID, INVESTMENT_DATE }
+
+    private final SortKey sortKey;
+    private final Long lastId;
+    private final LocalDateTime lastInvestmentDate;
+
+    public InvestmentCursor(SortKey sortKey, Long lastId, LocalDateTime lastInvestmentDate) {
+        this.sortKey = sortKey;
+        this.lastId = lastId;
+        this.lastInvestmentDate = lastInvestmentDate;
+    }
+
+    public static SortKey parseSortKey(String sort) {
+        if (sort == null || sort.isBlank() || sort.equalsIgnoreCase("id")) {
+            return SortKey.ID;
+        }
+        if (sort.equalsIgnoreCase("investmentDate")) {
+            return SortKey.INVESTMENT_DATE;
+        }
+        throw new IllegalArgumentException("Unsupported sort '" + sort + "'; use id or investmentDate");
+    }
+
+    public String encode() {
+        String raw = sortKey == SortKey.ID ? "i|" + lastId : "d|" + lastInvestmentDate + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static InvestmentCursor decode(String token, SortKey expectedSortKey) {
+        InvestmentCursor cursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts[0].equals("i")) {
+                cursor = new InvestmentCursor(SortKey.ID, Long.parseLong(parts[1]), null);
+            } else if (parts[0].equals("d")) {
+                cursor = new InvestmentCursor(SortKey.INVESTMENT_DATE, Long.parseLong(parts[2]), LocalDateTime.parse(parts[1]));
+            } else {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (cursor.sortKey != expectedSortKey) {
+            throw new IllegalArgumentException("Cursor does not belong to this sort order");
+        }
+        return cursor;
+    }
+
+    public SortKey getSortKey() { return sortKey; }
+    public Long getLastId() { return lastId; }
+    public LocalDateTime getLastInvestmentDate() { return lastInvestmentDate; }
+}
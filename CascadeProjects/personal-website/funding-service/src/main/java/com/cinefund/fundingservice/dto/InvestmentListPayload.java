@@ -0,0 +1,19 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record InvestmentListPayload(List<InvestmentResponseDto> investments, int count,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) BigDecimal totalAmount,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) Long investorCount) {
+
+    public InvestmentListPayload(List<InvestmentResponseDto> investments, BigDecimal totalAmount, Long investorCount) {
+        this(investments, investments.size(), totalAmount, investorCount);
+    }
+
+    public InvestmentListPayload(List<InvestmentResponseDto> investments) {
+        this(investments, null, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// One keyset page; the totals are only sent by the endpoints that compute them
+public record InvestmentPagePayload(List<InvestmentResponseDto> investments, int count, String nextCursor, boolean hasMore,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) BigDecimal totalAmount,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) Long investorCount) {
+
+    public InvestmentPagePayload(CursorPageDto<InvestmentResponseDto> page, BigDecimal totalAmount, Long investorCount) {
+        this(page.getItems(), page.getItems().size(), page.getNextCursor(), page.isHasMore(), totalAmount, investorCount);
+    }
+
+    public InvestmentPagePayload(CursorPageDto<InvestmentResponseDto> page) {
+        this(page, null, null);
+    }
+}
@@ -0,0 +1,4 @@
+package com.cinefund.fundingservice.dto;
+
+public record InvestmentPayload(InvestmentResponseDto investment) {
+}
@@ -49,6 +49,32 @@ public class InvestmentResponseDto {
         this.expectedReturn = investment.calculateExpectedReturn();
     }
 
+    // Target of the repository's constructor-expression queries, which read the columns without loading entities
+    public InvestmentResponseDto(Long id, Long userId, Long movieId, Long producerId, BigDecimal amount,
+                                 String transactionId, Investment.InvestmentStatus status, String userName,
+                                 String movieTitle, String producerName, BigDecimal expectedReturnPercentage,
+                                 BigDecimal actualReturnAmount, Boolean returnPaid, LocalDateTime returnPaymentDate,
+                                 LocalDateTime investmentDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.movieId = movieId;
+        this.producerId = producerId;
+        this.amount = amount;
+        this.transactionId = transactionId;
+        this.status = status;
+        this.userName = userName;
+        this.movieTitle = movieTitle;
+        this.producerName = producerName;
+        this.expectedReturnPercentage = expectedReturnPercentage;
+        this.actualReturnAmount = actualReturnAmount;
+        this.returnPaid = returnPaid;
+        this.returnPaymentDate = returnPaymentDate;
+        this.investmentDate = investmentDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.expectedReturn = Investment.calculateExpectedReturn(amount, expectedReturnPercentage);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,41 @@
+package com.cinefund.fundingservice.dto;
+
+import com.cinefund.fundingservice.entity.Transaction;
+
+import java.time.LocalDateTime;
+
+public class LedgerExportFilter {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Transaction.TransactionType type;
+    private Transaction.TransactionStatus status;
+    private Long movieId;
+
+    // Constructors
+    public LedgerExportFilter() {}
+
+    public LedgerExportFilter(LocalDateTime from, LocalDateTime to, Transaction.TransactionType type,
+                              Transaction.TransactionStatus status, Long movieId) {
+        this.from = from;
+        this.to = to;
+        this.type = type;
+        this.status = status;
+        this.movieId = movieId;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public Transaction.TransactionType getType() { return type; }
+    public void setType(Transaction.TransactionType type) { this.type = type; }
+
+    public Transaction.TransactionStatus getStatus() { return status; }
+    public void setStatus(Transaction.TransactionStatus status) { this.status = status; }
+
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+}
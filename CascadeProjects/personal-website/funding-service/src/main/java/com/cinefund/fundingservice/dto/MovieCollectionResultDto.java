@@ -0,0 +1,15 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Outcome of a collection update; investmentsProcessed is only set when returns were distributed
+public record MovieCollectionResultDto(Long movieId, Long producerId, BigDecimal collectionAmount,
+                                       BigDecimal totalInvestment, BigDecimal profit, LocalDate collectionDate,
+                                       String notes, boolean returnsDistributed,
+                                       @JsonInclude(JsonInclude.Include.NON_NULL) Integer investmentsProcessed,
+                                       String message, LocalDateTime processedAt) {
+}
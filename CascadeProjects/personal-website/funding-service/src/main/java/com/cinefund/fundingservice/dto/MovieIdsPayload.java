@@ -0,0 +1,10 @@
+package com.cinefund.fundingservice.dto;
+
+import java.util.List;
+
+public record MovieIdsPayload(List<Long> movieIds, int count) {
+
+    public MovieIdsPayload(List<Long> movieIds) {
+        this(movieIds, movieIds.size());
+    }
+}
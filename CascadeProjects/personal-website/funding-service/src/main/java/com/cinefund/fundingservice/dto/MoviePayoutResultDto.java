@@ -0,0 +1,25 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+
+/**
+ * One movie of a producer's bulk payout: the amounts paid when it succeeded, the error when
+ * it did not.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MoviePayoutResultDto(Long movieId, String movieTitle, BigDecimal revenue, boolean success,
+                                   Long investmentsProcessed, BigDecimal amountDistributed, String error,
+                                   long elapsedMillis) {
+
+    public static MoviePayoutResultDto paid(ProducerMovieView movie, BigDecimal revenue, PayoutResultDto payout, long elapsedMillis) {
+        return new MoviePayoutResultDto(movie.getMovieId(), movie.getMovieTitle(), revenue, true,
+                payout.getInvestorsProcessed(), payout.getAmountDistributed(), null, elapsedMillis);
+    }
+
+    public static MoviePayoutResultDto failed(ProducerMovieView movie, BigDecimal revenue, String error, long elapsedMillis) {
+        return new MoviePayoutResultDto(movie.getMovieId(), movie.getMovieTitle(), revenue, false,
+                null, null, error, elapsedMillis);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cinefund.fundingservice.dto;
+
+import java.math.BigDecimal;
+
+public record MovieReturnSummaryDto(Long movieId, String movieTitle, long totalInvestments, BigDecimal totalAmount,
+                                    long paidReturns, long unpaidReturns) {
+}
@@ -0,0 +1,8 @@
+package com.cinefund.fundingservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record MovieReturnsResultDto(Long movieId, Long producerId, BigDecimal totalRevenue, int investmentsProcessed,
+                                    String notes, LocalDateTime processedAt) {
+}
@@ -0,0 +1,11 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// jobId is repeated at the top level only in the 202 answer to a submission
+public record PayoutJobPayload(@JsonInclude(JsonInclude.Include.NON_NULL) String jobId, PayoutJobStatusDto job) {
+
+    public PayoutJobPayload(PayoutJobStatusDto job) {
+        this(null, job);
+    }
+}
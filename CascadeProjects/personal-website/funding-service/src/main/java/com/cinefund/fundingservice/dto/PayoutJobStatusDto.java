@@ -0,0 +1,111 @@
+package com.cinefund.fundingservice.dto;
+
+import com.cinefund.fundingservice.entity.PayoutJob;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class PayoutJobStatusDto {
+    private String jobId;
+    private PayoutJob.JobType type;
+    private PayoutJob.JobStatus status;
+    private Long movieId;
+    private Long producerId;
+    private Long investorsTotal;
+    private Long investorsProcessed;
+    private BigDecimal amountDistributed;
+    private Double throughputPerSecond;
+    private Long etaSeconds;
+    private Integer attempts;
+    private Object result;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public PayoutJobStatusDto() {}
+
+    public PayoutJobStatusDto(PayoutJob job, Object result) {
+        this.jobId = job.getId();
+        this.type = job.getType();
+        this.status = job.getStatus();
+        this.movieId = job.getMovieId();
+        this.producerId = job.getProducerId();
+        this.investorsTotal = job.getInvestorsTotal();
+        this.investorsProcessed = job.getInvestorsProcessed();
+        this.amountDistributed = job.getAmountDistributed();
+        this.attempts = job.getAttempts();
+        this.result = result;
+        this.errorMessage = job.getErrorMessage();
+        this.createdAt = job.getCreatedAt();
+        this.startedAt = job.getStartedAt();
+        this.updatedAt = job.getUpdatedAt();
+        this.completedAt = job.getCompletedAt();
+
+        // Throughput is measured over the current attempt; ETA only makes sense while running
+        if (job.getStartedAt() != null && job.getInvestorsProcessed() != null) {
+            LocalDateTime end = job.getCompletedAt() != null ? job.getCompletedAt() : LocalDateTime.now();
+            long elapsedMillis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            this.throughputPerSecond = job.getInvestorsProcessed() * 1000.0 / elapsedMillis;
+            if (job.getStatus() == PayoutJob.JobStatus.RUNNING && this.throughputPerSecond > 0 && job.getInvestorsTotal() != null) {
+                long remaining = Math.max(0, job.getInvestorsTotal() - job.getInvestorsProcessed());
+                this.etaSeconds = (long) Math.ceil(remaining / this.throughputPerSecond);
+            }
+        }
+    }
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public PayoutJob.JobType getType() { return type; }
+    public void setType(PayoutJob.JobType type) { this.type = type; }
+
+    public PayoutJob.JobStatus getStatus() { return status; }
+    public void setStatus(PayoutJob.JobStatus status) { this.status = status; }
+
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public Long getProducerId() { return producerId; }
+    public void setProducerId(Long producerId) { this.producerId = producerId; }
+
+    public Long getInvestorsTotal() { return investorsTotal; }
+    public void setInvestorsTotal(Long investorsTotal) { this.investorsTotal = investorsTotal; }
+
+    public Long getInvestorsProcessed() { return investorsProcessed; }
+    public void setInvestorsProcessed(Long investorsProcessed) { this.investorsProcessed = investorsProcessed; }
+
+    public BigDecimal getAmountDistributed() { return amountDistributed; }
+    public void setAmountDistributed(BigDecimal amountDistributed) { this.amountDistributed = amountDistributed; }
+
+    public Double getThroughputPerSecond() { return throughputPerSecond; }
+    public void setThroughputPerSecond(Double throughputPerSecond) { this.throughputPerSecond = throughputPerSecond; }
+
+    public Long getEtaSeconds() { return etaSeconds; }
+    public void setEtaSeconds(Long etaSeconds) { this.etaSeconds = etaSeconds; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public Object getResult() { return result; }
+    public void setResult(Object result) { this.result = result; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
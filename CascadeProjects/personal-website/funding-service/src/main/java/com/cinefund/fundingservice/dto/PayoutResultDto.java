@@ -0,0 +1,43 @@
+package com.cinefund.fundingservice.dto;
+
+import java.math.BigDecimal;
+
+public class PayoutResultDto {
+    private Long movieId;
+    private long investorsProcessed;
+    private BigDecimal amountDistributed;
+    private long rowsWritten;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // Constructors
+    public PayoutResultDto() {}
+
+    public PayoutResultDto(Long movieId, long investorsProcessed, BigDecimal amountDistributed, long rowsWritten, long elapsedMillis) {
+        this.movieId = movieId;
+        this.investorsProcessed = investorsProcessed;
+        this.amountDistributed = amountDistributed;
+        this.rowsWritten = rowsWritten;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? rowsWritten * 1000.0 / elapsedMillis : rowsWritten;
+    }
+
+    // Getters and Setters
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public long getInvestorsProcessed() { return investorsProcessed; }
+    public void setInvestorsProcessed(long investorsProcessed) { this.investorsProcessed = investorsProcessed; }
+
+    public BigDecimal getAmountDistributed() { return amountDistributed; }
+    public void setAmountDistributed(BigDecimal amountDistributed) { this.amountDistributed = amountDistributed; }
+
+    public long getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(long rowsWritten) { this.rowsWritten = rowsWritten; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+}
@@ -0,0 +1,12 @@
+package com.cinefund.fundingservice.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProducerInvestorsPayload(List<InvestmentResponseDto> investments, int count,
+                                       BigDecimal totalInvestmentAmount, Long uniqueInvestorCount) {
+
+    public ProducerInvestorsPayload(List<InvestmentResponseDto> investments, BigDecimal totalInvestmentAmount, Long uniqueInvestorCount) {
+        this(investments, investments.size(), totalInvestmentAmount, uniqueInvestorCount);
+    }
+}
@@ -0,0 +1,13 @@
+package com.cinefund.fundingservice.dto;
+
+import java.math.BigDecimal;
+
+public interface ProducerMovieSummaryView {
+    Long getMovieId();
+    String getMovieTitle();
+    String getProducerName();
+    Long getTotalInvestments();
+    BigDecimal getTotalAmount();
+    Long getPaidReturns();
+    BigDecimal getTotalReturnsPaid();
+}
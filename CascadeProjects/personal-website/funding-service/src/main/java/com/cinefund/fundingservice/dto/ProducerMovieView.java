@@ -0,0 +1,6 @@
+package com.cinefund.fundingservice.dto;
+
+public interface ProducerMovieView {
+    Long getMovieId();
+    String getMovieTitle();
+}
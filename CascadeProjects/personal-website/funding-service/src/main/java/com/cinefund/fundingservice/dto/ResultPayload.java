@@ -0,0 +1,5 @@
+package com.cinefund.fundingservice.dto;
+
+// A result sent under "data"
+public record ResultPayload<T>(T data) {
+}
@@ -0,0 +1,46 @@
+package com.cinefund.fundingservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A producer's investments and returns, in total and per movie.
+ */
+public record ReturnSummaryDto(Long producerId,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String producerName,
+                               long totalInvestments, BigDecimal totalInvestmentAmount, long paidReturns,
+                               long unpaidReturns, BigDecimal totalReturnsPaid,
+                               List<MovieReturnSummaryDto> movieBreakdown, LocalDateTime generatedAt) {
+
+    /**
+     * Folds the per-movie rows of {@code summarizeReturnsByProducer} into the summary.
+     */
+    public static ReturnSummaryDto of(Long producerId, List<ProducerMovieSummaryView> movies) {
+        long totalInvestments = 0;
+        long paidReturns = 0;
+        BigDecimal totalInvestmentAmount = BigDecimal.ZERO;
+        BigDecimal totalReturnsPaid = BigDecimal.ZERO;
+
+        List<MovieReturnSummaryDto> movieBreakdown = new ArrayList<>(movies.size());
+        for (ProducerMovieSummaryView movie : movies) {
+            long moviePaidReturns = movie.getPaidReturns() != null ? movie.getPaidReturns() : 0;
+            movieBreakdown.add(new MovieReturnSummaryDto(movie.getMovieId(), movie.getMovieTitle(), movie.getTotalInvestments(),
+                    movie.getTotalAmount(), moviePaidReturns, movie.getTotalInvestments() - moviePaidReturns));
+
+            totalInvestments += movie.getTotalInvestments();
+            paidReturns += moviePaidReturns;
+            totalInvestmentAmount = totalInvestmentAmount.add(movie.getTotalAmount());
+            if (movie.getTotalReturnsPaid() != null) {
+                totalReturnsPaid = totalReturnsPaid.add(movie.getTotalReturnsPaid());
+            }
+        }
+
+        String producerName = movies.isEmpty() ? null : movies.get(0).getProducerName();
+        return new ReturnSummaryDto(producerId, producerName, totalInvestments, totalInvestmentAmount, paidReturns,
+                totalInvestments - paidReturns, totalReturnsPaid, movieBreakdown, LocalDateTime.now());
+    }
+}
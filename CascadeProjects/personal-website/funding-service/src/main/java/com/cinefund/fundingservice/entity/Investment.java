@@ -10,10 +10,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "investments")
+@Table(name = "investments", indexes = {
+        @Index(name = "idx_investments_user_page", columnList = "user_id, id"),
+        @Index(name = "idx_investments_movie_page", columnList = "movie_id, id"),
+        @Index(name = "idx_investments_producer_page", columnList = "producer_id, id"),
+        @Index(name = "idx_investments_user_date_page", columnList = "user_id, investment_date, id"),
+        @Index(name = "idx_investments_movie_date_page", columnList = "movie_id, investment_date, id"),
+        @Index(name = "idx_investments_producer_date_page", columnList = "producer_id, investment_date, id")
+})
 public class Investment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "investments_id_seq")
+    @SequenceGenerator(name = "investments_id_seq", sequenceName = "investments_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -64,6 +72,10 @@ public class Investment {
     @Column(name = "return_payment_date")
     private LocalDateTime returnPaymentDate;
 
+    // Database clock (UTC) at the moment of confirmation, written only by InvestmentTransitionJdbcRepository
+    @Column(name = "confirmed_at", insertable = false, updatable = false)
+    private LocalDateTime confirmedAt;
+
     @NotNull
     @Column(name = "investment_date", nullable = false)
     private LocalDateTime investmentDate;
@@ -131,6 +143,8 @@ public class Investment {
     public LocalDateTime getReturnPaymentDate() { return returnPaymentDate; }
     public void setReturnPaymentDate(LocalDateTime returnPaymentDate) { this.returnPaymentDate = returnPaymentDate; }
 
+    public LocalDateTime getConfirmedAt() { return confirmedAt; }
+
     public LocalDateTime getInvestmentDate() { return investmentDate; }
     public void setInvestmentDate(LocalDateTime investmentDate) { this.investmentDate = investmentDate; }
 
@@ -150,6 +164,10 @@ public class Investment {
 
     // Helper methods
     public BigDecimal calculateExpectedReturn() {
+        return calculateExpectedReturn(amount, expectedReturnPercentage);
+    }
+
+    public static BigDecimal calculateExpectedReturn(BigDecimal amount, BigDecimal expectedReturnPercentage) {
         if (expectedReturnPercentage != null && amount != null) {
             return amount.add(amount.multiply(expectedReturnPercentage.divide(new BigDecimal(100))));
         }
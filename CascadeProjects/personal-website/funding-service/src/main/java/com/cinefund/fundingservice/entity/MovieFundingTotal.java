@@ -0,0 +1,43 @@
+package com.cinefund.fundingservice.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of a movie's CONFIRMED investments, kept in step with the investments
+ * table by {@code FundingAggregateService}.
+ */
+@Entity
+@Table(name = "movie_funding_totals")
+public class MovieFundingTotal {
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "total_investment", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalInvestment = BigDecimal.ZERO;
+
+    @Column(name = "investor_count", nullable = false)
+    private Long investorCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public MovieFundingTotal() {}
+
+    // Getters and Setters
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public BigDecimal getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(BigDecimal totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public Long getInvestorCount() { return investorCount; }
+    public void setInvestorCount(Long investorCount) { this.investorCount = investorCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,49 @@
+package com.cinefund.fundingservice.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Snowflake node id held by one running funding-service instance. Rows are never deleted,
+ * so the next holder of a node id can start after the last timestamp the previous one used.
+ */
+@Entity
+@Table(name = "node_id_leases")
+public class NodeIdLease {
+    @Id
+    @Column(name = "node_id")
+    private Integer nodeId;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    // Database time; the node id is free once it has passed
+    @Column(name = "lease_expires_at", nullable = false)
+    private LocalDateTime leaseExpiresAt;
+
+    // Milliseconds since the generator's epoch that ids under this node id may have reached
+    @Column(name = "last_timestamp", nullable = false)
+    private Long lastTimestamp;
+
+    // Constructors
+    public NodeIdLease() {}
+
+    public NodeIdLease(Integer nodeId, Long lastTimestamp) {
+        this.nodeId = nodeId;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    // Getters and Setters
+    public Integer getNodeId() { return nodeId; }
+    public void setNodeId(Integer nodeId) { this.nodeId = nodeId; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public Long getLastTimestamp() { return lastTimestamp; }
+    public void setLastTimestamp(Long lastTimestamp) { this.lastTimestamp = lastTimestamp; }
+}
@@ -0,0 +1,107 @@
+package com.cinefund.fundingservice.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payout_checkpoints")
+public class PayoutCheckpoint {
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "total_revenue", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalRevenue;
+
+    // Frozen when the run starts: paid rows leave CONFIRMED, so the live sum shrinks as chunks commit
+    @Column(name = "total_investment", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalInvestment;
+
+    // Sum of the investment amounts already walked past; each row's share is taken from the running total
+    @Column(name = "allocated_investment", precision = 19, scale = 2)
+    private BigDecimal allocatedInvestment = BigDecimal.ZERO;
+
+    @Column(name = "last_investment_id", nullable = false)
+    private Long lastInvestmentId = 0L;
+
+    @Column(name = "investors_processed", nullable = false)
+    private Long investorsProcessed = 0L;
+
+    @Column(name = "amount_distributed", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountDistributed = BigDecimal.ZERO;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CheckpointStatus status = CheckpointStatus.IN_PROGRESS;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    // Cutoff of the run on the database clock (UTC), read together with totalInvestment: only
+    // investments confirmed by then are paid, later ones wait for the next run
+    @Column(name = "confirmed_by")
+    private LocalDateTime confirmedBy;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public PayoutCheckpoint() {}
+
+    public PayoutCheckpoint(Long movieId, BigDecimal totalRevenue, BigDecimal totalInvestment,
+                            LocalDateTime startedAt, LocalDateTime confirmedBy) {
+        this.movieId = movieId;
+        this.totalRevenue = totalRevenue;
+        this.totalInvestment = totalInvestment;
+        this.startedAt = startedAt;
+        this.confirmedBy = confirmedBy;
+    }
+
+    // Getters and Setters
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public BigDecimal getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public BigDecimal getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(BigDecimal totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public BigDecimal getAllocatedInvestment() { return allocatedInvestment; }
+    public void setAllocatedInvestment(BigDecimal allocatedInvestment) { this.allocatedInvestment = allocatedInvestment; }
+
+    public Long getLastInvestmentId() { return lastInvestmentId; }
+    public void setLastInvestmentId(Long lastInvestmentId) { this.lastInvestmentId = lastInvestmentId; }
+
+    public Long getInvestorsProcessed() { return investorsProcessed; }
+    public void setInvestorsProcessed(Long investorsProcessed) { this.investorsProcessed = investorsProcessed; }
+
+    public BigDecimal getAmountDistributed() { return amountDistributed; }
+    public void setAmountDistributed(BigDecimal amountDistributed) { this.amountDistributed = amountDistributed; }
+
+    public CheckpointStatus getStatus() { return status; }
+    public void setStatus(CheckpointStatus status) { this.status = status; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getConfirmedBy() { return confirmedBy; }
+    public void setConfirmedBy(LocalDateTime confirmedBy) { this.confirmedBy = confirmedBy; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public enum CheckpointStatus {
+        IN_PROGRESS, COMPLETED
+    }
+}
@@ -0,0 +1,149 @@
+package com.cinefund.fundingservice.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payout_jobs")
+public class PayoutJob {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status = JobStatus.QUEUED;
+
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "producer_id")
+    private Long producerId;
+
+    @Column(name = "total_revenue", precision = 19, scale = 2)
+    private BigDecimal totalRevenue;
+
+    @Column(name = "request_payload", columnDefinition = "TEXT")
+    private String requestPayload;
+
+    @Column(name = "investors_total")
+    private Long investorsTotal = 0L;
+
+    @Column(name = "investors_processed")
+    private Long investorsProcessed = 0L;
+
+    @Column(name = "amount_distributed", precision = 19, scale = 2)
+    private BigDecimal amountDistributed = BigDecimal.ZERO;
+
+    @Column(name = "result_payload", columnDefinition = "TEXT")
+    private String resultPayload;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    // Instance running the job; it renews the lease while it works, and an expired lease is requeued
+    @Column(length = 100)
+    private String owner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public PayoutJob() {}
+
+    public PayoutJob(String id, JobType type) {
+        this.id = id;
+        this.type = type;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public JobType getType() { return type; }
+    public void setType(JobType type) { this.type = type; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public Long getProducerId() { return producerId; }
+    public void setProducerId(Long producerId) { this.producerId = producerId; }
+
+    public BigDecimal getTotalRevenue() { return totalRevenue; }
+    public void setTotalRevenue(BigDecimal totalRevenue) { this.totalRevenue = totalRevenue; }
+
+    public String getRequestPayload() { return requestPayload; }
+    public void setRequestPayload(String requestPayload) { this.requestPayload = requestPayload; }
+
+    public Long getInvestorsTotal() { return investorsTotal; }
+    public void setInvestorsTotal(Long investorsTotal) { this.investorsTotal = investorsTotal; }
+
+    public Long getInvestorsProcessed() { return investorsProcessed; }
+    public void setInvestorsProcessed(Long investorsProcessed) { this.investorsProcessed = investorsProcessed; }
+
+    public BigDecimal getAmountDistributed() { return amountDistributed; }
+    public void setAmountDistributed(BigDecimal amountDistributed) { this.amountDistributed = amountDistributed; }
+
+    public String getResultPayload() { return resultPayload; }
+    public void setResultPayload(String resultPayload) { this.resultPayload = resultPayload; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public enum JobType {
+        MOVIE_RETURNS, PRODUCER_BULK_RETURNS
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,43 @@
+package com.cinefund.fundingservice.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of a producer's CONFIRMED investments. The distinct investor count is
+ * derived from {@link ProducerInvestor} rows moving between zero and non-zero.
+ */
+@Entity
+@Table(name = "producer_funding_totals")
+public class ProducerFundingTotal {
+    @Id
+    @Column(name = "producer_id")
+    private Long producerId;
+
+    @Column(name = "total_investment", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalInvestment = BigDecimal.ZERO;
+
+    @Column(name = "unique_investor_count", nullable = false)
+    private Long uniqueInvestorCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ProducerFundingTotal() {}
+
+    // Getters and Setters
+    public Long getProducerId() { return producerId; }
+    public void setProducerId(Long producerId) { this.producerId = producerId; }
+
+    public BigDecimal getTotalInvestment() { return totalInvestment; }
+    public void setTotalInvestment(BigDecimal totalInvestment) { this.totalInvestment = totalInvestment; }
+
+    public Long getUniqueInvestorCount() { return uniqueInvestorCount; }
+    public void setUniqueInvestorCount(Long uniqueInvestorCount) { this.uniqueInvestorCount = uniqueInvestorCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,63 @@
+package com.cinefund.fundingservice.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Number of CONFIRMED investments one user holds with one producer.
+ */
+@Entity
+@Table(name = "producer_investors")
+@IdClass(ProducerInvestor.Key.class)
+public class ProducerInvestor {
+    @Id
+    @Column(name = "producer_id")
+    private Long producerId;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private Long confirmedCount = 0L;
+
+    // Constructors
+    public ProducerInvestor() {}
+
+    // Getters and Setters
+    public Long getProducerId() { return producerId; }
+    public void setProducerId(Long producerId) { this.producerId = producerId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getConfirmedCount() { return confirmedCount; }
+    public void setConfirmedCount(Long confirmedCount) { this.confirmedCount = confirmedCount; }
+
+    public static class Key implements Serializable {
+        private Long producerId;
+        private Long userId;
+
+        public Key() {}
+
+        public Key(Long producerId, Long userId) {
+            this.producerId = producerId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(producerId, key.producerId) && Objects.equals(userId, key.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(producerId, userId);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.cinefund.fundingservice.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The CONFIRMED investments of one movie as of a database-clock cutoff (UTC): those with a
+ * confirmed_at up to confirmedBy, and their summed amount.
+ */
+public record ConfirmedInvestmentTotal(LocalDateTime confirmedBy, BigDecimal totalInvestment) {
+}
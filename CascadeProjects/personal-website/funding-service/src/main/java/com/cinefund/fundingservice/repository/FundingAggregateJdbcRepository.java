@@ -0,0 +1,139 @@
+package com.cinefund.fundingservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta upserts, rebuild and verification for the funding aggregate tables. The aggregates
+ * count CONFIRMED investments only, the same rows the old SUM and COUNT queries looked at.
+ */
+@Repository
+public class FundingAggregateJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String RAW_MOVIE_TOTALS =
+            "SELECT movie_id, SUM(amount) AS total_investment, COUNT(*) AS investor_count " +
+            "FROM investments WHERE status = 'CONFIRMED' GROUP BY movie_id";
+
+    private static final String RAW_PRODUCER_INVESTORS =
+            "SELECT producer_id, user_id, COUNT(*) AS confirmed_count " +
+            "FROM investments WHERE status = 'CONFIRMED' GROUP BY producer_id, user_id";
+
+    private static final String RAW_PRODUCER_TOTALS =
+            "SELECT producer_id, SUM(amount) AS total_investment, COUNT(DISTINCT user_id) AS unique_investor_count " +
+            "FROM investments WHERE status = 'CONFIRMED' GROUP BY producer_id";
+
+    public void adjustMovieTotals(Long movieId, BigDecimal amountDelta, long countDelta) {
+        jdbcTemplate.update(
+                "INSERT INTO movie_funding_totals (movie_id, total_investment, investor_count, updated_at) " +
+                "VALUES (?, ?, ?, now()) ON CONFLICT (movie_id) DO UPDATE SET " +
+                "total_investment = movie_funding_totals.total_investment + EXCLUDED.total_investment, " +
+                "investor_count = movie_funding_totals.investor_count + EXCLUDED.investor_count, " +
+                "updated_at = EXCLUDED.updated_at",
+                movieId, amountDelta, countDelta);
+    }
+
+    public void adjustProducerTotals(Long producerId, BigDecimal amountDelta, long uniqueInvestorDelta) {
+        jdbcTemplate.update(
+                "INSERT INTO producer_funding_totals (producer_id, total_investment, unique_investor_count, updated_at) " +
+                "VALUES (?, ?, ?, now()) ON CONFLICT (producer_id) DO UPDATE SET " +
+                "total_investment = producer_funding_totals.total_investment + EXCLUDED.total_investment, " +
+                "unique_investor_count = producer_funding_totals.unique_investor_count + EXCLUDED.unique_investor_count, " +
+                "updated_at = EXCLUDED.updated_at",
+                producerId, amountDelta, uniqueInvestorDelta);
+    }
+
+    /**
+     * Applies per-user count deltas for one producer and returns how many users went from zero
+     * to non-zero minus how many went back to zero. Iterate the map in user id order so that
+     * concurrent calls lock the rows in the same order.
+     */
+    public long adjustProducerInvestors(Long producerId, Map<Long, Long> countDeltaByUser) {
+        if (countDeltaByUser.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO producer_investors (producer_id, user_id, confirmed_count) VALUES ");
+        List<Object> args = new ArrayList<>(countDeltaByUser.size() * 3);
+        for (Map.Entry<Long, Long> entry : countDeltaByUser.entrySet()) {
+            sql.append(args.isEmpty() ? "(?, ?, ?)" : ", (?, ?, ?)");
+            args.add(producerId);
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(" ON CONFLICT (producer_id, user_id) DO UPDATE SET " +
+                "confirmed_count = producer_investors.confirmed_count + EXCLUDED.confirmed_count " +
+                "RETURNING user_id, confirmed_count");
+
+        long[] uniqueDelta = new long[1];
+        jdbcTemplate.query(sql.toString(), rs -> {
+            long after = rs.getLong("confirmed_count");
+            long before = after - countDeltaByUser.get(rs.getLong("user_id"));
+            if (before == 0 && after > 0) {
+                uniqueDelta[0]++;
+            } else if (before > 0 && after == 0) {
+                uniqueDelta[0]--;
+            }
+        }, args.toArray());
+        return uniqueDelta[0];
+    }
+
+    public boolean isEmpty() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM movie_funding_totals)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    public boolean hasConfirmedInvestments() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM investments WHERE status = 'CONFIRMED')", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    // Serializes rebuilds: SHARE locks on investments do not conflict, so two rebuilds would both insert
+    public void lockRebuild() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('funding_aggregates_rebuild'))", Object.class);
+    }
+
+    // Blocks confirm, cancel and payout writers until the surrounding rebuild commits
+    public void lockInvestmentsForRebuild() {
+        jdbcTemplate.execute("LOCK TABLE investments IN SHARE MODE");
+    }
+
+    public void rebuildAll() {
+        jdbcTemplate.update("DELETE FROM movie_funding_totals");
+        jdbcTemplate.update("INSERT INTO movie_funding_totals (movie_id, total_investment, investor_count, updated_at) " +
+                "SELECT movie_id, total_investment, investor_count, now() FROM (" + RAW_MOVIE_TOTALS + ") r");
+        jdbcTemplate.update("DELETE FROM producer_investors");
+        jdbcTemplate.update("INSERT INTO producer_investors (producer_id, user_id, confirmed_count) " +
+                "SELECT producer_id, user_id, confirmed_count FROM (" + RAW_PRODUCER_INVESTORS + ") r");
+        jdbcTemplate.update("DELETE FROM producer_funding_totals");
+        jdbcTemplate.update("INSERT INTO producer_funding_totals (producer_id, total_investment, unique_investor_count, updated_at) " +
+                "SELECT producer_id, total_investment, unique_investor_count, now() FROM (" + RAW_PRODUCER_TOTALS + ") r");
+    }
+
+    public List<Long> findMismatchedMovieIds(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT COALESCE(r.movie_id, a.movie_id) FROM (" + RAW_MOVIE_TOTALS + ") r " +
+                "FULL OUTER JOIN movie_funding_totals a ON a.movie_id = r.movie_id " +
+                "WHERE COALESCE(r.total_investment, 0) <> COALESCE(a.total_investment, 0) " +
+                "OR COALESCE(r.investor_count, 0) <> COALESCE(a.investor_count, 0) " +
+                "ORDER BY 1 LIMIT ?",
+                Long.class, limit);
+    }
+
+    public List<Long> findMismatchedProducerIds(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT COALESCE(r.producer_id, a.producer_id) FROM (" + RAW_PRODUCER_TOTALS + ") r " +
+                "FULL OUTER JOIN producer_funding_totals a ON a.producer_id = r.producer_id " +
+                "WHERE COALESCE(r.total_investment, 0) <> COALESCE(a.total_investment, 0) " +
+                "OR COALESCE(r.unique_investor_count, 0) <> COALESCE(a.unique_investor_count, 0) " +
+                "ORDER BY 1 LIMIT ?",
+                Long.class, limit);
+    }
+}
@@ -0,0 +1,36 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // 1 if this caller now owns the key: it was free or had expired. A concurrent owner's
+    // uncommitted row makes this wait until that transaction ends
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) " +
+                   "VALUES (:key, :requestHash, :now, :expiresAt) " +
+                   "ON CONFLICT (idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+                   "investment_id = NULL, response_payload = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+                   "WHERE idempotency_keys.expires_at <= EXCLUDED.created_at",
+           nativeQuery = true)
+    int claim(@Param("key") String key, @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.investmentId = :investmentId, k.responsePayload = :responsePayload WHERE k.key = :key")
+    int complete(@Param("key") String key, @Param("investmentId") Long investmentId, @Param("responsePayload") String responsePayload);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
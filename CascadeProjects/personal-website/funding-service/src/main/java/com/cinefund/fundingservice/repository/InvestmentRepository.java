@@ -1,17 +1,31 @@
 package com.cinefund.fundingservice.repository;
 
+import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import com.cinefund.fundingservice.dto.ProducerMovieSummaryView;
+import com.cinefund.fundingservice.dto.ProducerMovieView;
 import com.cinefund.fundingservice.entity.Investment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InvestmentRepository extends JpaRepository<Investment, Long> {
+
+    // Read endpoints select straight into the response DTO: no managed entities, no dirty-checking snapshots
+    String SELECT_RESPONSE = "SELECT new com.cinefund.fundingservice.dto.InvestmentResponseDto(i.id, i.userId, i.movieId, " +
+            "i.producerId, i.amount, i.transactionId, i.status, i.userName, i.movieTitle, i.producerName, " +
+            "i.expectedReturnPercentage, i.actualReturnAmount, i.returnPaid, i.returnPaymentDate, i.investmentDate, " +
+            "i.createdAt, i.updatedAt) FROM Investment i ";
     
     List<Investment> findByUserId(Long userId);
     
@@ -19,15 +33,24 @@ public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     
     List<Investment> findByProducerId(Long producerId);
     
+    boolean existsByProducerId(Long producerId);
+    
     List<Investment> findByStatus(Investment.InvestmentStatus status);
     
+    List<Investment> findByMovieIdAndStatus(Long movieId, Investment.InvestmentStatus status);
+    
     Optional<Investment> findByTransactionId(String transactionId);
     
+    // Row lock for status changes, as the bulk transitions take with SELECT ... FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Investment i WHERE i.transactionId = :transactionId")
+    Optional<Investment> findByTransactionIdForUpdate(@Param("transactionId") String transactionId);
+    
     @Query("SELECT i FROM Investment i WHERE i.userId = :userId AND i.status = :status")
     List<Investment> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") Investment.InvestmentStatus status);
     
-    @Query("SELECT i FROM Investment i WHERE i.movieId = :movieId AND i.status = 'CONFIRMED'")
-    List<Investment> findConfirmedInvestmentsByMovie(@Param("movieId") Long movieId);
+    @Query(SELECT_RESPONSE + "WHERE i.movieId = :movieId AND i.status = 'CONFIRMED'")
+    List<InvestmentResponseDto> findConfirmedInvestmentsByMovie(@Param("movieId") Long movieId);
     
     @Query("SELECT i FROM Investment i WHERE i.producerId = :producerId AND i.status = 'CONFIRMED'")
     List<Investment> findConfirmedInvestmentsByProducer(@Param("producerId") Long producerId);
@@ -44,11 +67,14 @@ public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     @Query("SELECT COUNT(i) FROM Investment i WHERE i.movieId = :movieId AND i.status = 'CONFIRMED'")
     Long getInvestorCountByMovie(@Param("movieId") Long movieId);
     
-    @Query("SELECT i FROM Investment i WHERE i.returnPaid = false AND i.status = 'CONFIRMED'")
-    List<Investment> findUnpaidReturns();
+    @Query(SELECT_RESPONSE + "WHERE i.movieId = :movieId AND i.returnPaid = false AND i.status = 'CONFIRMED'")
+    List<InvestmentResponseDto> findUnpaidReturnsByMovie(@Param("movieId") Long movieId);
+    
+    @Query("SELECT COUNT(i) FROM Investment i WHERE i.movieId = :movieId AND i.returnPaid = false AND i.status = 'CONFIRMED'")
+    long countUnpaidReturnsByMovie(@Param("movieId") Long movieId);
     
-    @Query("SELECT i FROM Investment i WHERE i.movieId = :movieId AND i.returnPaid = false AND i.status = 'CONFIRMED'")
-    List<Investment> findUnpaidReturnsByMovie(@Param("movieId") Long movieId);
+    @Query("SELECT COUNT(i) FROM Investment i WHERE i.producerId = :producerId AND i.movieId IN :movieIds AND i.returnPaid = false AND i.status = 'CONFIRMED'")
+    long countUnpaidReturnsByProducerAndMovies(@Param("producerId") Long producerId, @Param("movieIds") Collection<Long> movieIds);
     
     @Query("SELECT DISTINCT i.movieId FROM Investment i WHERE i.userId = :userId AND i.status = 'CONFIRMED'")
     List<Long> getMovieIdsInvestedByUser(@Param("userId") Long userId);
@@ -57,4 +83,58 @@ public interface InvestmentRepository extends JpaRepository<Investment, Long> {
     Long getUniqueInvestorCountByProducer(@Param("producerId") Long producerId);
     
     List<Investment> findByProducerIdAndMovieId(Long producerId, Long movieId);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.id = :id")
+    Optional<InvestmentResponseDto> findResponseById(@Param("id") Long id);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.transactionId = :transactionId")
+    Optional<InvestmentResponseDto> findResponseByTransactionId(@Param("transactionId") String transactionId);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.producerId = :producerId")
+    List<InvestmentResponseDto> findResponsesByProducer(@Param("producerId") Long producerId);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.producerId = :producerId AND i.movieId = :movieId")
+    List<InvestmentResponseDto> findResponsesByProducerAndMovie(@Param("producerId") Long producerId, @Param("movieId") Long movieId);
+    
+    @Query("SELECT i.movieId AS movieId, MAX(i.movieTitle) AS movieTitle FROM Investment i WHERE i.producerId = :producerId AND i.movieId IN :movieIds GROUP BY i.movieId")
+    List<ProducerMovieView> findProducerMovies(@Param("producerId") Long producerId, @Param("movieIds") Collection<Long> movieIds);
+    
+    @Query("SELECT i.movieId AS movieId, MAX(i.movieTitle) AS movieTitle, MAX(i.producerName) AS producerName, " +
+           "COUNT(i) AS totalInvestments, SUM(i.amount) AS totalAmount, " +
+           "SUM(CASE WHEN i.returnPaid = true THEN 1 ELSE 0 END) AS paidReturns, " +
+           "SUM(CASE WHEN i.returnPaid = true THEN i.actualReturnAmount END) AS totalReturnsPaid " +
+           "FROM Investment i WHERE i.producerId = :producerId GROUP BY i.movieId ORDER BY i.movieId")
+    List<ProducerMovieSummaryView> summarizeReturnsByProducer(@Param("producerId") Long producerId);
+    
+    // Keyset pages: callers pass the last row's key and a Pageable that only carries the limit
+    @Query(SELECT_RESPONSE + "WHERE i.userId = :userId AND i.id > :afterId ORDER BY i.id")
+    List<InvestmentResponseDto> findPageByUser(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.userId = :userId AND (i.investmentDate < :beforeDate " +
+           "OR (i.investmentDate = :beforeDate AND i.id < :beforeId)) ORDER BY i.investmentDate DESC, i.id DESC")
+    List<InvestmentResponseDto> findPageByUserByDate(@Param("userId") Long userId, @Param("beforeDate") LocalDateTime beforeDate,
+                                                     @Param("beforeId") Long beforeId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.movieId = :movieId AND i.id > :afterId ORDER BY i.id")
+    List<InvestmentResponseDto> findPageByMovie(@Param("movieId") Long movieId, @Param("afterId") Long afterId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.movieId = :movieId AND (i.investmentDate < :beforeDate " +
+           "OR (i.investmentDate = :beforeDate AND i.id < :beforeId)) ORDER BY i.investmentDate DESC, i.id DESC")
+    List<InvestmentResponseDto> findPageByMovieByDate(@Param("movieId") Long movieId, @Param("beforeDate") LocalDateTime beforeDate,
+                                                      @Param("beforeId") Long beforeId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.producerId = :producerId AND i.id > :afterId ORDER BY i.id")
+    List<InvestmentResponseDto> findPageByProducer(@Param("producerId") Long producerId, @Param("afterId") Long afterId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.producerId = :producerId AND (i.investmentDate < :beforeDate " +
+           "OR (i.investmentDate = :beforeDate AND i.id < :beforeId)) ORDER BY i.investmentDate DESC, i.id DESC")
+    List<InvestmentResponseDto> findPageByProducerByDate(@Param("producerId") Long producerId, @Param("beforeDate") LocalDateTime beforeDate,
+                                                         @Param("beforeId") Long beforeId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.returnPaid = false AND i.status = 'CONFIRMED' AND i.id > :afterId ORDER BY i.id")
+    List<InvestmentResponseDto> findUnpaidReturnsPage(@Param("afterId") Long afterId, Pageable page);
+    
+    @Query(SELECT_RESPONSE + "WHERE i.returnPaid = false AND i.status = 'CONFIRMED' AND (i.investmentDate < :beforeDate " +
+           "OR (i.investmentDate = :beforeDate AND i.id < :beforeId)) ORDER BY i.investmentDate DESC, i.id DESC")
+    List<InvestmentResponseDto> findUnpaidReturnsPageByDate(@Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Long beforeId, Pageable page);
 }
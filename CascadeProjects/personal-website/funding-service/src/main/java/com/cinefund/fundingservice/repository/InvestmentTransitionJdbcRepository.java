@@ -0,0 +1,114 @@
+package com.cinefund.fundingservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based status changes for many investments at once: each step is one statement over
+ * a {@code transaction_id = ANY(?)} array instead of a lookup and a save per id.
+ */
+@Repository
+public class InvestmentTransitionJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionIdAllocator transactionIdAllocator;
+
+    private static final RowMapper<InvestmentTransitionRow> ROW_MAPPER = (rs, rowNum) -> new InvestmentTransitionRow(
+            rs.getString("transaction_id"),
+            rs.getString("status"),
+            rs.getLong("movie_id"),
+            rs.getLong("producer_id"),
+            rs.getLong("user_id"),
+            rs.getBigDecimal("amount"),
+            rs.getBoolean("has_transaction"));
+
+    // Locks in id order so that two overlapping batches cannot deadlock each other
+    public List<InvestmentTransitionRow> lockByTransactionIds(Collection<String> transactionIds) {
+        return jdbcTemplate.query(
+                "SELECT i.transaction_id, i.status, i.movie_id, i.producer_id, i.user_id, i.amount, " +
+                "EXISTS (SELECT 1 FROM transactions t WHERE t.transaction_id = i.transaction_id) AS has_transaction " +
+                "FROM investments i WHERE i.transaction_id = ANY(?) ORDER BY i.id FOR UPDATE",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", transactionIds.toArray())),
+                ROW_MAPPER);
+    }
+
+    public int updateInvestmentStatus(Collection<String> transactionIds, String status, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE investments SET status = ?, updated_at = ? WHERE transaction_id = ANY(?)",
+                ps -> {
+                    ps.setString(1, status);
+                    ps.setTimestamp(2, Timestamp.valueOf(now));
+                    ps.setArray(3, ps.getConnection().createArrayOf("varchar", transactionIds.toArray()));
+                });
+    }
+
+    /**
+     * Moves the investments to CONFIRMED and stamps confirmed_at from the database clock. It is
+     * read while the statement runs, after any lock a streaming payout start holds on the
+     * table, so rows confirmed once that payout has frozen its total always fall after its cutoff.
+     */
+    public int confirmInvestments(Collection<String> transactionIds, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE investments SET status = 'CONFIRMED', updated_at = ?, " +
+                "confirmed_at = clock_timestamp() AT TIME ZONE 'UTC' WHERE transaction_id = ANY(?)",
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(now));
+                    ps.setArray(2, ps.getConnection().createArrayOf("varchar", transactionIds.toArray()));
+                });
+    }
+
+    public int completeTransactions(Collection<String> transactionIds, String status, String failureReason, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE transactions SET status = ?, failure_reason = COALESCE(?, failure_reason), completed_at = ? " +
+                "WHERE transaction_id = ANY(?)",
+                ps -> {
+                    ps.setString(1, status);
+                    ps.setString(2, failureReason);
+                    ps.setTimestamp(3, Timestamp.valueOf(now));
+                    ps.setArray(4, ps.getConnection().createArrayOf("varchar", transactionIds.toArray()));
+                });
+    }
+
+    /**
+     * Writes the outcome of a transition for investments whose transaction record is not in the
+     * table yet, which in journal mode happens until the instance that took the investment has
+     * flushed it. A record that lands in the meantime just takes the outcome, and one that lands
+     * later keeps it (see {@link TransactionJournalJdbcRepository#insertKeepingOutcomes}).
+     */
+    public int upsertTransactionOutcomes(Collection<String> transactionIds, String status, String failureReason,
+                                         String descriptionPrefix, LocalDateTime now) {
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = transactionIdAllocator.allocate(transactionIds.size());
+        return jdbcTemplate.update(
+                "INSERT INTO transactions (id, transaction_id, user_id, movie_id, producer_id, amount, type, status, " +
+                "failure_reason, description, created_at, completed_at) " +
+                "SELECT v.id, i.transaction_id, i.user_id, i.movie_id, i.producer_id, i.amount, 'INVESTMENT', ?, " +
+                "?, ? || i.movie_title, ?, ? " +
+                "FROM investments i JOIN unnest(?, ?) AS v(id, transaction_id) ON v.transaction_id = i.transaction_id " +
+                "ON CONFLICT (transaction_id) DO UPDATE SET status = EXCLUDED.status, " +
+                "failure_reason = COALESCE(EXCLUDED.failure_reason, transactions.failure_reason), " +
+                "completed_at = EXCLUDED.completed_at",
+                ps -> {
+                    Timestamp timestamp = Timestamp.valueOf(now);
+                    ps.setString(1, status);
+                    ps.setString(2, failureReason);
+                    ps.setString(3, descriptionPrefix);
+                    ps.setTimestamp(4, timestamp);
+                    ps.setTimestamp(5, timestamp);
+                    ps.setArray(6, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+                    ps.setArray(7, ps.getConnection().createArrayOf("varchar", transactionIds.toArray()));
+                });
+    }
+}
@@ -0,0 +1,52 @@
+package com.cinefund.fundingservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * An investment row locked for a bulk status change, with whether its transaction row exists.
+ */
+public class InvestmentTransitionRow {
+    private String transactionId;
+    private String status;
+    private Long movieId;
+    private Long producerId;
+    private Long userId;
+    private BigDecimal amount;
+    private boolean hasTransaction;
+
+    // Constructors
+    public InvestmentTransitionRow() {}
+
+    public InvestmentTransitionRow(String transactionId, String status, Long movieId, Long producerId, Long userId,
+                                   BigDecimal amount, boolean hasTransaction) {
+        this.transactionId = transactionId;
+        this.status = status;
+        this.movieId = movieId;
+        this.producerId = producerId;
+        this.userId = userId;
+        this.amount = amount;
+        this.hasTransaction = hasTransaction;
+    }
+
+    // Getters and Setters
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getMovieId() { return movieId; }
+    public void setMovieId(Long movieId) { this.movieId = movieId; }
+
+    public Long getProducerId() { return producerId; }
+    public void setProducerId(Long producerId) { this.producerId = producerId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public boolean isHasTransaction() { return hasTransaction; }
+    public void setHasTransaction(boolean hasTransaction) { this.hasTransaction = hasTransaction; }
+}
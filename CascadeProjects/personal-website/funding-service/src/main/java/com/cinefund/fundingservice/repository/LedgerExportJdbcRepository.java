@@ -0,0 +1,55 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.dto.LedgerExportFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the transaction ledger through a server-side cursor, handing each row to a callback
+ * as it arrives. The PostgreSQL driver only uses the fetch size inside a transaction, so
+ * callers must hold one open for the whole read.
+ */
+@Repository
+public class LedgerExportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LedgerExportJdbcRepository(DataSource dataSource, @Value("${funding.export.fetch-size:1000}") int fetchSize) {
+        // Separate template so the fetch size does not leak into every other query
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamTransactions(LedgerExportFilter filter, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, transaction_id, user_id, movie_id, producer_id, amount, type, status, " +
+                "payment_method, description, created_at, completed_at FROM transactions " +
+                "WHERE created_at >= ? AND created_at < ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(filter.getFrom()));
+        args.add(Timestamp.valueOf(filter.getTo()));
+        if (filter.getType() != null) {
+            sql.append(" AND type = ?");
+            args.add(filter.getType().name());
+        }
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.getStatus().name());
+        }
+        if (filter.getMovieId() != null) {
+            sql.append(" AND movie_id = ?");
+            args.add(filter.getMovieId());
+        }
+        sql.append(" ORDER BY created_at, id");
+        jdbcTemplate.query(sql.toString(), handler, args.toArray());
+    }
+}
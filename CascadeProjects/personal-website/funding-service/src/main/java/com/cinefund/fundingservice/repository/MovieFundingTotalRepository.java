@@ -0,0 +1,9 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.entity.MovieFundingTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovieFundingTotalRepository extends JpaRepository<MovieFundingTotal, Long> {
+}
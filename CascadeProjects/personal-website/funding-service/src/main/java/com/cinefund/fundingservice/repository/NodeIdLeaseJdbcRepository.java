@@ -0,0 +1,67 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.entity.NodeIdLease;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Leases of Snowflake node ids in node_id_leases. Expiry is compared on the database clock,
+ * so instances with skewed clocks still agree on when a node id is free.
+ */
+@Repository
+public class NodeIdLeaseJdbcRepository {
+
+    // Instances racing for the same free node id: the loser retries with the next one, and
+    // finding none free takes as many attempts
+    private static final int CLAIM_ATTEMPTS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes a node id from 0 to maxNodeId that has never been leased or whose lease has run
+     * out, preferring the one that has been free longest. Null if all of them are held.
+     */
+    public NodeIdLease claim(String owner, long maxNodeId, long leaseMillis) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            List<NodeIdLease> claimed = jdbcTemplate.query(
+                    "WITH candidate AS (" +
+                    "  SELECT n.node_id FROM generate_series(0, ?) AS n(node_id)" +
+                    "  LEFT JOIN node_id_leases l ON l.node_id = n.node_id" +
+                    "  WHERE l.node_id IS NULL OR l.lease_expires_at < LOCALTIMESTAMP" +
+                    "  ORDER BY l.lease_expires_at NULLS FIRST, n.node_id LIMIT 1) " +
+                    "INSERT INTO node_id_leases (node_id, owner, lease_expires_at, last_timestamp) " +
+                    "SELECT node_id, ?, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond', 0 FROM candidate " +
+                    "ON CONFLICT (node_id) DO UPDATE SET owner = EXCLUDED.owner, lease_expires_at = EXCLUDED.lease_expires_at " +
+                    "WHERE node_id_leases.lease_expires_at < LOCALTIMESTAMP " +
+                    "RETURNING node_id, last_timestamp",
+                    (rs, rowNum) -> new NodeIdLease(rs.getInt("node_id"), rs.getLong("last_timestamp")),
+                    (int) maxNodeId, owner, leaseMillis);
+            if (!claimed.isEmpty()) {
+                return claimed.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extends the lease and records how far this holder's ids may reach. False if the node id
+     * has meanwhile been taken by another instance.
+     */
+    public boolean renew(int nodeId, String owner, long leaseMillis, long lastTimestamp) {
+        return jdbcTemplate.update(
+                "UPDATE node_id_leases SET lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 millisecond', " +
+                "last_timestamp = GREATEST(last_timestamp, ?) WHERE node_id = ? AND owner = ?",
+                leaseMillis, lastTimestamp, nodeId, owner) == 1;
+    }
+
+    // Frees the node id straight away; lastTimestamp is the last one actually used
+    public void release(int nodeId, String owner, long lastTimestamp) {
+        jdbcTemplate.update(
+                "UPDATE node_id_leases SET lease_expires_at = LOCALTIMESTAMP, last_timestamp = ? WHERE node_id = ? AND owner = ?",
+                lastTimestamp, nodeId, owner);
+    }
+}
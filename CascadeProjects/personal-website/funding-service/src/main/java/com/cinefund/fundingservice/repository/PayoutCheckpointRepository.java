@@ -0,0 +1,21 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.entity.PayoutCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PayoutCheckpointRepository extends JpaRepository<PayoutCheckpoint, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM PayoutCheckpoint c WHERE c.movieId = :movieId")
+    Optional<PayoutCheckpoint> findByMovieIdForUpdate(@Param("movieId") Long movieId);
+
+    boolean existsByMovieIdAndStatus(Long movieId, PayoutCheckpoint.CheckpointStatus status);
+}
@@ -0,0 +1,120 @@
+package com.cinefund.fundingservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-based SQL for the payout path. Each call writes one chunk of lines with a single
+ * multi-row statement instead of one round trip per investment.
+ */
+@Repository
+public class PayoutJdbcRepository {
+
+    // PostgreSQL binds at most 32767 parameters per statement, and the payout insert takes 9 per line
+    public static final int MAX_LINES_PER_STATEMENT = 32767 / 9;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionIdAllocator transactionIdAllocator;
+
+    private static final RowMapper<PayoutLine> PAYOUT_LINE_MAPPER = (rs, rowNum) -> new PayoutLine(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getLong("producer_id"),
+            rs.getBigDecimal("amount"),
+            rs.getString("movie_title"));
+
+    public List<PayoutLine> findUnpaidPayoutLines(Long movieId) {
+        return jdbcTemplate.query(
+                "SELECT id, user_id, producer_id, amount, movie_title FROM investments " +
+                "WHERE movie_id = ? AND return_paid = false AND status = 'CONFIRMED' ORDER BY id",
+                PAYOUT_LINE_MAPPER, movieId);
+    }
+
+    /**
+     * Freezes the investments a streaming payout will pay. The SHARE lock waits for every
+     * transaction that is confirming investments to commit and holds new ones back until the
+     * caller commits, so the sum sees exactly the rows confirmed before the cutoff read with it.
+     */
+    public ConfirmedInvestmentTotal freezeConfirmedTotal(Long movieId) {
+        jdbcTemplate.execute("LOCK TABLE investments IN SHARE MODE");
+        return jdbcTemplate.queryForObject(
+                "SELECT clock_timestamp() AT TIME ZONE 'UTC' AS confirmed_by, SUM(amount) AS total_investment " +
+                "FROM investments WHERE movie_id = ? AND status = 'CONFIRMED'",
+                (rs, rowNum) -> new ConfirmedInvestmentTotal(
+                        rs.getTimestamp("confirmed_by").toLocalDateTime(), rs.getBigDecimal("total_investment")),
+                movieId);
+    }
+
+    // Keyset page: cost depends only on the page size, not on how far the run has progressed.
+    // Rows confirmed before confirmed_at existed have none and predate every cutoff; a
+    // checkpoint from before confirmed_by existed has none and pays only those rows.
+    public List<PayoutLine> findUnpaidPayoutLinesAfter(Long movieId, Long afterInvestmentId, LocalDateTime confirmedBy, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, user_id, producer_id, amount, movie_title FROM investments " +
+                "WHERE movie_id = ? AND id > ? AND return_paid = false AND status = 'CONFIRMED' " +
+                "AND (confirmed_at IS NULL OR confirmed_at <= ?) ORDER BY id LIMIT ?",
+                PAYOUT_LINE_MAPPER, movieId, afterInvestmentId,
+                confirmedBy == null ? null : Timestamp.valueOf(confirmedBy), limit);
+    }
+
+    /**
+     * Marks the given investments as paid and returns the ids that were actually flipped, so that
+     * rows already paid by a concurrent run never get a second payout transaction.
+     */
+    public List<Long> markReturnsPaid(List<PayoutLine> lines, LocalDateTime paidAt) {
+        if (lines.isEmpty()) {
+            return new ArrayList<>();
+        }
+        StringBuilder sql = new StringBuilder(
+                "UPDATE investments AS i SET actual_return_amount = v.amount, return_paid = true, " +
+                "return_payment_date = ?, status = 'RETURN_PAID', updated_at = ? FROM (VALUES ");
+        List<Object> args = new ArrayList<>(lines.size() * 2 + 2);
+        Timestamp timestamp = Timestamp.valueOf(paidAt);
+        args.add(timestamp);
+        args.add(timestamp);
+        for (int i = 0; i < lines.size(); i++) {
+            PayoutLine line = lines.get(i);
+            sql.append(i == 0 ? "(?::bigint, ?::numeric)" : ", (?, ?)");
+            args.add(line.getInvestmentId());
+            args.add(line.getReturnAmount());
+        }
+        sql.append(") AS v(id, amount) WHERE i.id = v.id AND i.return_paid = false RETURNING i.id");
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+    }
+
+    public int insertPayoutTransactions(Long movieId, List<PayoutLine> lines, LocalDateTime completedAt) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO transactions (id, transaction_id, user_id, movie_id, producer_id, amount, type, status, " +
+                "description, created_at, completed_at) VALUES ");
+        List<Long> ids = transactionIdAllocator.allocate(lines.size());
+        List<Object> args = new ArrayList<>(lines.size() * 9);
+        Timestamp timestamp = Timestamp.valueOf(completedAt);
+        for (int i = 0; i < lines.size(); i++) {
+            PayoutLine line = lines.get(i);
+            sql.append(i == 0 ? "(" : ", (").append("?, ?, ?, ?, ?, ?, 'PAYOUT', 'SUCCESS', ?, ?, ?)");
+            args.add(ids.get(i));
+            args.add(line.getPayoutTransactionId());
+            args.add(line.getUserId());
+            args.add(movieId);
+            args.add(line.getProducerId());
+            args.add(line.getReturnAmount());
+            args.add("Return payment for movie: " + line.getMovieTitle());
+            args.add(timestamp);
+            args.add(timestamp);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,55 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.entity.PayoutJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PayoutJobRepository extends JpaRepository<PayoutJob, String> {
+
+    @Query("SELECT j.id FROM PayoutJob j WHERE j.status = 'QUEUED' ORDER BY j.createdAt")
+    List<String> findQueuedIds(Pageable pageable);
+
+    // Claims a queued job for this worker; 0 rows means another worker already took it
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayoutJob j SET j.status = 'RUNNING', j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt, " +
+           "j.startedAt = :now, j.updatedAt = :now, j.attempts = j.attempts + 1 WHERE j.id = :id AND j.status = 'QUEUED'")
+    int claim(@Param("id") String id, @Param("owner") String owner, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+              @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayoutJob j SET j.leaseExpiresAt = :leaseExpiresAt WHERE j.owner = :owner AND j.status = 'RUNNING'")
+    int renewLeases(@Param("owner") String owner, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayoutJob j SET j.investorsTotal = :investorsTotal, j.updatedAt = :now WHERE j.id = :id")
+    int updateInvestorsTotal(@Param("id") String id, @Param("investorsTotal") Long investorsTotal, @Param("now") LocalDateTime now);
+
+    // Runs in its own transaction so progress is visible while a bulk payout transaction is still open
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE PayoutJob j SET j.investorsProcessed = :investorsProcessed, j.amountDistributed = :amountDistributed, " +
+           "j.updatedAt = :now WHERE j.id = :id")
+    int updateProgress(@Param("id") String id, @Param("investorsProcessed") Long investorsProcessed,
+                       @Param("amountDistributed") BigDecimal amountDistributed, @Param("now") LocalDateTime now);
+
+    // Jobs whose owner stopped renewing: it crashed, was killed, or lost the database
+    @Transactional
+    @Modifying
+    @Query("UPDATE PayoutJob j SET j.status = 'QUEUED', j.owner = null, j.leaseExpiresAt = null, j.updatedAt = :now " +
+           "WHERE j.status = 'RUNNING' AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int requeueExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,46 @@
+package com.cinefund.fundingservice.repository;
+
+import java.math.BigDecimal;
+
+public class PayoutLine {
+    private Long investmentId;
+    private Long userId;
+    private Long producerId;
+    private BigDecimal amount;
+    private String movieTitle;
+    private BigDecimal returnAmount;
+    private String payoutTransactionId;
+
+    // Constructors
+    public PayoutLine() {}
+
+    public PayoutLine(Long investmentId, Long userId, Long producerId, BigDecimal amount, String movieTitle) {
+        this.investmentId = investmentId;
+        this.userId = userId;
+        this.producerId = producerId;
+        this.amount = amount;
+        this.movieTitle = movieTitle;
+    }
+
+    // Getters and Setters
+    public Long getInvestmentId() { return investmentId; }
+    public void setInvestmentId(Long investmentId) { this.investmentId = investmentId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getProducerId() { return producerId; }
+    public void setProducerId(Long producerId) { this.producerId = producerId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getMovieTitle() { return movieTitle; }
+    public void setMovieTitle(String movieTitle) { this.movieTitle = movieTitle; }
+
+    public BigDecimal getReturnAmount() { return returnAmount; }
+    public void setReturnAmount(BigDecimal returnAmount) { this.returnAmount = returnAmount; }
+
+    public String getPayoutTransactionId() { return payoutTransactionId; }
+    public void setPayoutTransactionId(String payoutTransactionId) { this.payoutTransactionId = payoutTransactionId; }
+}
@@ -0,0 +1,59 @@
+package com.cinefund.fundingservice.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids for transactions rows written with plain SQL. Reads transactions_id_seq the way the
+ * entity's pooled generator does: each nextval is the top of a block of BLOCK_SIZE ids, so
+ * the two never hand out the same id, and one nextval covers 50 rows instead of one.
+ * Unused ids stay in memory for the next call.
+ */
+@Repository
+public class TransactionIdAllocator {
+
+    // allocationSize of Transaction's @SequenceGenerator and the sequence's INCREMENT BY
+    static final int BLOCK_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long last = -1;
+
+    public List<Long> allocate(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        lock.lock();
+        try {
+            while (ids.size() < count && next <= last) {
+                ids.add(next++);
+            }
+            while (ids.size() < count) {
+                List<Long> blockTops = jdbcTemplate.queryForList(
+                        "SELECT nextval('transactions_id_seq') FROM generate_series(1, ?)",
+                        Long.class, (count - ids.size() + BLOCK_SIZE - 1) / BLOCK_SIZE);
+                for (long top : blockTops) {
+                    // Hibernate stretches its first block over 1..51 when it draws the sequence's
+                    // initial value, so blocks that low are left to it
+                    if (top <= BLOCK_SIZE + 1) {
+                        continue;
+                    }
+                    next = top - BLOCK_SIZE + 1;
+                    last = top;
+                    while (ids.size() < count && next <= last) {
+                        ids.add(next++);
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
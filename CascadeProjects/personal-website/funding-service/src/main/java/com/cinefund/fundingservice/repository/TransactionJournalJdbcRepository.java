@@ -0,0 +1,92 @@
+package com.cinefund.fundingservice.repository;
+
+import com.cinefund.fundingservice.entity.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Copies journaled transaction records into the transactions table. A row that is already
+ * there keeps its status, failure reason and completion time, so a batch that was written
+ * before a crash can safely be replayed, and a confirm or cancel that another instance wrote
+ * before this one flushed is not lost.
+ */
+@Repository
+public class TransactionJournalJdbcRepository {
+
+    // PostgreSQL binds at most 32767 parameters per statement, and the insert takes 13 per row
+    public static final int MAX_ROWS_PER_STATEMENT = 32767 / 13;
+
+    // Explicit types let null columns bind without a server round trip to describe the statement
+    private static final int[] ROW_TYPES = {Types.BIGINT, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT,
+            Types.NUMERIC, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionIdAllocator transactionIdAllocator;
+
+    public int insertKeepingOutcomes(Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO transactions (id, transaction_id, user_id, movie_id, producer_id, amount, type, status, " +
+                "payment_method, failure_reason, description, created_at, completed_at) VALUES ");
+        Iterator<Long> ids = transactionIdAllocator.allocate(transactions.size()).iterator();
+        List<Object> args = new ArrayList<>(transactions.size() * ROW_TYPES.length);
+        int[] argTypes = new int[transactions.size() * ROW_TYPES.length];
+        for (Transaction transaction : transactions) {
+            System.arraycopy(ROW_TYPES, 0, argTypes, args.size(), ROW_TYPES.length);
+            sql.append(args.isEmpty() ? "(" : ", (").append("?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            args.add(ids.next());
+            args.add(transaction.getTransactionId());
+            args.add(transaction.getUserId());
+            args.add(transaction.getMovieId());
+            args.add(transaction.getProducerId());
+            args.add(transaction.getAmount());
+            args.add(transaction.getType().name());
+            args.add(transaction.getStatus().name());
+            args.add(transaction.getPaymentMethod());
+            args.add(transaction.getFailureReason());
+            args.add(transaction.getDescription());
+            args.add(toTimestamp(transaction.getCreatedAt()));
+            args.add(toTimestamp(transaction.getCompletedAt()));
+        }
+        sql.append(" ON CONFLICT (transaction_id) DO UPDATE SET payment_method = EXCLUDED.payment_method, " +
+                "description = EXCLUDED.description, created_at = EXCLUDED.created_at");
+        return jdbcTemplate.update(sql.toString(), args.toArray(), argTypes);
+    }
+
+    public int deleteByTransactionIds(Collection<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "DELETE FROM transactions WHERE transaction_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", transactionIds.toArray())));
+    }
+
+    public Set<String> findInvestmentTransactionIds(Collection<String> transactionIds) {
+        return new HashSet<>(jdbcTemplate.query(
+                "SELECT transaction_id FROM investments WHERE transaction_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", transactionIds.toArray())),
+                (rs, rowNum) -> rs.getString(1)));
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : Timestamp.valueOf(dateTime);
+    }
+}
@@ -0,0 +1,144 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.PayoutResultDto;
+import com.cinefund.fundingservice.entity.PayoutCheckpoint;
+import com.cinefund.fundingservice.repository.InvestmentRepository;
+import com.cinefund.fundingservice.repository.PayoutCheckpointRepository;
+import com.cinefund.fundingservice.repository.PayoutJdbcRepository;
+import com.cinefund.fundingservice.repository.PayoutLine;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Computes every investor's share in memory and writes the results with one multi-row
+ * UPDATE and one multi-row INSERT per chunk, instead of two single-row saves per investor.
+ */
+@Service
+public class BulkPayoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkPayoutService.class);
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private PayoutJdbcRepository payoutJdbcRepository;
+
+    @Autowired
+    private PayoutCheckpointRepository payoutCheckpointRepository;
+
+    @Autowired
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Autowired
+    private FundingAggregateService fundingAggregateService;
+
+    @Autowired
+    private PayoutMetrics payoutMetrics;
+
+    @Value("${funding.payout.batch-size:1000}")
+    private int batchSize;
+
+    @PostConstruct
+    public void validateBatchSize() {
+        if (batchSize < 1 || batchSize > PayoutJdbcRepository.MAX_LINES_PER_STATEMENT) {
+            throw new IllegalStateException("funding.payout.batch-size must be between 1 and "
+                    + PayoutJdbcRepository.MAX_LINES_PER_STATEMENT + ", was " + batchSize);
+        }
+    }
+
+    @Transactional
+    @Timed(value = "cinefund.payout.running", extraTags = {"engine", "bulk"}, longTask = true)
+    public PayoutResultDto processReturns(Long movieId, BigDecimal totalRevenue, PayoutProgressListener listener) {
+        long startNanos = System.nanoTime();
+
+        if (payoutCheckpointRepository.existsByMovieIdAndStatus(movieId, PayoutCheckpoint.CheckpointStatus.IN_PROGRESS)) {
+            throw new RuntimeException("A streaming payout is in progress for movie " + movieId + "; resume it instead");
+        }
+
+        BigDecimal totalInvestment = investmentRepository.getTotalInvestmentByMovie(movieId);
+        if (totalInvestment == null || totalInvestment.compareTo(BigDecimal.ZERO) == 0) {
+            throw new RuntimeException("No investments found for this movie");
+        }
+
+        List<PayoutLine> lines = payoutJdbcRepository.findUnpaidPayoutLines(movieId);
+
+        // Exact split in cents: the shares add up to the revenue, not to the revenue plus rounding drift
+        long[] weights = new long[lines.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = PayoutAllocator.toMinorUnits(lines.get(i).getAmount());
+        }
+        long[] shares = PayoutAllocator.allocate(weights, PayoutAllocator.toMinorUnits(totalRevenue));
+        for (int i = 0; i < shares.length; i++) {
+            PayoutLine line = lines.get(i);
+            line.setReturnAmount(PayoutAllocator.fromMinorUnits(shares[i]));
+            line.setPayoutTransactionId(transactionIdGenerator.nextPayoutId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long investorsProcessed = 0;
+        long rowsWritten = 0;
+        BigDecimal amountDistributed = BigDecimal.ZERO;
+        List<PayoutLine> allPaid = new ArrayList<>(lines.size());
+
+        for (int from = 0; from < lines.size(); from += batchSize) {
+            List<PayoutLine> chunk = lines.subList(from, Math.min(from + batchSize, lines.size()));
+            List<PayoutLine> paid = writeChunk(movieId, chunk, now);
+            allPaid.addAll(paid);
+
+            BigDecimal chunkAmount = BigDecimal.ZERO;
+            for (PayoutLine line : paid) {
+                chunkAmount = chunkAmount.add(line.getReturnAmount());
+            }
+            rowsWritten += paid.size() * 2L;
+            investorsProcessed += paid.size();
+            amountDistributed = amountDistributed.add(chunkAmount);
+            listener.onChunk(paid.size(), chunkAmount);
+            payoutMetrics.paid(paid.size(), chunkAmount);
+        }
+        // Once, at the end: the producer's totals row stays locked until commit, and taking it
+        // on the first chunk would serialize this producer's movies paid in parallel
+        fundingAggregateService.returnsPaid(movieId, allPaid);
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        PayoutResultDto result = new PayoutResultDto(movieId, investorsProcessed, amountDistributed, rowsWritten, elapsedMillis);
+        log.info("Bulk payout for movie {}: {} investors, {} rows in {} ms ({} rows/s)",
+                movieId, investorsProcessed, rowsWritten, elapsedMillis, String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * Flips the chunk to RETURN_PAID and inserts payout transactions for the rows that were
+     * actually flipped. Returns those rows; the caller owns the surrounding transaction.
+     * Chunks longer than {@code funding.payout.batch-size} are written in several statements.
+     */
+    public List<PayoutLine> writeChunk(Long movieId, List<PayoutLine> chunk, LocalDateTime now) {
+        if (chunk.size() > batchSize) {
+            List<PayoutLine> paid = new ArrayList<>(chunk.size());
+            for (int from = 0; from < chunk.size(); from += batchSize) {
+                paid.addAll(writeChunk(movieId, chunk.subList(from, Math.min(from + batchSize, chunk.size())), now));
+            }
+            return paid;
+        }
+        Set<Long> paidIds = new HashSet<>(payoutJdbcRepository.markReturnsPaid(chunk, now));
+        List<PayoutLine> paid = paidIds.size() == chunk.size() ? chunk : chunk.stream()
+                .filter(line -> paidIds.contains(line.getInvestmentId()))
+                .collect(Collectors.toList());
+        payoutJdbcRepository.insertPayoutTransactions(movieId, paid, now);
+        return paid;
+    }
+}
@@ -0,0 +1,193 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.AggregateCheckDto;
+import com.cinefund.fundingservice.dto.AggregateRebuildDto;
+import com.cinefund.fundingservice.entity.Investment;
+import com.cinefund.fundingservice.entity.MovieFundingTotal;
+import com.cinefund.fundingservice.entity.ProducerFundingTotal;
+import com.cinefund.fundingservice.repository.FundingAggregateJdbcRepository;
+import com.cinefund.fundingservice.repository.InvestmentTransitionRow;
+import com.cinefund.fundingservice.repository.MovieFundingTotalRepository;
+import com.cinefund.fundingservice.repository.PayoutLine;
+import com.cinefund.fundingservice.repository.ProducerFundingTotalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keeps the per-movie and per-producer totals of CONFIRMED investments in step with the
+ * investments table. Callers apply deltas inside the transaction that changes the
+ * investments, so the totals commit or roll back together with them.
+ */
+@Service
+public class FundingAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(FundingAggregateService.class);
+
+    private static final int MISMATCH_REPORT_LIMIT = 100;
+
+    @Autowired
+    private FundingAggregateJdbcRepository aggregateJdbcRepository;
+
+    @Autowired
+    private MovieFundingTotalRepository movieFundingTotalRepository;
+
+    @Autowired
+    private ProducerFundingTotalRepository producerFundingTotalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${funding.aggregates.rebuild-token:}")
+    private String rebuildToken;
+
+    public BigDecimal getTotalInvestmentByMovie(Long movieId) {
+        return movieFundingTotalRepository.findById(movieId)
+                .map(MovieFundingTotal::getTotalInvestment)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public Long getInvestorCountByMovie(Long movieId) {
+        return movieFundingTotalRepository.findById(movieId)
+                .map(MovieFundingTotal::getInvestorCount)
+                .orElse(0L);
+    }
+
+    public BigDecimal getTotalInvestmentByProducer(Long producerId) {
+        return producerFundingTotalRepository.findById(producerId)
+                .map(ProducerFundingTotal::getTotalInvestment)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public Long getUniqueInvestorCountByProducer(Long producerId) {
+        return producerFundingTotalRepository.findById(producerId)
+                .map(ProducerFundingTotal::getUniqueInvestorCount)
+                .orElse(0L);
+    }
+
+    /**
+     * Records a status change of one investment. Only moves into or out of CONFIRMED touch
+     * the totals; anything else is a no-op.
+     */
+    public void statusChanged(Investment investment, Investment.InvestmentStatus previousStatus) {
+        boolean wasConfirmed = previousStatus == Investment.InvestmentStatus.CONFIRMED;
+        boolean isConfirmed = investment.getStatus() == Investment.InvestmentStatus.CONFIRMED;
+        if (wasConfirmed == isConfirmed) {
+            return;
+        }
+        Deltas deltas = new Deltas();
+        deltas.add(investment.getMovieId(), investment.getProducerId(), investment.getUserId(),
+                investment.getAmount(), isConfirmed ? 1 : -1);
+        apply(deltas);
+    }
+
+    /**
+     * Records investments of one movie that were CONFIRMED and have just been paid out.
+     */
+    public void returnsPaid(Long movieId, List<PayoutLine> paid) {
+        Deltas deltas = new Deltas();
+        for (PayoutLine line : paid) {
+            deltas.add(movieId, line.getProducerId(), line.getUserId(), line.getAmount(), -1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Records investments that have just moved into CONFIRMED.
+     */
+    public void investmentsConfirmed(List<InvestmentTransitionRow> confirmed) {
+        Deltas deltas = new Deltas();
+        for (InvestmentTransitionRow row : confirmed) {
+            deltas.add(row.getMovieId(), row.getProducerId(), row.getUserId(), row.getAmount(), 1);
+        }
+        apply(deltas);
+    }
+
+    // Rows are always locked in one global order: movies by id, then for each producer by id
+    // its investor rows by user id followed by its totals row
+    private void apply(Deltas deltas) {
+        for (Map.Entry<Long, MovieDelta> entry : deltas.movies.entrySet()) {
+            MovieDelta delta = entry.getValue();
+            aggregateJdbcRepository.adjustMovieTotals(entry.getKey(), delta.amount, delta.count);
+        }
+        for (Map.Entry<Long, TreeMap<Long, Long>> entry : deltas.producerInvestors.entrySet()) {
+            Long producerId = entry.getKey();
+            long uniqueDelta = aggregateJdbcRepository.adjustProducerInvestors(producerId, entry.getValue());
+            aggregateJdbcRepository.adjustProducerTotals(producerId, deltas.producerAmounts.get(producerId), uniqueDelta);
+        }
+    }
+
+    private static class MovieDelta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+    }
+
+    private static class Deltas {
+        private final TreeMap<Long, MovieDelta> movies = new TreeMap<>();
+        private final TreeMap<Long, TreeMap<Long, Long>> producerInvestors = new TreeMap<>();
+        private final Map<Long, BigDecimal> producerAmounts = new HashMap<>();
+
+        void add(Long movieId, Long producerId, Long userId, BigDecimal amount, int sign) {
+            BigDecimal signedAmount = sign > 0 ? amount : amount.negate();
+            MovieDelta movie = movies.computeIfAbsent(movieId, id -> new MovieDelta());
+            movie.amount = movie.amount.add(signedAmount);
+            movie.count += sign;
+            producerInvestors.computeIfAbsent(producerId, id -> new TreeMap<>()).merge(userId, (long) sign, Long::sum);
+            producerAmounts.merge(producerId, signedAmount, BigDecimal::add);
+        }
+    }
+
+    public AggregateCheckDto verify() {
+        List<Long> movieIds = aggregateJdbcRepository.findMismatchedMovieIds(MISMATCH_REPORT_LIMIT);
+        List<Long> producerIds = aggregateJdbcRepository.findMismatchedProducerIds(MISMATCH_REPORT_LIMIT);
+        return new AggregateCheckDto(movieIds.isEmpty() && producerIds.isEmpty(), movieIds, producerIds, LocalDateTime.now());
+    }
+
+    // Compared in constant time; with no token configured the rebuild endpoint is off
+    public boolean isRebuildAllowed(String token) {
+        return !rebuildToken.isEmpty() && token != null
+                && MessageDigest.isEqual(rebuildToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recomputes all aggregate tables from the investments table and reports what was out of
+     * step beforehand. Investment writers wait on a table lock until the rebuild commits.
+     */
+    public AggregateRebuildDto rebuild() {
+        return transactionTemplate.execute(status -> {
+            aggregateJdbcRepository.lockRebuild();
+            return rebuildLocked();
+        });
+    }
+
+    // First start after the tables are added: fill them from the existing investments. Instances
+    // starting together queue on the rebuild lock, and all but the first then find the tables filled.
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        transactionTemplate.executeWithoutResult(status -> {
+            aggregateJdbcRepository.lockRebuild();
+            if (aggregateJdbcRepository.isEmpty() && aggregateJdbcRepository.hasConfirmedInvestments()) {
+                log.info("Funding aggregate tables are empty; rebuilding them from investments");
+                rebuildLocked();
+            }
+        });
+    }
+
+    private AggregateRebuildDto rebuildLocked() {
+        aggregateJdbcRepository.lockInvestmentsForRebuild();
+        AggregateCheckDto before = verify();
+        aggregateJdbcRepository.rebuildAll();
+        return AggregateRebuildDto.after(before);
+    }
+}
@@ -1,21 +1,44 @@
 package com.cinefund.fundingservice.service;
 
+import com.cinefund.fundingservice.dto.BulkReturnsResultDto;
+import com.cinefund.fundingservice.dto.BulkTransitionResultDto;
+import com.cinefund.fundingservice.dto.CursorPageDto;
+import com.cinefund.fundingservice.dto.InvestmentCursor;
 import com.cinefund.fundingservice.dto.InvestmentDto;
 import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import com.cinefund.fundingservice.dto.MovieCollectionResultDto;
+import com.cinefund.fundingservice.dto.MoviePayoutResultDto;
+import com.cinefund.fundingservice.dto.MovieReturnsResultDto;
+import com.cinefund.fundingservice.dto.PayoutResultDto;
+import com.cinefund.fundingservice.dto.ProducerMovieView;
+import com.cinefund.fundingservice.dto.ReturnSummaryDto;
 import com.cinefund.fundingservice.entity.Investment;
 import com.cinefund.fundingservice.entity.Transaction;
 import com.cinefund.fundingservice.repository.InvestmentRepository;
+import com.cinefund.fundingservice.repository.InvestmentTransitionJdbcRepository;
+import com.cinefund.fundingservice.repository.InvestmentTransitionRow;
+import com.cinefund.fundingservice.repository.PayoutLine;
 import com.cinefund.fundingservice.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "cinefund.service", histogram = true)
 public class FundingService {
 
     @Autowired
@@ -24,12 +47,160 @@ public class FundingService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private BulkPayoutService bulkPayoutService;
+
+    @Autowired
+    private StreamingPayoutService streamingPayoutService;
+
+    @Autowired
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Autowired
+    private FundingAggregateService fundingAggregateService;
+
+    @Autowired
+    private InvestmentTransitionJdbcRepository investmentTransitionJdbcRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionLedger transactionLedger;
+
+    @Autowired
+    private PayoutMetrics payoutMetrics;
+
+    @Autowired
+    @Qualifier("payoutExecutor")
+    private Executor payoutExecutor;
+
+    @Value("${funding.payout.mode:bulk}")
+    private String payoutMode;
+
+    @Value("${funding.bulk.max-transaction-ids:10000}")
+    private int bulkMaxTransactionIds;
+
+    @Value("${funding.pagination.default-page-size:100}")
+    private int defaultPageSize;
+
+    @Value("${funding.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    // Newest-first pages start below this date; investment_date is never null
+    private static final LocalDateTime FIRST_PAGE_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    // Followed by the movie title
+    private static final String CONFIRMED_DESCRIPTION = "Investment in movie: ";
+    private static final String CANCELLED_DESCRIPTION = "Investment cancelled for movie: ";
+
+    /**
+     * Creates the investment at most once per idempotency key. A retry with the same key and
+     * body gets the original response back; the key is claimed in the same transaction as the
+     * insert, so a concurrent retry waits for the first attempt and then replays it.
+     */
+    @Transactional
+    public InvestmentResponseDto createInvestment(InvestmentDto investmentDto, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createInvestment(investmentDto);
+        }
+        String requestHash = idempotencyService.hash(investmentDto);
+        InvestmentResponseDto replay = idempotencyService.findReplay(idempotencyKey, requestHash);
+        if (replay != null) {
+            return replay;
+        }
+
+        if (!idempotencyService.claim(idempotencyKey, requestHash)) {
+            replay = idempotencyService.findReplay(idempotencyKey, requestHash);
+            if (replay == null) {
+                throw new IllegalStateException("Request with Idempotency-Key '" + idempotencyKey + "' is still being processed");
+            }
+            return replay;
+        }
+
+        InvestmentResponseDto response = createInvestment(investmentDto);
+        idempotencyService.complete(idempotencyKey, requestHash, response);
+        return response;
+    }
+
     @Transactional
     public InvestmentResponseDto createInvestment(InvestmentDto investmentDto) {
         // Generate unique transaction ID
-        String transactionId = "TXN_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+        String transactionId = transactionIdGenerator.nextInvestmentId();
 
-        // Create investment record
+        Investment savedInvestment = investmentRepository.save(newInvestment(investmentDto, transactionId));
+        transactionLedger.record(newInvestmentTransaction(investmentDto, transactionId));
+
+        return new InvestmentResponseDto(savedInvestment);
+    }
+
+    /**
+     * Creates several investments in one database transaction, returning the responses in
+     * request order. Used by the group-commit stage; all of them commit or none do.
+     */
+    @Transactional
+    public List<InvestmentResponseDto> createInvestments(List<InvestmentDto> investmentDtos) {
+        return createInvestments(investmentDtos, Collections.nCopies(investmentDtos.size(), null));
+    }
+
+    /**
+     * As {@link #createInvestments(List)}, with an optional idempotency key per request. Keys
+     * are claimed in the same transaction as the inserts, so a key that was already used gets
+     * its original response back instead of a new investment. A key used twice in one batch
+     * fails the batch; the group-commit stage then retries each request on its own.
+     */
+    @Transactional
+    public List<InvestmentResponseDto> createInvestments(List<InvestmentDto> investmentDtos, List<String> idempotencyKeys) {
+        InvestmentResponseDto[] responses = new InvestmentResponseDto[investmentDtos.size()];
+        String[] requestHashes = new String[investmentDtos.size()];
+        Set<String> batchKeys = new HashSet<>();
+        List<Integer> toCreate = new ArrayList<>(investmentDtos.size());
+        for (int i = 0; i < investmentDtos.size(); i++) {
+            String idempotencyKey = idempotencyKeys.get(i);
+            if (idempotencyKey == null || idempotencyKey.isBlank()) {
+                toCreate.add(i);
+                continue;
+            }
+            if (!batchKeys.add(idempotencyKey)) {
+                throw new IllegalStateException("Idempotency-Key '" + idempotencyKey + "' was sent twice in one batch");
+            }
+            requestHashes[i] = idempotencyService.hash(investmentDtos.get(i));
+            InvestmentResponseDto replay = idempotencyService.findReplay(idempotencyKey, requestHashes[i]);
+            if (replay == null && idempotencyService.claim(idempotencyKey, requestHashes[i])) {
+                toCreate.add(i);
+                continue;
+            }
+            if (replay == null) {
+                replay = idempotencyService.findReplay(idempotencyKey, requestHashes[i]);
+                if (replay == null) {
+                    throw new IllegalStateException("Request with Idempotency-Key '" + idempotencyKey + "' is still being processed");
+                }
+            }
+            responses[i] = replay;
+        }
+
+        List<Investment> investments = new ArrayList<>(toCreate.size());
+        List<Transaction> transactions = new ArrayList<>(toCreate.size());
+        for (int i : toCreate) {
+            String transactionId = transactionIdGenerator.nextInvestmentId();
+            investments.add(newInvestment(investmentDtos.get(i), transactionId));
+            transactions.add(newInvestmentTransaction(investmentDtos.get(i), transactionId));
+        }
+
+        List<Investment> savedInvestments = investmentRepository.saveAll(investments);
+        transactionLedger.recordAll(transactions);
+
+        for (int n = 0; n < toCreate.size(); n++) {
+            int i = toCreate.get(n);
+            responses[i] = new InvestmentResponseDto(savedInvestments.get(n));
+            if (requestHashes[i] != null) {
+                idempotencyService.complete(idempotencyKeys.get(i), requestHashes[i], responses[i]);
+            }
+        }
+        return Arrays.asList(responses);
+    }
+
+    private Investment newInvestment(InvestmentDto investmentDto, String transactionId) {
         Investment investment = new Investment();
         investment.setUserId(investmentDto.getUserId());
         investment.setMovieId(investmentDto.getMovieId());
@@ -50,10 +221,10 @@ public class FundingService {
         
         investment.setInvestmentDate(LocalDateTime.now());
         investment.setStatus(Investment.InvestmentStatus.PENDING);
+        return investment;
+    }
 
-        Investment savedInvestment = investmentRepository.save(investment);
-
-        // Create transaction record
+    private Transaction newInvestmentTransaction(InvestmentDto investmentDto, String transactionId) {
         Transaction transaction = new Transaction();
         transaction.setTransactionId(transactionId);
         transaction.setUserId(investmentDto.getUserId());
@@ -62,30 +233,46 @@ public class FundingService {
         transaction.setAmount(investmentDto.getAmount());
         transaction.setType(Transaction.TransactionType.INVESTMENT);
         transaction.setPaymentMethod(investmentDto.getPaymentMethod());
-        transaction.setDescription("Investment in movie: " + investmentDto.getMovieTitle());
+        transaction.setDescription(CONFIRMED_DESCRIPTION + investmentDto.getMovieTitle());
         transaction.setStatus(Transaction.TransactionStatus.PENDING);
-
-        transactionRepository.save(transaction);
-
-        return new InvestmentResponseDto(savedInvestment);
+        return transaction;
     }
 
+    /**
+     * Confirms one pending investment, under the same rules as {@link #confirmInvestments}: a
+     * confirmed investment is returned unchanged, any other status is refused.
+     */
     @Transactional
     public InvestmentResponseDto confirmInvestment(String transactionId) {
-        Investment investment = investmentRepository.findByTransactionId(transactionId)
+        Investment investment = investmentRepository.findByTransactionIdForUpdate(transactionId)
                 .orElseThrow(() -> new RuntimeException("Investment not found"));
+        if (investment.getStatus() == Investment.InvestmentStatus.CONFIRMED) {
+            return new InvestmentResponseDto(investment);
+        }
+        if (investment.getStatus() != Investment.InvestmentStatus.PENDING) {
+            throw new IllegalStateException("Cannot confirm an investment in status " + investment.getStatus());
+        }
 
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+        transactionLedger.ensureFlushed(List.of(transactionId));
+        Transaction transaction = transactionRepository.findByTransactionId(transactionId).orElse(null);
 
         // Update investment status
+        Investment.InvestmentStatus previousStatus = investment.getStatus();
         investment.setStatus(Investment.InvestmentStatus.CONFIRMED);
         Investment confirmedInvestment = investmentRepository.save(investment);
+        investmentTransitionJdbcRepository.confirmInvestments(List.of(transactionId), LocalDateTime.now());
+        fundingAggregateService.statusChanged(confirmedInvestment, previousStatus);
 
         // Update transaction status
-        transaction.setStatus(Transaction.TransactionStatus.SUCCESS);
-        transaction.setCompletedAt(LocalDateTime.now());
-        transactionRepository.save(transaction);
+        if (transaction != null) {
+            transaction.setStatus(Transaction.TransactionStatus.SUCCESS);
+            transaction.setCompletedAt(LocalDateTime.now());
+            transactionRepository.save(transaction);
+        } else {
+            // Still in the journal of the instance that took the investment
+            investmentTransitionJdbcRepository.upsertTransactionOutcomes(List.of(transactionId),
+                    Transaction.TransactionStatus.SUCCESS.name(), null, CONFIRMED_DESCRIPTION, LocalDateTime.now());
+        }
 
         return new InvestmentResponseDto(confirmedInvestment);
     }
@@ -93,7 +280,7 @@ public class FundingService {
     @Transactional
     public void cancelInvestment(String transactionId, String reason) {
         // Check if investment exists
-        Investment investment = investmentRepository.findByTransactionId(transactionId)
+        Investment investment = investmentRepository.findByTransactionIdForUpdate(transactionId)
                 .orElseThrow(() -> new IllegalArgumentException("Investment with transaction ID '" + transactionId + "' not found"));
 
         // Check if investment can be cancelled
@@ -105,10 +292,13 @@ public class FundingService {
         }
 
         // Update investment status
+        Investment.InvestmentStatus previousStatus = investment.getStatus();
         investment.setStatus(Investment.InvestmentStatus.CANCELLED);
         investmentRepository.save(investment);
+        fundingAggregateService.statusChanged(investment, previousStatus);
 
         // Update transaction status if exists, create if doesn't exist
+        transactionLedger.ensureFlushed(List.of(transactionId));
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
                 .orElse(null);
         
@@ -119,61 +309,205 @@ public class FundingService {
             transaction.setCompletedAt(LocalDateTime.now());
             transactionRepository.save(transaction);
         } else {
-            // Create new transaction record for cancellation
-            Transaction newTransaction = new Transaction();
-            newTransaction.setTransactionId(transactionId);
-            newTransaction.setUserId(investment.getUserId());
-            newTransaction.setMovieId(investment.getMovieId());
-            newTransaction.setProducerId(investment.getProducerId());
-            newTransaction.setAmount(investment.getAmount());
-            newTransaction.setType(Transaction.TransactionType.INVESTMENT);
-            newTransaction.setStatus(Transaction.TransactionStatus.CANCELLED);
-            newTransaction.setFailureReason(reason != null ? reason : "Cancelled by user");
-            newTransaction.setDescription("Investment cancelled for movie: " + investment.getMovieTitle());
-            newTransaction.setCompletedAt(LocalDateTime.now());
-            transactionRepository.save(newTransaction);
+            // Not written yet, or still in the journal of the instance that took the investment
+            investmentTransitionJdbcRepository.upsertTransactionOutcomes(List.of(transactionId),
+                    Transaction.TransactionStatus.CANCELLED.name(), reason != null ? reason : "Cancelled by user",
+                    CANCELLED_DESCRIPTION, LocalDateTime.now());
         }
     }
 
+    /**
+     * Confirms a batch of pending investments with a handful of set-based statements. Ids
+     * that cannot be confirmed get their own outcome instead of failing the batch.
+     */
+    @Transactional
+    public List<BulkTransitionResultDto> confirmInvestments(List<String> transactionIds) {
+        Map<String, InvestmentTransitionRow> rows = lockForBulkTransition(transactionIds);
+        List<InvestmentTransitionRow> confirmable = new ArrayList<>();
+        List<String> withoutTransaction = new ArrayList<>();
+        Map<String, BulkTransitionResultDto> outcomes = new HashMap<>();
+
+        for (InvestmentTransitionRow row : rows.values()) {
+            BulkTransitionResultDto.Outcome outcome;
+            if (row.getStatus().equals(Investment.InvestmentStatus.CONFIRMED.name())) {
+                outcome = BulkTransitionResultDto.Outcome.ALREADY_CONFIRMED;
+            } else if (!row.getStatus().equals(Investment.InvestmentStatus.PENDING.name())) {
+                outcome = BulkTransitionResultDto.Outcome.WRONG_STATE;
+            } else {
+                confirmable.add(row);
+                if (!row.isHasTransaction()) {
+                    withoutTransaction.add(row.getTransactionId());
+                }
+                outcome = BulkTransitionResultDto.Outcome.CONFIRMED;
+            }
+            String status = outcome == BulkTransitionResultDto.Outcome.CONFIRMED ? Investment.InvestmentStatus.CONFIRMED.name() : row.getStatus();
+            outcomes.put(row.getTransactionId(), new BulkTransitionResultDto(row.getTransactionId(), outcome, status));
+        }
+
+        if (!confirmable.isEmpty()) {
+            List<String> ids = confirmable.stream().map(InvestmentTransitionRow::getTransactionId).collect(Collectors.toList());
+            LocalDateTime now = LocalDateTime.now();
+            investmentTransitionJdbcRepository.confirmInvestments(ids, now);
+            investmentTransitionJdbcRepository.completeTransactions(ids, Transaction.TransactionStatus.SUCCESS.name(), null, now);
+            investmentTransitionJdbcRepository.upsertTransactionOutcomes(withoutTransaction,
+                    Transaction.TransactionStatus.SUCCESS.name(), null, CONFIRMED_DESCRIPTION, now);
+            fundingAggregateService.investmentsConfirmed(confirmable);
+        }
+        return collectBulkOutcomes(transactionIds, outcomes);
+    }
+
+    /**
+     * Cancels a batch of investments under the same rules as {@link #cancelInvestment}.
+     */
+    @Transactional
+    public List<BulkTransitionResultDto> cancelInvestments(List<String> transactionIds, String reason) {
+        Map<String, InvestmentTransitionRow> rows = lockForBulkTransition(transactionIds);
+        List<String> cancellable = new ArrayList<>();
+        List<String> withoutTransaction = new ArrayList<>();
+        Map<String, BulkTransitionResultDto> outcomes = new HashMap<>();
+
+        for (InvestmentTransitionRow row : rows.values()) {
+            BulkTransitionResultDto.Outcome outcome;
+            if (row.getStatus().equals(Investment.InvestmentStatus.CANCELLED.name())) {
+                outcome = BulkTransitionResultDto.Outcome.ALREADY_CANCELLED;
+            } else if (row.getStatus().equals(Investment.InvestmentStatus.CONFIRMED.name())) {
+                outcome = BulkTransitionResultDto.Outcome.WRONG_STATE;
+            } else {
+                cancellable.add(row.getTransactionId());
+                if (!row.isHasTransaction()) {
+                    withoutTransaction.add(row.getTransactionId());
+                }
+                outcome = BulkTransitionResultDto.Outcome.CANCELLED;
+            }
+            String status = outcome == BulkTransitionResultDto.Outcome.CANCELLED ? Investment.InvestmentStatus.CANCELLED.name() : row.getStatus();
+            outcomes.put(row.getTransactionId(), new BulkTransitionResultDto(row.getTransactionId(), outcome, status));
+        }
+
+        if (!cancellable.isEmpty()) {
+            String failureReason = reason != null ? reason : "Cancelled by user";
+            LocalDateTime now = LocalDateTime.now();
+            investmentTransitionJdbcRepository.updateInvestmentStatus(cancellable, Investment.InvestmentStatus.CANCELLED.name(), now);
+            investmentTransitionJdbcRepository.completeTransactions(cancellable, Transaction.TransactionStatus.CANCELLED.name(), failureReason, now);
+            investmentTransitionJdbcRepository.upsertTransactionOutcomes(withoutTransaction,
+                    Transaction.TransactionStatus.CANCELLED.name(), failureReason, CANCELLED_DESCRIPTION, now);
+        }
+        return collectBulkOutcomes(transactionIds, outcomes);
+    }
+
+    private Map<String, InvestmentTransitionRow> lockForBulkTransition(List<String> transactionIds) {
+        if (transactionIds.size() > bulkMaxTransactionIds) {
+            throw new IllegalArgumentException("At most " + bulkMaxTransactionIds + " transaction IDs per request");
+        }
+        Set<String> distinctIds = new LinkedHashSet<>(transactionIds);
+        distinctIds.remove(null);
+        transactionLedger.ensureFlushed(distinctIds);
+        Map<String, InvestmentTransitionRow> rows = new HashMap<>();
+        for (InvestmentTransitionRow row : investmentTransitionJdbcRepository.lockByTransactionIds(distinctIds)) {
+            rows.put(row.getTransactionId(), row);
+        }
+        return rows;
+    }
+
+    // One result per requested id, in request order; ids not in the database are NOT_FOUND
+    private List<BulkTransitionResultDto> collectBulkOutcomes(List<String> transactionIds, Map<String, BulkTransitionResultDto> outcomes) {
+        List<BulkTransitionResultDto> results = new ArrayList<>(transactionIds.size());
+        Set<String> seen = new HashSet<>();
+        for (String transactionId : transactionIds) {
+            if (!seen.add(transactionId)) {
+                results.add(new BulkTransitionResultDto(transactionId, BulkTransitionResultDto.Outcome.DUPLICATE, null));
+                continue;
+            }
+            BulkTransitionResultDto outcome = outcomes.get(transactionId);
+            results.add(outcome != null ? outcome
+                    : new BulkTransitionResultDto(transactionId, BulkTransitionResultDto.Outcome.NOT_FOUND, null));
+        }
+        return results;
+    }
+
+    // Reads below project straight into DTOs; readOnly also skips the flush and dirty checking at commit
+    @Transactional(readOnly = true)
     public InvestmentResponseDto getInvestmentById(Long id) {
-        Investment investment = investmentRepository.findById(id)
+        return investmentRepository.findResponseById(id)
                 .orElseThrow(() -> new RuntimeException("Investment not found"));
-        return new InvestmentResponseDto(investment);
     }
 
+    @Transactional(readOnly = true)
     public InvestmentResponseDto getInvestmentByTransactionId(String transactionId) {
-        Investment investment = investmentRepository.findByTransactionId(transactionId)
+        return investmentRepository.findResponseByTransactionId(transactionId)
                 .orElseThrow(() -> new RuntimeException("Investment not found"));
-        return new InvestmentResponseDto(investment);
     }
 
-    public List<InvestmentResponseDto> getInvestmentsByUser(Long userId) {
-        return investmentRepository.findByUserId(userId).stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvestmentResponseDto> getInvestmentsByProducer(Long producerId) {
+        return investmentRepository.findResponsesByProducer(producerId);
     }
 
-    public List<InvestmentResponseDto> getInvestmentsByMovie(Long movieId) {
-        return investmentRepository.findByMovieId(movieId).stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDto<InvestmentResponseDto> getInvestmentsByUser(Long userId, String cursor, Integer limit, String sort) {
+        return findPage(cursor, limit, sort,
+                (afterId, page) -> investmentRepository.findPageByUser(userId, afterId, page),
+                (beforeDate, beforeId, page) -> investmentRepository.findPageByUserByDate(userId, beforeDate, beforeId, page));
     }
 
-    public List<InvestmentResponseDto> getInvestmentsByProducer(Long producerId) {
-        return investmentRepository.findByProducerId(producerId).stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDto<InvestmentResponseDto> getInvestmentsByMovie(Long movieId, String cursor, Integer limit, String sort) {
+        return findPage(cursor, limit, sort,
+                (afterId, page) -> investmentRepository.findPageByMovie(movieId, afterId, page),
+                (beforeDate, beforeId, page) -> investmentRepository.findPageByMovieByDate(movieId, beforeDate, beforeId, page));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<InvestmentResponseDto> getInvestmentsByProducer(Long producerId, String cursor, Integer limit, String sort) {
+        return findPage(cursor, limit, sort,
+                (afterId, page) -> investmentRepository.findPageByProducer(producerId, afterId, page),
+                (beforeDate, beforeId, page) -> investmentRepository.findPageByProducerByDate(producerId, beforeDate, beforeId, page));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<InvestmentResponseDto> getUnpaidReturns(String cursor, Integer limit, String sort) {
+        return findPage(cursor, limit, sort,
+                investmentRepository::findUnpaidReturnsPage,
+                investmentRepository::findUnpaidReturnsPageByDate);
+    }
+
+    // Keyset page: each query seeks past the cursor's key, so deep pages cost the same as the first
+    private CursorPageDto<InvestmentResponseDto> findPage(String cursor, Integer limit, String sort,
+                                                          BiFunction<Long, Pageable, List<InvestmentResponseDto>> byId,
+                                                          DatePageQuery byDate) {
+        InvestmentCursor.SortKey sortKey = InvestmentCursor.parseSortKey(sort);
+        InvestmentCursor position = cursor == null || cursor.isBlank() ? null : InvestmentCursor.decode(cursor, sortKey);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        // One extra row tells whether another page follows
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+        List<InvestmentResponseDto> rows;
+        if (sortKey == InvestmentCursor.SortKey.ID) {
+            rows = byId.apply(position == null ? 0L : position.getLastId(), fetch);
+        } else {
+            rows = byDate.find(position == null ? FIRST_PAGE_DATE : position.getLastInvestmentDate(),
+                    position == null ? Long.MAX_VALUE : position.getLastId(), fetch);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            InvestmentResponseDto last = rows.get(pageSize - 1);
+            nextCursor = new InvestmentCursor(sortKey, last.getId(), last.getInvestmentDate()).encode();
+        }
+        return new CursorPageDto<>(rows, nextCursor);
+    }
+
+    private interface DatePageQuery {
+        List<InvestmentResponseDto> find(LocalDateTime beforeDate, Long beforeId, Pageable page);
     }
 
+    @Transactional(readOnly = true)
     public List<InvestmentResponseDto> getConfirmedInvestmentsByMovie(Long movieId) {
-        return investmentRepository.findConfirmedInvestmentsByMovie(movieId).stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+        return investmentRepository.findConfirmedInvestmentsByMovie(movieId);
     }
 
     public BigDecimal getTotalInvestmentByMovie(Long movieId) {
-        BigDecimal total = investmentRepository.getTotalInvestmentByMovie(movieId);
-        return total != null ? total : BigDecimal.ZERO;
+        return fundingAggregateService.getTotalInvestmentByMovie(movieId);
     }
 
     public BigDecimal getTotalInvestmentByUser(Long userId) {
@@ -182,79 +516,48 @@ public class FundingService {
     }
 
     public Long getInvestorCountByMovie(Long movieId) {
-        return investmentRepository.getInvestorCountByMovie(movieId);
+        return fundingAggregateService.getInvestorCountByMovie(movieId);
     }
 
     public List<Long> getMovieIdsInvestedByUser(Long userId) {
         return investmentRepository.getMovieIdsInvestedByUser(userId);
     }
 
-    @Transactional
-    public void processReturns(Long movieId, BigDecimal totalRevenue) {
-        List<Investment> investments = investmentRepository.findUnpaidReturnsByMovie(movieId);
-        
-        BigDecimal totalInvestment = getTotalInvestmentByMovie(movieId);
-        if (totalInvestment.compareTo(BigDecimal.ZERO) == 0) {
-            throw new RuntimeException("No investments found for this movie");
-        }
+    public PayoutResultDto processReturns(Long movieId, BigDecimal totalRevenue) {
+        return processReturns(movieId, totalRevenue, PayoutProgressListener.NONE);
+    }
 
-        for (Investment investment : investments) {
-            // Calculate proportional return
-            BigDecimal investmentRatio = investment.getAmount().divide(totalInvestment, 6, BigDecimal.ROUND_HALF_UP);
-            BigDecimal returnAmount = totalRevenue.multiply(investmentRatio);
-            
-            // Update investment with return amount and status
-            investment.setActualReturnAmount(returnAmount);
-            investment.setReturnPaid(true);
-            investment.setReturnPaymentDate(LocalDateTime.now());
-            investment.setStatus(Investment.InvestmentStatus.RETURN_PAID);
-            investmentRepository.save(investment);
-
-            // Create payout transaction
-            String payoutTransactionId = "PAYOUT_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
-            Transaction payoutTransaction = new Transaction();
-            payoutTransaction.setTransactionId(payoutTransactionId);
-            payoutTransaction.setUserId(investment.getUserId());
-            payoutTransaction.setMovieId(movieId);
-            payoutTransaction.setProducerId(investment.getProducerId());
-            payoutTransaction.setAmount(returnAmount);
-            payoutTransaction.setType(Transaction.TransactionType.PAYOUT);
-            payoutTransaction.setStatus(Transaction.TransactionStatus.SUCCESS);
-            payoutTransaction.setDescription("Return payment for movie: " + investment.getMovieTitle());
-            payoutTransaction.setCompletedAt(LocalDateTime.now());
-            transactionRepository.save(payoutTransaction);
+    public PayoutResultDto processReturns(Long movieId, BigDecimal totalRevenue, PayoutProgressListener listener) {
+        if ("streaming".equalsIgnoreCase(payoutMode)) {
+            return streamingPayoutService.processReturns(movieId, totalRevenue, listener);
         }
+        return bulkPayoutService.processReturns(movieId, totalRevenue, listener);
     }
 
-    public List<InvestmentResponseDto> getUnpaidReturns() {
-        return investmentRepository.findUnpaidReturns().stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+    public long countUnpaidReturnsByMovie(Long movieId) {
+        return investmentRepository.countUnpaidReturnsByMovie(movieId);
     }
 
+    @Transactional(readOnly = true)
     public List<InvestmentResponseDto> getUnpaidReturnsByMovie(Long movieId) {
-        return investmentRepository.findUnpaidReturnsByMovie(movieId).stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+        return investmentRepository.findUnpaidReturnsByMovie(movieId);
     }
 
     public BigDecimal getTotalInvestmentByProducer(Long producerId) {
-        BigDecimal total = investmentRepository.getTotalInvestmentByProducer(producerId);
-        return total != null ? total : BigDecimal.ZERO;
+        return fundingAggregateService.getTotalInvestmentByProducer(producerId);
     }
 
     public Long getUniqueInvestorCountByProducer(Long producerId) {
-        return investmentRepository.getUniqueInvestorCountByProducer(producerId);
+        return fundingAggregateService.getUniqueInvestorCountByProducer(producerId);
     }
 
+    @Transactional(readOnly = true)
     public List<InvestmentResponseDto> getInvestmentsByProducerAndMovie(Long producerId, Long movieId) {
-        return investmentRepository.findByProducerIdAndMovieId(producerId, movieId).stream()
-                .map(InvestmentResponseDto::new)
-                .collect(Collectors.toList());
+        return investmentRepository.findResponsesByProducerAndMovie(producerId, movieId);
     }
 
     @Transactional
-    public Map<String, Object> updateMovieCollectionAndDistributeReturns(Long producerId, Long movieId, BigDecimal collectionAmount, LocalDate collectionDate, String notes, Boolean autoDistribute) {
+    public MovieCollectionResultDto updateMovieCollectionAndDistributeReturns(Long producerId, Long movieId, BigDecimal collectionAmount, LocalDate collectionDate, String notes, Boolean autoDistribute) {
         // Get all confirmed investments for this movie
         List<Investment> investments = investmentRepository.findByMovieIdAndStatus(movieId, Investment.InvestmentStatus.CONFIRMED);
         
@@ -270,24 +573,26 @@ public class FundingService {
         // Check if there's profit (collection > total investment)
         BigDecimal profit = collectionAmount.subtract(totalInvestment);
         
-        Map<String, Object> result = new HashMap<>();
-        result.put("movieId", movieId);
-        result.put("producerId", producerId);
-        result.put("collectionAmount", collectionAmount);
-        result.put("totalInvestment", totalInvestment);
-        result.put("profit", profit);
-        result.put("collectionDate", collectionDate);
-        result.put("notes", notes);
+        boolean returnsDistributed = false;
+        Integer processed = null;
+        String message;
         
         if (profit.compareTo(BigDecimal.ZERO) > 0 && autoDistribute) {
             // There's profit, distribute returns proportionally
             int investmentsProcessed = 0;
             
-            for (Investment investment : investments) {
-                // Calculate investor's share of profit based on their investment proportion
-                BigDecimal investmentRatio = investment.getAmount().divide(totalInvestment, 6, BigDecimal.ROUND_HALF_UP);
-                BigDecimal investorProfit = profit.multiply(investmentRatio);
-                BigDecimal totalReturn = investment.getAmount().add(investorProfit);
+            // Split the profit in cents so the investors' shares add up to exactly the profit
+            long[] weights = new long[investments.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = PayoutAllocator.toMinorUnits(investments.get(i).getAmount());
+            }
+            long[] profitShares = PayoutAllocator.allocate(weights, PayoutAllocator.toMinorUnits(profit));
+            List<PayoutLine> paid = new ArrayList<>(investments.size());
+            BigDecimal amountDistributed = BigDecimal.ZERO;
+            
+            for (int i = 0; i < investments.size(); i++) {
+                Investment investment = investments.get(i);
+                BigDecimal totalReturn = investment.getAmount().add(PayoutAllocator.fromMinorUnits(profitShares[i]));
                 
                 // Update investment with return amount and status
                 investment.setActualReturnAmount(totalReturn);
@@ -297,7 +602,7 @@ public class FundingService {
                 investmentRepository.save(investment);
                 
                 // Create payout transaction
-                String payoutTransactionId = "PAYOUT_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase();
+                String payoutTransactionId = transactionIdGenerator.nextPayoutId();
                 Transaction payoutTransaction = new Transaction();
                 payoutTransaction.setTransactionId(payoutTransactionId);
                 payoutTransaction.setUserId(investment.getUserId());
@@ -305,29 +610,31 @@ public class FundingService {
                 payoutTransaction.setProducerId(producerId);
                 payoutTransaction.setAmount(totalReturn);
                 payoutTransaction.setType(Transaction.TransactionType.PAYOUT);
-                payoutTransaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-                payoutTransaction.setTransactionDate(LocalDateTime.now());
-                transactionRepository.save(payoutTransaction);
+                payoutTransaction.setStatus(Transaction.TransactionStatus.SUCCESS);
+                payoutTransaction.setCompletedAt(LocalDateTime.now());
+                transactionLedger.record(payoutTransaction);
                 
+                paid.add(new PayoutLine(investment.getId(), investment.getUserId(), investment.getProducerId(), investment.getAmount(), investment.getMovieTitle()));
                 investmentsProcessed++;
+                amountDistributed = amountDistributed.add(totalReturn);
             }
+            fundingAggregateService.returnsPaid(movieId, paid);
+            payoutMetrics.paid(investmentsProcessed, amountDistributed);
             
-            result.put("returnsDistributed", true);
-            result.put("investmentsProcessed", investmentsProcessed);
-            result.put("message", "Collection updated and returns distributed successfully");
+            returnsDistributed = true;
+            processed = investmentsProcessed;
+            message = "Collection updated and returns distributed successfully";
         } else if (profit.compareTo(BigDecimal.ZERO) <= 0) {
-            result.put("returnsDistributed", false);
-            result.put("message", "Collection updated but no profit to distribute. Loss: " + profit.abs());
+            message = "Collection updated but no profit to distribute. Loss: " + profit.abs();
         } else {
-            result.put("returnsDistributed", false);
-            result.put("message", "Collection updated. Auto-distribution disabled.");
+            message = "Collection updated. Auto-distribution disabled.";
         }
         
-        result.put("processedAt", LocalDateTime.now());
-        return result;
+        return new MovieCollectionResultDto(movieId, producerId, collectionAmount, totalInvestment, profit, collectionDate,
+                notes, returnsDistributed, processed, message, LocalDateTime.now());
     }
 
-    public Map<String, Object> processReturnsForProducer(Long producerId, Long movieId, BigDecimal totalRevenue, String notes) {
+    public MovieReturnsResultDto processReturnsForProducer(Long producerId, Long movieId, BigDecimal totalRevenue, String notes) {
         // Verify producer owns this movie
         List<Investment> investments = investmentRepository.findByProducerIdAndMovieId(producerId, movieId);
         if (investments.isEmpty()) {
@@ -337,136 +644,80 @@ public class FundingService {
         // Process returns for this specific movie
         processReturns(movieId, totalRevenue);
 
-        // Prepare response data
-        Map<String, Object> result = new HashMap<>();
-        result.put("movieId", movieId);
-        result.put("producerId", producerId);
-        result.put("totalRevenue", totalRevenue);
-        result.put("investmentsProcessed", investments.size());
-        result.put("notes", notes);
-        result.put("processedAt", LocalDateTime.now());
-        
-        return result;
+        return new MovieReturnsResultDto(movieId, producerId, totalRevenue, investments.size(), notes, LocalDateTime.now());
     }
 
-    @Transactional
-    public Map<String, Object> processReturnsForAllProducerMovies(Long producerId, Map<String, Object> returnData) {
-        List<Investment> allInvestments = investmentRepository.findByProducerId(producerId);
-        if (allInvestments.isEmpty()) {
+    public BulkReturnsResultDto processReturnsForAllProducerMovies(Long producerId, Map<String, Object> returnData) {
+        return processReturnsForAllProducerMovies(producerId, returnData, PayoutProgressListener.NONE);
+    }
+
+    public BulkReturnsResultDto processReturnsForAllProducerMovies(Long producerId, Map<String, Object> returnData, PayoutProgressListener listener) {
+        long startNanos = System.nanoTime();
+        if (!investmentRepository.existsByProducerId(producerId)) {
             throw new RuntimeException("No investments found for producer " + producerId);
         }
 
-        // Group investments by movie
-        Map<Long, List<Investment>> investmentsByMovie = allInvestments.stream()
-                .collect(Collectors.groupingBy(Investment::getMovieId));
+        // Only movies this producer actually has investments in are paid
+        Map<Long, BigDecimal> revenueByMovie = parseMovieRevenues(returnData);
+        List<ProducerMovieView> movies = revenueByMovie.isEmpty()
+                ? new ArrayList<>()
+                : investmentRepository.findProducerMovies(producerId, revenueByMovie.keySet());
+
+        // Fan out one task per movie on the bounded payout pool; each movie commits on its own
+        List<CompletableFuture<MoviePayoutResultDto>> futures = new ArrayList<>();
+        for (ProducerMovieView movie : movies) {
+            BigDecimal movieRevenue = revenueByMovie.get(movie.getMovieId());
+            futures.add(CompletableFuture.supplyAsync(() -> processMovieReturns(movie, movieRevenue, listener), payoutExecutor));
+        }
 
-        Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> processedMovies = new ArrayList<>();
+        List<MoviePayoutResultDto> processedMovies = new ArrayList<>();
+        List<MoviePayoutResultDto> failedMovies = new ArrayList<>();
         BigDecimal totalRevenueProcessed = BigDecimal.ZERO;
-        int totalInvestmentsProcessed = 0;
+        long totalInvestmentsProcessed = 0;
 
-        // Process returns for each movie
-        for (Map.Entry<Long, List<Investment>> entry : investmentsByMovie.entrySet()) {
-            Long movieId = entry.getKey();
-            List<Investment> movieInvestments = entry.getValue();
-            
-            // Get revenue for this movie from returnData
-            String movieKey = "movie_" + movieId;
-            if (returnData.containsKey(movieKey)) {
-                BigDecimal movieRevenue = new BigDecimal(returnData.get(movieKey).toString());
-                
-                // Process returns for this movie
-                processReturns(movieId, movieRevenue);
-                
-                Map<String, Object> movieResult = new HashMap<>();
-                movieResult.put("movieId", movieId);
-                movieResult.put("revenue", movieRevenue);
-                movieResult.put("investmentsProcessed", movieInvestments.size());
-                movieResult.put("movieTitle", movieInvestments.get(0).getMovieTitle());
+        for (CompletableFuture<MoviePayoutResultDto> future : futures) {
+            MoviePayoutResultDto movieResult = future.join();
+            if (movieResult.success()) {
                 processedMovies.add(movieResult);
-                
-                totalRevenueProcessed = totalRevenueProcessed.add(movieRevenue);
-                totalInvestmentsProcessed += movieInvestments.size();
+                totalRevenueProcessed = totalRevenueProcessed.add(movieResult.revenue());
+                totalInvestmentsProcessed += movieResult.investmentsProcessed();
+            } else {
+                failedMovies.add(movieResult);
             }
         }
 
-        result.put("producerId", producerId);
-        result.put("moviesProcessed", processedMovies);
-        result.put("totalMovies", processedMovies.size());
-        result.put("totalRevenueProcessed", totalRevenueProcessed);
-        result.put("totalInvestmentsProcessed", totalInvestmentsProcessed);
-        result.put("processedAt", LocalDateTime.now());
-        
-        return result;
+        return new BulkReturnsResultDto(producerId, processedMovies, failedMovies, processedMovies.size(), failedMovies.size(),
+                totalRevenueProcessed, totalInvestmentsProcessed, (System.nanoTime() - startNanos) / 1_000_000, LocalDateTime.now());
     }
 
-    public Map<String, Object> getReturnSummaryForProducer(Long producerId) {
-        List<Investment> allInvestments = investmentRepository.findByProducerId(producerId);
-        
-        if (allInvestments.isEmpty()) {
-            Map<String, Object> summary = new HashMap<>();
-            summary.put("producerId", producerId);
-            summary.put("totalInvestments", 0);
-            summary.put("totalInvestmentAmount", BigDecimal.ZERO);
-            summary.put("paidReturns", 0);
-            summary.put("unpaidReturns", 0);
-            summary.put("totalReturnsPaid", BigDecimal.ZERO);
-            summary.put("pendingReturns", BigDecimal.ZERO);
-            return summary;
+    private MoviePayoutResultDto processMovieReturns(ProducerMovieView movie, BigDecimal movieRevenue, PayoutProgressListener listener) {
+        long startNanos = System.nanoTime();
+        try {
+            PayoutResultDto payout = processReturns(movie.getMovieId(), movieRevenue, listener);
+            return MoviePayoutResultDto.paid(movie, movieRevenue, payout, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            return MoviePayoutResultDto.failed(movie, movieRevenue, e.getMessage(), (System.nanoTime() - startNanos) / 1_000_000);
         }
+    }
 
-        // Calculate summary statistics
-        long totalInvestments = allInvestments.size();
-        BigDecimal totalInvestmentAmount = allInvestments.stream()
-                .map(Investment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        long paidReturns = allInvestments.stream()
-                .mapToLong(inv -> inv.getReturnPaid() != null && inv.getReturnPaid() ? 1 : 0)
-                .sum();
-        
-        long unpaidReturns = totalInvestments - paidReturns;
-        
-        BigDecimal totalReturnsPaid = allInvestments.stream()
-                .filter(inv -> inv.getReturnPaid() != null && inv.getReturnPaid())
-                .map(inv -> inv.getActualReturnAmount() != null ? inv.getActualReturnAmount() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Group by movie for detailed breakdown
-        Map<Long, List<Investment>> investmentsByMovie = allInvestments.stream()
-                .collect(Collectors.groupingBy(Investment::getMovieId));
-        
-        List<Map<String, Object>> movieSummaries = new ArrayList<>();
-        for (Map.Entry<Long, List<Investment>> entry : investmentsByMovie.entrySet()) {
-            Long movieId = entry.getKey();
-            List<Investment> movieInvestments = entry.getValue();
-            
-            Map<String, Object> movieSummary = new HashMap<>();
-            movieSummary.put("movieId", movieId);
-            movieSummary.put("movieTitle", movieInvestments.get(0).getMovieTitle());
-            movieSummary.put("totalInvestments", movieInvestments.size());
-            movieSummary.put("totalAmount", movieInvestments.stream()
-                    .map(Investment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-            movieSummary.put("paidReturns", movieInvestments.stream()
-                    .mapToLong(inv -> inv.getReturnPaid() != null && inv.getReturnPaid() ? 1 : 0)
-                    .sum());
-            movieSummary.put("unpaidReturns", movieInvestments.size() - (long) movieSummary.get("paidReturns"));
-            
-            movieSummaries.add(movieSummary);
+    // Bulk return requests key each movie's revenue as "movie_<id>"
+    public static Map<Long, BigDecimal> parseMovieRevenues(Map<String, Object> returnData) {
+        Map<Long, BigDecimal> revenueByMovie = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : returnData.entrySet()) {
+            if (entry.getKey().startsWith("movie_")) {
+                Long movieId = Long.valueOf(entry.getKey().substring("movie_".length()));
+                revenueByMovie.put(movieId, new BigDecimal(entry.getValue().toString()));
+            }
         }
+        return revenueByMovie;
+    }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("producerId", producerId);
-        summary.put("producerName", allInvestments.get(0).getProducerName());
-        summary.put("totalInvestments", totalInvestments);
-        summary.put("totalInvestmentAmount", totalInvestmentAmount);
-        summary.put("paidReturns", paidReturns);
-        summary.put("unpaidReturns", unpaidReturns);
-        summary.put("totalReturnsPaid", totalReturnsPaid);
-        summary.put("movieBreakdown", movieSummaries);
-        summary.put("generatedAt", LocalDateTime.now());
-        
-        return summary;
+    public long countUnpaidReturnsByProducerMovies(Long producerId, Collection<Long> movieIds) {
+        return movieIds.isEmpty() ? 0 : investmentRepository.countUnpaidReturnsByProducerAndMovies(producerId, movieIds);
+    }
+
+    public ReturnSummaryDto getReturnSummaryForProducer(Long producerId) {
+        // One row per movie, counted and summed in the database
+        return ReturnSummaryDto.of(producerId, investmentRepository.summarizeReturnsByProducer(producerId));
     }
 }
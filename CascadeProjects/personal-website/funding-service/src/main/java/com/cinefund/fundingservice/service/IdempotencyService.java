@@ -0,0 +1,162 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import com.cinefund.fundingservice.entity.IdempotencyKey;
+import com.cinefund.fundingservice.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the response of every createInvestment call made with an Idempotency-Key, so a
+ * retried request gets the original investment back instead of creating another one. Recent
+ * keys are answered from a bounded in-memory LRU; the idempotency_keys table is the source
+ * of truth and is shared by all instances.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${funding.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    private final Map<String, CachedResponse> recent;
+
+    public IdempotencyService(@Value("${funding.idempotency.cache-size:10000}") int cacheSize) {
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Could not hash request: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The stored response for this key, or null if the key has not been used (or expired).
+     * Throws if the key was used for a different request.
+     */
+    public InvestmentResponseDto findReplay(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        CachedResponse cached;
+        synchronized (recent) {
+            cached = recent.get(key);
+        }
+        if (cached != null && cached.expiresAt.isAfter(now)) {
+            checkSameRequest(key, cached.requestHash, requestHash);
+            return cached.response;
+        }
+
+        IdempotencyKey stored = idempotencyKeyRepository.findById(key).orElse(null);
+        if (stored == null || !stored.getExpiresAt().isAfter(now) || stored.getResponsePayload() == null) {
+            return null;
+        }
+        checkSameRequest(key, stored.getRequestHash(), requestHash);
+        InvestmentResponseDto response = fromJson(stored.getResponsePayload());
+        remember(key, new CachedResponse(stored.getRequestHash(), response, stored.getExpiresAt()));
+        return response;
+    }
+
+    /**
+     * Takes ownership of the key inside the caller's transaction. False means another request
+     * with the same key has already committed; its response can then be read with findReplay.
+     */
+    public boolean claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyKeyRepository.claim(key, requestHash, now, now.plusHours(ttlHours)) == 1;
+    }
+
+    /**
+     * Stores the response in the caller's transaction; the in-memory entry is only added once
+     * that transaction has committed.
+     */
+    public void complete(String key, String requestHash, InvestmentResponseDto response) {
+        idempotencyKeyRepository.complete(key, response.getId(), toJson(response));
+        CachedResponse cached = new CachedResponse(requestHash, response, LocalDateTime.now().plusHours(ttlHours));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(key, cached);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${funding.idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private void remember(String key, CachedResponse cached) {
+        synchronized (recent) {
+            recent.put(key, cached);
+        }
+    }
+
+    private static void checkSameRequest(String key, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalStateException("Idempotency-Key '" + key + "' was already used for a different request");
+        }
+    }
+
+    private String toJson(InvestmentResponseDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize response: " + e.getMessage(), e);
+        }
+    }
+
+    private InvestmentResponseDto fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, InvestmentResponseDto.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not read stored response: " + e.getMessage(), e);
+        }
+    }
+
+    private static class CachedResponse {
+        private final String requestHash;
+        private final InvestmentResponseDto response;
+        private final LocalDateTime expiresAt;
+
+        CachedResponse(String requestHash, InvestmentResponseDto response, LocalDateTime expiresAt) {
+            this.requestHash = requestHash;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.InvestmentDto;
+import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit for createInvestment: concurrent requests are queued, and a single writer
+ * thread takes everything that arrives within {@code window-ms} of the first request (up to
+ * {@code max-batch-size}) and creates it in one database transaction. Each caller blocks on
+ * its own future and gets its own response or exception. Idempotency keys are claimed inside
+ * the batch transaction, so keyed requests are grouped too.
+ *
+ * <p>Batch sizes, queue waits, fallbacks and caller-runs are published as
+ * {@code cinefund.invest.group-commit.*} meters.
+ */
+@Service
+public class InvestmentGroupCommitService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvestmentGroupCommitService.class);
+
+    @Autowired
+    private FundingService fundingService;
+
+    @Value("${funding.invest.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${funding.invest.group-commit.window-ms:5}")
+    private long windowMs;
+
+    @Value("${funding.invest.group-commit.max-batch-size:200}")
+    private int maxBatchSize;
+
+    private final BlockingQueue<PendingInvestment> queue;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    private final DistributionSummary batchSize;
+    private final Timer queueWait;
+    private final Counter fallbackBatches;
+    private final Counter callerRuns;
+
+    public InvestmentGroupCommitService(@Value("${funding.invest.group-commit.queue-capacity:10000}") int queueCapacity,
+                                        MeterRegistry registry) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("cinefund.invest.group-commit.batch.size")
+                .description("Investments created per group-commit transaction")
+                .baseUnit("investments")
+                .register(registry);
+        this.queueWait = Timer.builder("cinefund.invest.group-commit.wait")
+                .description("Time a request waits in the queue before its batch is written")
+                .register(registry);
+        this.fallbackBatches = Counter.builder("cinefund.invest.group-commit.fallbacks")
+                .description("Batches that failed and were retried one investment at a time")
+                .register(registry);
+        this.callerRuns = Counter.builder("cinefund.invest.group-commit.caller-runs")
+                .description("Requests created on the request thread because the queue was full or stopped")
+                .register(registry);
+        Gauge.builder("cinefund.invest.group-commit.queued", queue, Collection::size)
+                .description("Requests waiting for the writer")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "investment-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public InvestmentResponseDto submit(InvestmentDto investmentDto, String idempotencyKey) {
+        PendingInvestment pending = new PendingInvestment(investmentDto, idempotencyKey);
+        if (!running || !queue.offer(pending)) {
+            // A full queue pushes work back onto the request thread instead of failing it
+            callerRuns.increment();
+            return fundingService.createInvestment(investmentDto, idempotencyKey);
+        }
+        try {
+            return pending.future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to create investment: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for investment to be created", e);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingInvestment> batch = new ArrayList<>(maxBatchSize);
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInvestment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // The window opens with the first request, so a lone request waits at most windowMs
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingInvestment next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingInvestment> batch) {
+        long startNanos = System.nanoTime();
+        for (PendingInvestment pending : batch) {
+            queueWait.record(startNanos - pending.enqueuedNanos, TimeUnit.NANOSECONDS);
+        }
+        batchSize.record(batch.size());
+
+        try {
+            List<InvestmentResponseDto> responses = fundingService.createInvestments(
+                    batch.stream().map(pending -> pending.investmentDto).collect(Collectors.toList()),
+                    batch.stream().map(pending -> pending.idempotencyKey).collect(Collectors.toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(responses.get(i));
+            }
+        } catch (RuntimeException e) {
+            // One bad request must not fail its neighbours: retry each on its own
+            log.warn("Group commit of {} investments failed, retrying individually: {}", batch.size(), e.getMessage());
+            fallbackBatches.increment();
+            for (PendingInvestment pending : batch) {
+                try {
+                    pending.future.complete(fundingService.createInvestment(pending.investmentDto, pending.idempotencyKey));
+                } catch (RuntimeException individual) {
+                    pending.future.completeExceptionally(individual);
+                }
+            }
+        }
+    }
+
+    private static class PendingInvestment {
+        private final InvestmentDto investmentDto;
+        private final String idempotencyKey;
+        private final CompletableFuture<InvestmentResponseDto> future = new CompletableFuture<>();
+        private final long enqueuedNanos = System.nanoTime();
+
+        PendingInvestment(InvestmentDto investmentDto, String idempotencyKey) {
+            this.investmentDto = investmentDto;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.LedgerExportFilter;
+import com.cinefund.fundingservice.repository.LedgerExportJdbcRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Writes the transaction ledger to an output stream as NDJSON or CSV, one row at a time
+ * from a database cursor. Memory use depends on the fetch size, not on the date range.
+ */
+@Service
+public class LedgerExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerExportService.class);
+
+    private static final String[] COLUMNS = {
+            "id", "transaction_id", "user_id", "movie_id", "producer_id", "amount", "type", "status",
+            "payment_method", "description", "created_at", "completed_at"
+    };
+
+    public enum Format { NDJSON, CSV }
+
+    // Flushing is done per chunk below, not per row
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+            .build();
+
+    @Autowired
+    private LedgerExportJdbcRepository ledgerExportJdbcRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${funding.export.flush-rows:1000}")
+    private int flushRows;
+
+    @Autowired
+    public LedgerExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public static Format parseFormat(String format) {
+        if (format == null || format.isBlank() || format.equalsIgnoreCase("ndjson")) {
+            return Format.NDJSON;
+        }
+        if (format.equalsIgnoreCase("csv")) {
+            return Format.CSV;
+        }
+        throw new IllegalArgumentException("Unsupported format '" + format + "'; use ndjson or csv");
+    }
+
+    public long export(LedgerExportFilter filter, Format format, OutputStream out) {
+        long startNanos = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long[] rows = new long[1];
+
+        try {
+            if (format == Format.CSV) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write('\n');
+            }
+            JsonGenerator json = format == Format.NDJSON ? JSON_FACTORY.createGenerator(writer) : null;
+            if (json != null) {
+                json.setRootValueSeparator(null);
+            }
+
+            // A single snapshot for the whole export, and the transaction the cursor needs
+            readOnlyTransaction.executeWithoutResult(status ->
+                    ledgerExportJdbcRepository.streamTransactions(filter, rs -> {
+                        try {
+                            if (json != null) {
+                                writeJson(json, rs);
+                                json.writeRaw('\n');
+                            } else {
+                                writeCsv(writer, rs);
+                            }
+                            if (++rows[0] % flushRows == 0) {
+                                flush(json, writer);
+                            }
+                        } catch (IOException e) {
+                            // Usually the client went away; stop reading instead of draining the cursor
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            flush(json, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Ledger export ({}): {} rows in {} ms", format, rows[0], (System.nanoTime() - startNanos) / 1_000_000);
+        return rows[0];
+    }
+
+    private static void flush(JsonGenerator json, Writer writer) throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private static void writeJson(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong("id"));
+        json.writeStringField("transactionId", rs.getString("transaction_id"));
+        json.writeNumberField("userId", rs.getLong("user_id"));
+        writeNullableLong(json, "movieId", rs, "movie_id");
+        writeNullableLong(json, "producerId", rs, "producer_id");
+        json.writeNumberField("amount", rs.getBigDecimal("amount"));
+        json.writeStringField("type", rs.getString("type"));
+        json.writeStringField("status", rs.getString("status"));
+        json.writeStringField("paymentMethod", rs.getString("payment_method"));
+        json.writeStringField("description", rs.getString("description"));
+        json.writeStringField("createdAt", isoTimestamp(rs.getTimestamp("created_at")));
+        json.writeStringField("completedAt", isoTimestamp(rs.getTimestamp("completed_at")));
+        json.writeEndObject();
+    }
+
+    private static void writeNullableLong(JsonGenerator json, String field, ResultSet rs, String column) throws IOException, SQLException {
+        long value = rs.getLong(column);
+        if (rs.wasNull()) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeCsv(Writer writer, ResultSet rs) throws IOException, SQLException {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = rs.getObject(COLUMNS[i]);
+            if (value instanceof Timestamp) {
+                writer.write(isoTimestamp((Timestamp) value));
+            } else if (value instanceof BigDecimal) {
+                writer.write(((BigDecimal) value).toPlainString());
+            } else if (value != null) {
+                writeCsvField(writer, value.toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String isoTimestamp(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+}
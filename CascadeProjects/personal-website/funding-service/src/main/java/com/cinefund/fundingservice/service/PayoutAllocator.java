@@ -0,0 +1,108 @@
+package com.cinefund.fundingservice.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Splits an amount of money across investors in proportion to what they invested. All
+ * arithmetic is on {@code long} minor units (cents) in primitive arrays, and the shares
+ * always add up to exactly the amount being split.
+ */
+public final class PayoutAllocator {
+
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    private PayoutAllocator() {}
+
+    /**
+     * Largest-remainder allocation: every weight gets the floor of its exact quota, and the
+     * cents left over go one each to the largest remainders, lower index first on ties.
+     */
+    public static long[] allocate(long[] weights, long amount) {
+        int n = weights.length;
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount to allocate must not be negative");
+        }
+        long[] shares = new long[n];
+        if (n == 0) {
+            return shares;
+        }
+
+        long weightSum = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Allocation weights must not be negative");
+            }
+            weightSum = Math.addExact(weightSum, weight);
+        }
+        if (weightSum == 0) {
+            throw new IllegalArgumentException("Allocation weights must not all be zero");
+        }
+
+        long[] remainders = new long[n];
+        long allocated = 0;
+        for (int i = 0; i < n; i++) {
+            long product = weights[i] * amount;
+            if (Math.multiplyHigh(weights[i], amount) == 0 && product >= 0) {
+                shares[i] = product / weightSum;
+                remainders[i] = product % weightSum;
+            } else {
+                BigInteger[] qr = BigInteger.valueOf(weights[i]).multiply(BigInteger.valueOf(amount))
+                        .divideAndRemainder(BigInteger.valueOf(weightSum));
+                shares[i] = qr[0].longValueExact();
+                remainders[i] = qr[1].longValueExact();
+            }
+            allocated += shares[i];
+        }
+
+        // Fewer than n cents are left; find the smallest remainder that still earns one
+        int leftover = (int) (amount - allocated);
+        if (leftover == 0) {
+            return shares;
+        }
+        long[] sorted = remainders.clone();
+        Arrays.sort(sorted);
+        long threshold = sorted[n - leftover];
+
+        for (int i = 0; i < n; i++) {
+            if (remainders[i] > threshold) {
+                shares[i]++;
+                leftover--;
+            }
+        }
+        for (int i = 0; i < n && leftover > 0; i++) {
+            if (remainders[i] == threshold) {
+                shares[i]++;
+                leftover--;
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * floor(amount * cumulativeWeight / weightSum). Used by chunked payouts, where a row's
+     * share is the difference between the values before and after its weight is added, so
+     * the shares of every chunk still add up to exactly {@code amount} once all rows are seen.
+     */
+    public static long cumulativeShare(long amount, long cumulativeWeight, long weightSum) {
+        if (weightSum <= 0) {
+            throw new IllegalArgumentException("Weight sum must be positive");
+        }
+        long product = amount * cumulativeWeight;
+        if (Math.multiplyHigh(amount, cumulativeWeight) == 0 && product >= 0) {
+            return product / weightSum;
+        }
+        return BigInteger.valueOf(amount).multiply(BigInteger.valueOf(cumulativeWeight))
+                .divide(BigInteger.valueOf(weightSum)).longValueExact();
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE);
+    }
+}
@@ -0,0 +1,250 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.PayoutJobStatusDto;
+import com.cinefund.fundingservice.entity.PayoutJob;
+import com.cinefund.fundingservice.repository.PayoutJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs payouts in the background. Jobs are persisted before they are queued and claimed
+ * with a conditional update that records this instance as the owner and gives it a lease,
+ * renewed while the job runs. A periodic sweep requeues jobs whose lease ran out (their
+ * owner died) and dispatches queued jobs, so nothing waits for a restart. A resumed movie
+ * payout continues from its checkpoint in streaming mode, or reruns its rolled-back
+ * transaction in bulk mode.
+ */
+@Service
+public class PayoutJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayoutJobService.class);
+
+    @Autowired
+    private PayoutJobRepository payoutJobRepository;
+
+    @Autowired
+    private FundingService fundingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("payoutJobExecutor")
+    private Executor payoutJobExecutor;
+
+    @Value("${funding.payout.jobs.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${funding.payout.jobs.dispatch-batch-size:100}")
+    private int dispatchBatchSize;
+
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    // Jobs handed to the executor and not yet started, so the sweep does not queue them twice
+    private final Set<String> dispatched = ConcurrentHashMap.newKeySet();
+
+    public PayoutJobStatusDto submitMovieReturns(Long movieId, BigDecimal totalRevenue) {
+        PayoutJob job = new PayoutJob(UUID.randomUUID().toString(), PayoutJob.JobType.MOVIE_RETURNS);
+        job.setMovieId(movieId);
+        job.setTotalRevenue(totalRevenue);
+        return enqueue(job);
+    }
+
+    public PayoutJobStatusDto submitProducerBulkReturns(Long producerId, Map<String, Object> returnData) {
+        PayoutJob job = new PayoutJob(UUID.randomUUID().toString(), PayoutJob.JobType.PRODUCER_BULK_RETURNS);
+        job.setProducerId(producerId);
+        job.setRequestPayload(toJson(returnData));
+        return enqueue(job);
+    }
+
+    public PayoutJobStatusDto getJob(String jobId) {
+        PayoutJob job = payoutJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Payout job not found"));
+        return new PayoutJobStatusDto(job, fromJson(job.getResultPayload(), Object.class));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${funding.payout.jobs.dispatch-interval-ms:5000}",
+               initialDelayString = "${funding.payout.jobs.dispatch-interval-ms:5000}")
+    public void dispatchPendingJobs() {
+        int requeued = payoutJobRepository.requeueExpired(LocalDateTime.now());
+        if (requeued > 0) {
+            log.warn("Requeued {} payout jobs whose owner stopped renewing its lease", requeued);
+        }
+        for (String jobId : payoutJobRepository.findQueuedIds(PageRequest.of(0, dispatchBatchSize))) {
+            if (dispatched.add(jobId) && !dispatch(jobId)) {
+                break;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${funding.payout.jobs.heartbeat-interval-ms:15000}")
+    public void renewLeases() {
+        payoutJobRepository.renewLeases(instanceId, LocalDateTime.now().plus(Duration.ofMillis(leaseMillis)));
+    }
+
+    private PayoutJobStatusDto enqueue(PayoutJob job) {
+        PayoutJob saved = payoutJobRepository.save(job);
+        dispatched.add(saved.getId());
+        dispatch(saved.getId());
+        return new PayoutJobStatusDto(saved, null);
+    }
+
+    private boolean dispatch(String jobId) {
+        try {
+            payoutJobExecutor.execute(() -> run(jobId));
+            return true;
+        } catch (TaskRejectedException e) {
+            // The job stays QUEUED in the table and the next sweep tries again
+            dispatched.remove(jobId);
+            log.warn("Payout job queue is full; job {} stays queued", jobId);
+            return false;
+        }
+    }
+
+    private void run(String jobId) {
+        dispatched.remove(jobId);
+        LocalDateTime now = LocalDateTime.now();
+        if (payoutJobRepository.claim(jobId, instanceId, now.plus(Duration.ofMillis(leaseMillis)), now) == 0) {
+            return;
+        }
+        PayoutJob job = payoutJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Payout job not found"));
+        JobProgress progress = new JobProgress(jobId);
+
+        try {
+            Object result;
+            if (job.getType() == PayoutJob.JobType.MOVIE_RETURNS) {
+                progress.start(fundingService.countUnpaidReturnsByMovie(job.getMovieId()));
+                result = fundingService.processReturns(job.getMovieId(), job.getTotalRevenue(), progress);
+            } else {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> returnData = fromJson(job.getRequestPayload(), Map.class);
+                Map<Long, BigDecimal> revenueByMovie = FundingService.parseMovieRevenues(returnData);
+                progress.start(fundingService.countUnpaidReturnsByProducerMovies(job.getProducerId(), revenueByMovie.keySet()));
+                result = fundingService.processReturnsForAllProducerMovies(job.getProducerId(), returnData, progress);
+            }
+            finish(jobId, progress, PayoutJob.JobStatus.COMPLETED, toJson(result), null);
+        } catch (RuntimeException e) {
+            log.error("Payout job {} failed", jobId, e);
+            finish(jobId, progress, PayoutJob.JobStatus.FAILED, null, e.getMessage());
+        }
+    }
+
+    private void finish(String jobId, JobProgress progress, PayoutJob.JobStatus status, String resultPayload, String errorMessage) {
+        PayoutJob job = payoutJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Payout job not found"));
+        if (job.getStatus() != PayoutJob.JobStatus.RUNNING || !instanceId.equals(job.getOwner())) {
+            // The lease ran out and another instance took the job over; its result is the one that counts
+            log.warn("Payout job {} is no longer owned by this instance; not recording its {} result", jobId, status);
+            return;
+        }
+        progress.lock.lock();
+        try {
+            job.setInvestorsTotal(progress.investorsTotal);
+            job.setInvestorsProcessed(progress.investorsProcessed);
+            job.setAmountDistributed(progress.amountDistributed);
+        } finally {
+            progress.lock.unlock();
+        }
+        job.setStatus(status);
+        job.setResultPayload(resultPayload);
+        job.setErrorMessage(errorMessage);
+        job.setCompletedAt(LocalDateTime.now());
+        job.setLeaseExpiresAt(null);
+        payoutJobRepository.save(job);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialise payout job data: " + e.getMessage());
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read payout job data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Accumulates engine progress for one job attempt and writes it through after every chunk.
+     */
+    private class JobProgress implements PayoutProgressListener {
+        private final String jobId;
+        private long investorsTotal;
+        private long investorsProcessed;
+        private BigDecimal amountDistributed = BigDecimal.ZERO;
+        // Not synchronized: a virtual thread blocked on JDBC inside a monitor pins its carrier
+        private final ReentrantLock lock = new ReentrantLock();
+
+        JobProgress(String jobId) {
+            this.jobId = jobId;
+        }
+
+        void start(long remainingInvestors) {
+            lock.lock();
+            try {
+                investorsTotal = remainingInvestors;
+                payoutJobRepository.updateInvestorsTotal(jobId, investorsTotal, LocalDateTime.now());
+                payoutJobRepository.updateProgress(jobId, 0L, BigDecimal.ZERO, LocalDateTime.now());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onResume(long investors, BigDecimal amount) {
+            lock.lock();
+            try {
+                // Already paid by the interrupted attempt, so not part of the remaining count
+                investorsTotal += investors;
+                payoutJobRepository.updateInvestorsTotal(jobId, investorsTotal, LocalDateTime.now());
+                onChunk(investors, amount);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onChunk(long investors, BigDecimal amount) {
+            lock.lock();
+            try {
+                investorsProcessed += investors;
+                amountDistributed = amountDistributed.add(amount);
+                payoutJobRepository.updateProgress(jobId, investorsProcessed, amountDistributed, LocalDateTime.now());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
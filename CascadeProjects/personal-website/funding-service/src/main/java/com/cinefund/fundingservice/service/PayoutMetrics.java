@@ -0,0 +1,48 @@
+package com.cinefund.fundingservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Payout throughput counters: investors paid and amount distributed, counted once the
+ * payout chunk commits, so a rate over them is investors or currency per second. Payouts
+ * in flight are tracked by the long-task timers on the payout engines.
+ */
+@Component
+public class PayoutMetrics {
+
+    private final Counter investorsPaid;
+    private final Counter amountPaid;
+
+    public PayoutMetrics(MeterRegistry registry) {
+        this.investorsPaid = Counter.builder("cinefund.payout.investors")
+                .description("Investors paid out")
+                .register(registry);
+        this.amountPaid = Counter.builder("cinefund.payout.amount")
+                .description("Amount distributed to investors")
+                .register(registry);
+    }
+
+    public void paid(int investors, BigDecimal amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(investors, amount);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(investors, amount);
+            }
+        });
+    }
+
+    private void increment(int investors, BigDecimal amount) {
+        investorsPaid.increment(investors);
+        amountPaid.increment(amount.doubleValue());
+    }
+}
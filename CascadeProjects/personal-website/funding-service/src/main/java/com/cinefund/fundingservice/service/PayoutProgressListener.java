@@ -0,0 +1,17 @@
+package com.cinefund.fundingservice.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives progress from the payout engines. Implementations must be thread-safe, since a
+ * producer's movies are paid concurrently.
+ */
+public interface PayoutProgressListener {
+
+    PayoutProgressListener NONE = new PayoutProgressListener() {};
+
+    // What an interrupted earlier run of the same payout had already committed
+    default void onResume(long investorsProcessed, BigDecimal amountDistributed) {}
+
+    default void onChunk(long investorsProcessed, BigDecimal amountDistributed) {}
+}
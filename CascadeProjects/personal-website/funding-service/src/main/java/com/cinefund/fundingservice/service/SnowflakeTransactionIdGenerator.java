@@ -0,0 +1,189 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.entity.NodeIdLease;
+import com.cinefund.fundingservice.repository.NodeIdLeaseJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ids: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and a
+ * 12-bit per-millisecond sequence, written as 13 fixed-width Crockford base32 characters
+ * so that string order matches numeric order. Each instance needs its own node id: either
+ * funding.ids.node-id, or one leased from the node_id_leases table and renewed while the
+ * instance runs. Ids stop being issued if the lease runs out before it is renewed.
+ */
+@Component
+// The node_id_leases table is created with the rest of the schema
+@DependsOn("entityManagerFactory")
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeTransactionIdGenerator.class);
+
+    static final long EPOCH_MILLIS = 1704067200000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final NodeIdLeaseJdbcRepository leaseRepository;
+    private final long leaseMillis;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    private final LongSupplier clock;
+    private final LongSupplier nanoClock;
+
+    private volatile Node node;
+
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong state = new AtomicLong();
+
+    /** A fixed node id, 0 to MAX_NODE_ID. */
+    public SnowflakeTransactionIdGenerator(long nodeId) {
+        this(nodeId, null, 0, System::currentTimeMillis, System::nanoTime);
+    }
+
+    @Autowired
+    public SnowflakeTransactionIdGenerator(@Value("${funding.ids.node-id:-1}") long nodeId,
+                                           NodeIdLeaseJdbcRepository leaseRepository,
+                                           @Value("${funding.ids.lease-ms:60000}") long leaseMillis) {
+        this(nodeId, leaseRepository, leaseMillis, System::currentTimeMillis, System::nanoTime);
+    }
+
+    SnowflakeTransactionIdGenerator(long nodeId, NodeIdLeaseJdbcRepository leaseRepository, long leaseMillis,
+                                    LongSupplier clock, LongSupplier nanoClock) {
+        if (nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("funding.ids.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.clock = clock;
+        this.nanoClock = nanoClock;
+        this.leaseMillis = leaseMillis;
+        if (nodeId >= 0) {
+            this.leaseRepository = null;
+            this.node = new Node(nodeId, Long.MAX_VALUE);
+        } else if (leaseRepository == null) {
+            throw new IllegalArgumentException("funding.ids.node-id must be between 0 and " + MAX_NODE_ID);
+        } else {
+            this.leaseRepository = leaseRepository;
+            claimLease();
+        }
+    }
+
+    @Override
+    public String nextId(String prefix) {
+        long id = nextRawId();
+        char[] chars = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        for (int i = chars.length - 1; i >= prefix.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    long nextRawId() {
+        Node current = node;
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            // A clock that steps back, or a full sequence, keeps counting on from the last id
+            // instead of waiting, so ids never repeat or go backwards
+            long next = now > lastTimestamp ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                // Checked after taking the sequence, so an id is never issued under a node id
+                // that another instance may already hold
+                if (current.expired(nanoClock.getAsLong())) {
+                    throw new IllegalStateException("Lease on node id " + current.id + " ran out; no ids until it is renewed");
+                }
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (current.id << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${funding.ids.lease-renew-interval-ms:15000}")
+    public void renewLease() {
+        if (leaseRepository == null) {
+            return;
+        }
+        Node current = node;
+        try {
+            long started = nanoClock.getAsLong();
+            if (leaseRepository.renew((int) current.id, owner, leaseMillis, reachableTimestamp())) {
+                node = new Node(current.id, started + TimeUnit.MILLISECONDS.toNanos(leaseMillis));
+            } else {
+                log.warn("Lease on node id {} was taken over by another instance; claiming a new one", current.id);
+                claimLease();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not renew the lease on node id {}: {}", current.id, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leaseRepository == null) {
+            return;
+        }
+        Node current = node;
+        node = new Node(current.id, nanoClock.getAsLong());
+        try {
+            leaseRepository.release((int) current.id, owner, state.get() >>> SEQUENCE_BITS);
+        } catch (DataAccessException e) {
+            log.warn("Could not release node id {}: {}", current.id, e.getMessage());
+        }
+    }
+
+    long nodeId() {
+        return node.id;
+    }
+
+    private void claimLease() {
+        long started = nanoClock.getAsLong();
+        NodeIdLease lease = leaseRepository.claim(owner, MAX_NODE_ID, leaseMillis);
+        if (lease == null) {
+            throw new IllegalStateException("All " + (MAX_NODE_ID + 1) + " node ids are leased; set funding.ids.node-id or wait for a lease to run out");
+        }
+        // Start after every id the previous holder may have issued
+        state.accumulateAndGet((lease.getLastTimestamp() << SEQUENCE_BITS) | SEQUENCE_MASK, Math::max);
+        if (!leaseRepository.renew(lease.getNodeId(), owner, leaseMillis, reachableTimestamp())) {
+            throw new IllegalStateException("Lease on node id " + lease.getNodeId() + " was lost right after claiming it");
+        }
+        node = new Node(lease.getNodeId(), started + TimeUnit.MILLISECONDS.toNanos(leaseMillis));
+        log.info("Leased node id {} for transaction ids", lease.getNodeId());
+    }
+
+    // The furthest timestamp ids may reach before the lease has to be renewed again
+    private long reachableTimestamp() {
+        return Math.max(clock.getAsLong() - EPOCH_MILLIS, state.get() >>> SEQUENCE_BITS) + leaseMillis;
+    }
+
+    private static final class Node {
+        final long id;
+        final long expiresAtNanos;
+
+        Node(long id, long expiresAtNanos) {
+            this.id = id;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean expired(long nanos) {
+            return expiresAtNanos != Long.MAX_VALUE && nanos - expiresAtNanos >= 0;
+        }
+    }
+}
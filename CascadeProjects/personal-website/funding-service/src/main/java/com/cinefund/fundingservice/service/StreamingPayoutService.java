@@ -0,0 +1,172 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.PayoutResultDto;
+import com.cinefund.fundingservice.entity.PayoutCheckpoint;
+import com.cinefund.fundingservice.repository.ConfirmedInvestmentTotal;
+import com.cinefund.fundingservice.repository.PayoutCheckpointRepository;
+import com.cinefund.fundingservice.repository.PayoutJdbcRepository;
+import com.cinefund.fundingservice.repository.PayoutLine;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pays a movie's investors in fixed-size chunks, walking the unpaid investments by id and
+ * committing each chunk together with the movie's {@link PayoutCheckpoint}. Only one chunk
+ * is ever held in memory, and a run that dies part-way continues from the checkpoint the
+ * next time it is started for the same movie and revenue.
+ */
+@Service
+public class StreamingPayoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingPayoutService.class);
+
+    @Autowired
+    private PayoutJdbcRepository payoutJdbcRepository;
+
+    @Autowired
+    private PayoutCheckpointRepository payoutCheckpointRepository;
+
+    @Autowired
+    private BulkPayoutService bulkPayoutService;
+
+    @Autowired
+    private TransactionIdGenerator transactionIdGenerator;
+
+    @Autowired
+    private FundingAggregateService fundingAggregateService;
+
+    @Autowired
+    private PayoutMetrics payoutMetrics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${funding.payout.streaming.chunk-size:5000}")
+    private int chunkSize;
+
+    @Timed(value = "cinefund.payout.running", extraTags = {"engine", "streaming"}, longTask = true)
+    public PayoutResultDto processReturns(Long movieId, BigDecimal totalRevenue, PayoutProgressListener listener) {
+        long startNanos = System.nanoTime();
+
+        PayoutCheckpoint checkpoint = transactionTemplate.execute(status -> openCheckpoint(movieId, totalRevenue));
+        long investorsBefore = checkpoint.getInvestorsProcessed();
+        BigDecimal amountBefore = checkpoint.getAmountDistributed();
+        if (investorsBefore > 0) {
+            listener.onResume(investorsBefore, amountBefore);
+        }
+
+        while (!checkpoint.getStatus().equals(PayoutCheckpoint.CheckpointStatus.COMPLETED)) {
+            long processedSoFar = checkpoint.getInvestorsProcessed();
+            BigDecimal distributedSoFar = checkpoint.getAmountDistributed();
+            checkpoint = transactionTemplate.execute(status -> processNextChunk(movieId));
+            if (checkpoint.getInvestorsProcessed() > processedSoFar) {
+                listener.onChunk(checkpoint.getInvestorsProcessed() - processedSoFar,
+                        checkpoint.getAmountDistributed().subtract(distributedSoFar));
+            }
+        }
+
+        long investorsProcessed = checkpoint.getInvestorsProcessed() - investorsBefore;
+        BigDecimal amountDistributed = checkpoint.getAmountDistributed().subtract(amountBefore);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        PayoutResultDto result = new PayoutResultDto(movieId, investorsProcessed, amountDistributed, investorsProcessed * 2, elapsedMillis);
+        log.info("Streaming payout for movie {}: {} investors, {} rows in {} ms ({} rows/s)",
+                movieId, investorsProcessed, result.getRowsWritten(), elapsedMillis, String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private PayoutCheckpoint openCheckpoint(Long movieId, BigDecimal totalRevenue) {
+        PayoutCheckpoint checkpoint = payoutCheckpointRepository.findByMovieIdForUpdate(movieId).orElse(null);
+
+        if (checkpoint != null && checkpoint.getStatus() == PayoutCheckpoint.CheckpointStatus.IN_PROGRESS) {
+            if (checkpoint.getTotalRevenue().compareTo(totalRevenue) != 0) {
+                throw new RuntimeException("A payout for movie " + movieId + " is already in progress with revenue "
+                        + checkpoint.getTotalRevenue() + "; resume it with the same revenue");
+            }
+            log.info("Resuming payout for movie {} after investment id {}", movieId, checkpoint.getLastInvestmentId());
+            return checkpoint;
+        }
+
+        // The run pays exactly the investments counted here; ones confirmed later wait for the next run
+        LocalDateTime startedAt = LocalDateTime.now();
+        ConfirmedInvestmentTotal confirmed = payoutJdbcRepository.freezeConfirmedTotal(movieId);
+        BigDecimal totalInvestment = confirmed.totalInvestment();
+        if (totalInvestment == null || totalInvestment.compareTo(BigDecimal.ZERO) == 0) {
+            throw new RuntimeException("No investments found for this movie");
+        }
+
+        // A completed checkpoint belongs to an earlier payout round; start a fresh one in its place
+        if (checkpoint == null) {
+            checkpoint = new PayoutCheckpoint(movieId, totalRevenue, totalInvestment, startedAt, confirmed.confirmedBy());
+        } else {
+            checkpoint.setTotalRevenue(totalRevenue);
+            checkpoint.setTotalInvestment(totalInvestment);
+            checkpoint.setAllocatedInvestment(BigDecimal.ZERO);
+            checkpoint.setLastInvestmentId(0L);
+            checkpoint.setInvestorsProcessed(0L);
+            checkpoint.setAmountDistributed(BigDecimal.ZERO);
+            checkpoint.setStatus(PayoutCheckpoint.CheckpointStatus.IN_PROGRESS);
+            checkpoint.setStartedAt(startedAt);
+            checkpoint.setConfirmedBy(confirmed.confirmedBy());
+            checkpoint.setCompletedAt(null);
+        }
+        return payoutCheckpointRepository.save(checkpoint);
+    }
+
+    private PayoutCheckpoint processNextChunk(Long movieId) {
+        // Row lock keeps a second runner for the same movie from paying the same chunk
+        PayoutCheckpoint checkpoint = payoutCheckpointRepository.findByMovieIdForUpdate(movieId)
+                .orElseThrow(() -> new RuntimeException("Payout checkpoint not found for movie " + movieId));
+        if (checkpoint.getStatus() == PayoutCheckpoint.CheckpointStatus.COMPLETED) {
+            return checkpoint;
+        }
+
+        List<PayoutLine> chunk = payoutJdbcRepository.findUnpaidPayoutLinesAfter(movieId, checkpoint.getLastInvestmentId(),
+                checkpoint.getConfirmedBy(), chunkSize);
+        if (chunk.isEmpty()) {
+            checkpoint.setStatus(PayoutCheckpoint.CheckpointStatus.COMPLETED);
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            return payoutCheckpointRepository.save(checkpoint);
+        }
+
+        // Cumulative rounding: the shares of all chunks together add up to exactly the revenue
+        long revenue = PayoutAllocator.toMinorUnits(checkpoint.getTotalRevenue());
+        long weightSum = PayoutAllocator.toMinorUnits(checkpoint.getTotalInvestment());
+        long allocated = checkpoint.getAllocatedInvestment() == null ? 0L
+                : PayoutAllocator.toMinorUnits(checkpoint.getAllocatedInvestment());
+        long shareBefore = PayoutAllocator.cumulativeShare(revenue, allocated, weightSum);
+        for (PayoutLine line : chunk) {
+            allocated += PayoutAllocator.toMinorUnits(line.getAmount());
+            if (allocated > weightSum) {
+                throw new IllegalStateException("Investments of movie " + movieId + " exceed the "
+                        + checkpoint.getTotalInvestment() + " counted when the payout started");
+            }
+            long shareAfter = PayoutAllocator.cumulativeShare(revenue, allocated, weightSum);
+            line.setReturnAmount(PayoutAllocator.fromMinorUnits(shareAfter - shareBefore));
+            line.setPayoutTransactionId(transactionIdGenerator.nextPayoutId());
+            shareBefore = shareAfter;
+        }
+
+        List<PayoutLine> paid = bulkPayoutService.writeChunk(movieId, chunk, LocalDateTime.now());
+        fundingAggregateService.returnsPaid(movieId, paid);
+
+        BigDecimal chunkAmount = BigDecimal.ZERO;
+        for (PayoutLine line : paid) {
+            chunkAmount = chunkAmount.add(line.getReturnAmount());
+        }
+        payoutMetrics.paid(paid.size(), chunkAmount);
+        checkpoint.setAllocatedInvestment(PayoutAllocator.fromMinorUnits(allocated));
+        checkpoint.setLastInvestmentId(chunk.get(chunk.size() - 1).getInvestmentId());
+        checkpoint.setInvestorsProcessed(checkpoint.getInvestorsProcessed() + paid.size());
+        checkpoint.setAmountDistributed(checkpoint.getAmountDistributed().add(chunkAmount));
+        return payoutCheckpointRepository.save(checkpoint);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cinefund.fundingservice.service;
+
+/**
+ * Source of the business ids stored in {@code transaction_id}. Ids from one generator are
+ * unique and increase over time, so new rows land at the right-hand edge of the index.
+ */
+public interface TransactionIdGenerator {
+
+    String INVESTMENT_PREFIX = "TXN_";
+    String PAYOUT_PREFIX = "PAYOUT_";
+
+    String nextId(String prefix);
+
+    default String nextInvestmentId() {
+        return nextId(INVESTMENT_PREFIX);
+    }
+
+    default String nextPayoutId() {
+        return nextId(PAYOUT_PREFIX);
+    }
+}
@@ -0,0 +1,328 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.entity.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of transaction records in fixed-size memory-mapped segment files.
+ * Each record is {@code [length][crc32][payload]} and is forced to disk before append
+ * returns; a zero length, a short tail or a checksum mismatch marks the end of a segment.
+ * A sealed segment is deleted once every record in it has been released.
+ */
+public class TransactionJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    private static final String SEGMENT_PREFIX = "transactions-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+
+    public enum Kind {
+        // A new transactions row
+        INSERT,
+        // The transaction that wrote the INSERT rolled back; drop the row again
+        DISCARD
+    }
+
+    public static final class Entry {
+        private final Kind kind;
+        private final String transactionId;
+        private final Transaction transaction;
+        private Segment segment;
+
+        private Entry(Kind kind, String transactionId, Transaction transaction) {
+            this.kind = kind;
+            this.transactionId = transactionId;
+            this.transaction = transaction;
+        }
+
+        public static Entry insert(Transaction transaction) {
+            return new Entry(Kind.INSERT, transaction.getTransactionId(), transaction);
+        }
+
+        public static Entry discard(String transactionId) {
+            return new Entry(Kind.DISCARD, transactionId, null);
+        }
+
+        public Kind getKind() { return kind; }
+        public String getTransactionId() { return transactionId; }
+        public Transaction getTransaction() { return transaction; }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int outstanding;
+        private boolean sealed;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Path directory;
+    private final int segmentSize;
+    private long nextSequence;
+    private Segment active;
+
+    public TransactionJournal(Path directory, int segmentSize, long nextSequence) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Segment files left in the directory, oldest first.
+     */
+    public static List<Path> listSegments(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Every intact record of a segment, in append order.
+     */
+    public static List<Entry> read(Path segment) {
+        List<Entry> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Checksum mismatch in {} after {} records; ignoring the rest of the segment", segment, entries.size());
+                    break;
+                }
+                entries.add(decode(ByteBuffer.wrap(payload)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the entry and forces it to disk. Once this returns the record survives a crash.
+     */
+    public void append(Entry entry) {
+        byte[] payload = encode(entry);
+        int needed = HEADER_BYTES + payload.length;
+        // Keep room for the zero length that terminates a segment
+        if (needed + 4 > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + needed + " bytes does not fit in a segment");
+        }
+        lock.lock();
+        try {
+            if (active == null || active.buffer.remaining() < needed + 4) {
+                roll();
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            int start = active.buffer.position();
+            active.buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            active.buffer.force(start, needed);
+
+            entry.segment = active;
+            active.outstanding++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks entries as copied to the database, deleting sealed segments that have no
+     * outstanding records left.
+     */
+    public void release(List<Entry> entries) {
+        lock.lock();
+        try {
+            for (Entry entry : entries) {
+                Segment segment = entry.segment;
+                if (segment != null && --segment.outstanding == 0 && segment.sealed) {
+                    delete(segment);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (active != null) {
+                if (active.outstanding == 0) {
+                    delete(active);
+                } else {
+                    closeChannel(active);
+                }
+                active = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() {
+        if (active != null) {
+            active.sealed = true;
+            if (active.outstanding == 0) {
+                delete(active);
+            }
+        }
+        Path path = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            active = new Segment(path, channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + path, e);
+        }
+    }
+
+    private static void delete(Segment segment) {
+        closeChannel(segment);
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("Could not delete flushed journal segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private static void closeChannel(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("Could not close journal segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(Entry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(entry.kind.ordinal());
+            writeString(out, entry.transactionId);
+            if (entry.kind == Kind.INSERT) {
+                Transaction transaction = entry.transaction;
+                out.writeLong(transaction.getUserId());
+                writeNullableLong(out, transaction.getMovieId());
+                writeNullableLong(out, transaction.getProducerId());
+                writeString(out, transaction.getAmount().toPlainString());
+                writeString(out, transaction.getType().name());
+                writeString(out, transaction.getStatus().name());
+                writeString(out, transaction.getPaymentMethod());
+                writeString(out, transaction.getFailureReason());
+                writeString(out, transaction.getDescription());
+                writeString(out, transaction.getCreatedAt() == null ? null : transaction.getCreatedAt().toString());
+                writeString(out, transaction.getCompletedAt() == null ? null : transaction.getCompletedAt().toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(ByteBuffer in) {
+        Kind kind = Kind.values()[in.get()];
+        String transactionId = readString(in);
+        if (kind == Kind.DISCARD) {
+            return Entry.discard(transactionId);
+        }
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(transactionId);
+        transaction.setUserId(in.getLong());
+        transaction.setMovieId(readNullableLong(in));
+        transaction.setProducerId(readNullableLong(in));
+        transaction.setAmount(new BigDecimal(readString(in)));
+        transaction.setType(Transaction.TransactionType.valueOf(readString(in)));
+        transaction.setStatus(Transaction.TransactionStatus.valueOf(readString(in)));
+        transaction.setPaymentMethod(readString(in));
+        transaction.setFailureReason(readString(in));
+        transaction.setDescription(readString(in));
+        String createdAt = readString(in);
+        transaction.setCreatedAt(createdAt == null ? null : LocalDateTime.parse(createdAt));
+        String completedAt = readString(in);
+        transaction.setCompletedAt(completedAt == null ? null : LocalDateTime.parse(completedAt));
+        return Entry.insert(transaction);
+    }
+
+    // Length-prefixed UTF-8, -1 for null; descriptions are TEXT and may exceed writeUTF's limit
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+}
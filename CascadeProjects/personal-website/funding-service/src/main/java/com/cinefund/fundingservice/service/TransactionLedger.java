@@ -0,0 +1,306 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.entity.Transaction;
+import com.cinefund.fundingservice.repository.TransactionJournalJdbcRepository;
+import com.cinefund.fundingservice.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes new transaction records either straight to the transactions table or, with
+ * {@code funding.journal.enabled}, to the local {@link TransactionJournal} first. Journaled
+ * records are copied to the table in batches by a background flusher, and any segments
+ * left over from a crash are replayed before the service starts taking requests.
+ */
+@Service
+public class TransactionLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionLedger.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionJournalJdbcRepository journalJdbcRepository;
+
+    @Value("${funding.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${funding.journal.directory:./data/transaction-journal}")
+    private String directory;
+
+    @Value("${funding.journal.segment-size-bytes:67108864}")
+    private int segmentSize;
+
+    @Value("${funding.journal.batch-size:1000}")
+    private int batchSize;
+
+    private final TransactionTemplate flushTransaction;
+
+    private TransactionJournal journal;
+
+    private final Queue<TransactionJournal.Entry> pending = new ConcurrentLinkedQueue<>();
+
+    // Locks rather than monitors, so virtual threads waiting on disk or JDBC do not pin
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Journaled INSERTs not yet in the table, so readers can ask for them to be flushed first
+    private final Set<String> pendingIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public TransactionLedger(PlatformTransactionManager transactionManager) {
+        // Flushed records must commit on their own even when a caller's transaction rolls back
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (batchSize < 1 || batchSize > TransactionJournalJdbcRepository.MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalStateException("funding.journal.batch-size must be between 1 and "
+                    + TransactionJournalJdbcRepository.MAX_ROWS_PER_STATEMENT + ", was " + batchSize);
+        }
+        Path journalDirectory = Paths.get(directory);
+        try {
+            Files.createDirectories(journalDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal directory " + journalDirectory, e);
+        }
+
+        long nextSequence = 1;
+        for (Path segment : TransactionJournal.listSegments(journalDirectory)) {
+            List<TransactionJournal.Entry> entries = TransactionJournal.read(segment);
+            int skipped = 0;
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                List<TransactionJournal.Entry> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+                List<TransactionJournal.Entry> committed = withoutUncommittedInvestments(batch);
+                skipped += batch.size() - committed.size();
+                write(committed);
+            }
+            if (skipped > 0) {
+                log.warn("Skipped {} journaled investment records from {} whose investment never committed", skipped, segment.getFileName());
+            }
+            log.info("Replayed {} journal records from {}", entries.size() - skipped, segment.getFileName());
+            nextSequence = TransactionJournal.sequenceOf(segment) + 1;
+            try {
+                Files.delete(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete replayed journal segment " + segment, e);
+            }
+        }
+        journal = new TransactionJournal(journalDirectory, segmentSize, nextSequence);
+    }
+
+    /**
+     * Records a new transaction. In journal mode the record is appended when the surrounding
+     * database transaction is about to commit, and a discard record follows if it then rolls
+     * back. A crash between the append and the commit leaves no discard; replay then drops
+     * INVESTMENT records whose investment row is missing, but cannot tell such a PAYOUT record
+     * from a committed one and writes it.
+     */
+    public void record(Transaction transaction) {
+        if (!enabled) {
+            transactionRepository.save(transaction);
+            return;
+        }
+        if (transaction.getCreatedAt() == null) {
+            transaction.setCreatedAt(LocalDateTime.now());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(TransactionJournal.Entry.insert(transaction));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean appended;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                append(TransactionJournal.Entry.insert(transaction));
+                appended = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (appended && status != STATUS_COMMITTED) {
+                    append(TransactionJournal.Entry.discard(transaction.getTransactionId()));
+                }
+            }
+        });
+    }
+
+    public void recordAll(List<Transaction> transactions) {
+        if (!enabled) {
+            transactionRepository.saveAll(transactions);
+            return;
+        }
+        for (Transaction transaction : transactions) {
+            record(transaction);
+        }
+    }
+
+    /**
+     * Flushes the journal now if any of the given transaction ids are still waiting for the
+     * background flusher. Call before reading or updating those rows in the table.
+     */
+    public void ensureFlushed(Collection<String> transactionIds) {
+        if (!enabled || pendingIds.isEmpty()) {
+            return;
+        }
+        for (String transactionId : transactionIds) {
+            if (pendingIds.contains(transactionId)) {
+                flush();
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${funding.journal.flush-interval-ms:200}")
+    public void flushInBackground() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Records stay queued and in the journal; the next run retries them
+            log.warn("Journal flush failed, {} records pending: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Copies every queued record to the table in batches and returns how many were copied.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushQueued();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushQueued() {
+        int flushed = 0;
+        while (true) {
+            List<TransactionJournal.Entry> batch = new ArrayList<>(batchSize);
+            Iterator<TransactionJournal.Entry> iterator = pending.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+            }
+            if (batch.isEmpty()) {
+                return flushed;
+            }
+
+            write(batch);
+            // This is the only consumer, so the head of the queue is exactly this batch
+            for (int i = 0; i < batch.size(); i++) {
+                pending.poll();
+            }
+            for (TransactionJournal.Entry entry : batch) {
+                if (entry.getKind() == TransactionJournal.Kind.INSERT) {
+                    pendingIds.remove(entry.getTransactionId());
+                }
+            }
+            journal.release(batch);
+            flushed += batch.size();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || journal == null) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Final journal flush failed; {} records will be replayed on next start: {}", pending.size(), e.getMessage());
+        }
+        journal.close();
+    }
+
+    private void append(TransactionJournal.Entry entry) {
+        // Registered before the append so a flush that picks the entry up also clears it
+        if (entry.getKind() == TransactionJournal.Kind.INSERT) {
+            pendingIds.add(entry.getTransactionId());
+        }
+        appendLock.lock();
+        try {
+            journal.append(entry);
+            pending.add(entry);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Only safe on replay: every transaction that appended to the old journal has finished by
+    // now, so an investment record without its investment row belongs to one that never committed
+    private List<TransactionJournal.Entry> withoutUncommittedInvestments(List<TransactionJournal.Entry> entries) {
+        Set<String> investmentIds = new HashSet<>();
+        for (TransactionJournal.Entry entry : entries) {
+            if (entry.getKind() == TransactionJournal.Kind.INSERT
+                    && entry.getTransaction().getType() == Transaction.TransactionType.INVESTMENT) {
+                investmentIds.add(entry.getTransactionId());
+            }
+        }
+        if (investmentIds.isEmpty()) {
+            return entries;
+        }
+        Set<String> committed = journalJdbcRepository.findInvestmentTransactionIds(investmentIds);
+        if (committed.size() == investmentIds.size()) {
+            return entries;
+        }
+        List<TransactionJournal.Entry> kept = new ArrayList<>(entries.size());
+        for (TransactionJournal.Entry entry : entries) {
+            if (entry.getKind() != TransactionJournal.Kind.INSERT || !investmentIds.contains(entry.getTransactionId())
+                    || committed.contains(entry.getTransactionId())) {
+                kept.add(entry);
+            }
+        }
+        return kept;
+    }
+
+    // A discard cancels an insert in the same batch, or deletes a row an earlier batch wrote
+    private void write(List<TransactionJournal.Entry> entries) {
+        Map<String, Transaction> inserts = new LinkedHashMap<>();
+        Set<String> discards = new LinkedHashSet<>();
+        for (TransactionJournal.Entry entry : entries) {
+            if (entry.getKind() == TransactionJournal.Kind.INSERT) {
+                inserts.put(entry.getTransactionId(), entry.getTransaction());
+                discards.remove(entry.getTransactionId());
+            } else if (inserts.remove(entry.getTransactionId()) == null) {
+                discards.add(entry.getTransactionId());
+            }
+        }
+        flushTransaction.executeWithoutResult(status -> {
+            journalJdbcRepository.insertKeepingOutcomes(inserts.values());
+            journalJdbcRepository.deleteByTransactionIds(discards);
+        });
+    }
+}
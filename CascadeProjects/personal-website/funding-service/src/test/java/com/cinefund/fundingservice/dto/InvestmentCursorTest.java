@@ -0,0 +1,101 @@
+package com.cinefund.fundingservice.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvestmentCursorTest {
+
+    @Test
+    void idCursorRoundTrips() {
+        String token = new InvestmentCursor(InvestmentCursor.SortKey.ID, 9_007_199_254_740_993L, null).encode();
+
+        InvestmentCursor cursor = InvestmentCursor.decode(token, InvestmentCursor.SortKey.ID);
+
+        assertThat(cursor.getSortKey()).isEqualTo(InvestmentCursor.SortKey.ID);
+        assertThat(cursor.getLastId()).isEqualTo(9_007_199_254_740_993L);
+        assertThat(cursor.getLastInvestmentDate()).isNull();
+    }
+
+    @Test
+    void dateCursorRoundTripsWithNanoseconds() {
+        LocalDateTime date = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+        String token = new InvestmentCursor(InvestmentCursor.SortKey.INVESTMENT_DATE, 42L, date).encode();
+
+        InvestmentCursor cursor = InvestmentCursor.decode(token, InvestmentCursor.SortKey.INVESTMENT_DATE);
+
+        assertThat(cursor.getLastId()).isEqualTo(42L);
+        assertThat(cursor.getLastInvestmentDate()).isEqualTo(date);
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = new InvestmentCursor(InvestmentCursor.SortKey.INVESTMENT_DATE, Long.MAX_VALUE,
+                LocalDateTime.of(2025, 12, 31, 12, 0, 0, 999_000_000)).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsCursorFromTheOtherSortOrder() {
+        String idToken = new InvestmentCursor(InvestmentCursor.SortKey.ID, 5L, null).encode();
+        String dateToken = new InvestmentCursor(InvestmentCursor.SortKey.INVESTMENT_DATE, 5L, LocalDateTime.now()).encode();
+
+        assertThatThrownBy(() -> InvestmentCursor.decode(idToken, InvestmentCursor.SortKey.INVESTMENT_DATE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort order");
+        assertThatThrownBy(() -> InvestmentCursor.decode(dateToken, InvestmentCursor.SortKey.ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort order");
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        String[] tampered = {
+                "not base64!",
+                encode("x|5"),
+                encode("i|"),
+                encode("i|five"),
+                encode("i|5' OR 1=1"),
+                encode("d|2024-01-01T00:00"),
+                encode("d|yesterday|5"),
+                encode("d|2024-01-01T00:00|"),
+                ""
+        };
+        for (String token : tampered) {
+            InvestmentCursor.SortKey sortKey = token.isEmpty() || !decodeRaw(token).startsWith("d")
+                    ? InvestmentCursor.SortKey.ID : InvestmentCursor.SortKey.INVESTMENT_DATE;
+            assertThatThrownBy(() -> InvestmentCursor.decode(token, sortKey))
+                    .as("token %s", token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void parsesSortKeys() {
+        assertThat(InvestmentCursor.parseSortKey(null)).isEqualTo(InvestmentCursor.SortKey.ID);
+        assertThat(InvestmentCursor.parseSortKey(" ")).isEqualTo(InvestmentCursor.SortKey.ID);
+        assertThat(InvestmentCursor.parseSortKey("ID")).isEqualTo(InvestmentCursor.SortKey.ID);
+        assertThat(InvestmentCursor.parseSortKey("investmentdate")).isEqualTo(InvestmentCursor.SortKey.INVESTMENT_DATE);
+        assertThatThrownBy(() -> InvestmentCursor.parseSortKey("amount"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
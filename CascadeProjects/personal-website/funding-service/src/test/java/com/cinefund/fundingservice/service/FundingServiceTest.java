@@ -0,0 +1,120 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.BulkTransitionResultDto;
+import com.cinefund.fundingservice.entity.Investment;
+import com.cinefund.fundingservice.entity.Transaction;
+import com.cinefund.fundingservice.repository.InvestmentRepository;
+import com.cinefund.fundingservice.repository.InvestmentTransitionJdbcRepository;
+import com.cinefund.fundingservice.repository.InvestmentTransitionRow;
+import com.cinefund.fundingservice.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FundingServiceTest {
+
+    private static final String TRANSACTION_ID = "TXN0000000000001";
+
+    private final InvestmentRepository investmentRepository = mock(InvestmentRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final InvestmentTransitionJdbcRepository transitionRepository = mock(InvestmentTransitionJdbcRepository.class);
+    private final TransactionLedger transactionLedger = mock(TransactionLedger.class);
+    private final FundingAggregateService fundingAggregateService = mock(FundingAggregateService.class);
+    private final FundingService service = new FundingService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "investmentRepository", investmentRepository);
+        ReflectionTestUtils.setField(service, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(service, "investmentTransitionJdbcRepository", transitionRepository);
+        ReflectionTestUtils.setField(service, "transactionLedger", transactionLedger);
+        ReflectionTestUtils.setField(service, "fundingAggregateService", fundingAggregateService);
+        ReflectionTestUtils.setField(service, "bulkMaxTransactionIds", 100);
+        when(investmentRepository.save(any(Investment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionRepository.findByTransactionId(TRANSACTION_ID)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void confirmWritesTheOutcomeWhenTheRecordIsNotFlushedYet() {
+        when(investmentRepository.findByTransactionIdForUpdate(TRANSACTION_ID)).thenReturn(Optional.of(pendingInvestment()));
+
+        assertThat(service.confirmInvestment(TRANSACTION_ID).getStatus()).isEqualTo(Investment.InvestmentStatus.CONFIRMED);
+
+        verify(transactionLedger).ensureFlushed(List.of(TRANSACTION_ID));
+        verify(transitionRepository).confirmInvestments(eq(List.of(TRANSACTION_ID)), any());
+        verify(transitionRepository).upsertTransactionOutcomes(eq(List.of(TRANSACTION_ID)),
+                eq(Transaction.TransactionStatus.SUCCESS.name()), isNull(), anyString(), any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void confirmUpdatesTheRecordOnceItIsFlushed() {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(TRANSACTION_ID);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        when(investmentRepository.findByTransactionIdForUpdate(TRANSACTION_ID)).thenReturn(Optional.of(pendingInvestment()));
+        when(transactionRepository.findByTransactionId(TRANSACTION_ID)).thenReturn(Optional.of(transaction));
+
+        service.confirmInvestment(TRANSACTION_ID);
+
+        assertThat(transaction.getStatus()).isEqualTo(Transaction.TransactionStatus.SUCCESS);
+        verify(transactionRepository).save(transaction);
+        verify(transitionRepository, never()).upsertTransactionOutcomes(anyCollection(), anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void cancelWritesTheOutcomeWhenTheRecordIsNotFlushedYet() {
+        when(investmentRepository.findByTransactionIdForUpdate(TRANSACTION_ID)).thenReturn(Optional.of(pendingInvestment()));
+
+        service.cancelInvestment(TRANSACTION_ID, "Changed my mind");
+
+        verify(transitionRepository).upsertTransactionOutcomes(eq(List.of(TRANSACTION_ID)),
+                eq(Transaction.TransactionStatus.CANCELLED.name()), eq("Changed my mind"), anyString(), any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void bulkConfirmConfirmsInvestmentsWhoseRecordIsNotFlushedYet() {
+        String flushed = "TXN0000000000002";
+        when(transitionRepository.lockByTransactionIds(anyCollection())).thenReturn(List.of(
+                new InvestmentTransitionRow(TRANSACTION_ID, "PENDING", 1L, 2L, 3L, BigDecimal.TEN, false),
+                new InvestmentTransitionRow(flushed, "PENDING", 1L, 2L, 4L, BigDecimal.ONE, true)));
+
+        List<BulkTransitionResultDto> results = service.confirmInvestments(List.of(TRANSACTION_ID, flushed));
+
+        assertThat(results).extracting(BulkTransitionResultDto::getOutcome)
+                .containsExactly(BulkTransitionResultDto.Outcome.CONFIRMED, BulkTransitionResultDto.Outcome.CONFIRMED);
+        verify(transitionRepository).completeTransactions(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(TRANSACTION_ID, flushed))),
+                eq(Transaction.TransactionStatus.SUCCESS.name()), isNull(), any());
+        verify(transitionRepository).upsertTransactionOutcomes(eq(List.of(TRANSACTION_ID)),
+                eq(Transaction.TransactionStatus.SUCCESS.name()), isNull(), anyString(), any());
+    }
+
+    private static Investment pendingInvestment() {
+        Investment investment = new Investment();
+        investment.setTransactionId(TRANSACTION_ID);
+        investment.setUserId(3L);
+        investment.setMovieId(1L);
+        investment.setProducerId(2L);
+        investment.setAmount(BigDecimal.TEN);
+        investment.setExpectedReturnPercentage(new BigDecimal("15.0"));
+        investment.setStatus(Investment.InvestmentStatus.PENDING);
+        return investment;
+    }
+}
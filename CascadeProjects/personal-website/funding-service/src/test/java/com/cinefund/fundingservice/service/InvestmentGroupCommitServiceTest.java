@@ -0,0 +1,78 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.dto.InvestmentDto;
+import com.cinefund.fundingservice.dto.InvestmentResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvestmentGroupCommitServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FundingService fundingService = mock(FundingService.class);
+    private final InvestmentResponseDto created = new InvestmentResponseDto();
+    private InvestmentGroupCommitService service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    void recordsBatchSizeAndQueueWait() {
+        start(true, 1);
+        when(fundingService.createInvestments(anyList(), anyList())).thenReturn(List.of(created));
+
+        assertThat(service.submit(investment(), null)).isSameAs(created);
+
+        assertThat(registry.get("cinefund.invest.group-commit.batch.size").summary().count()).isEqualTo(1);
+        assertThat(registry.get("cinefund.invest.group-commit.batch.size").summary().totalAmount()).isEqualTo(1);
+        assertThat(registry.get("cinefund.invest.group-commit.wait").timer().count()).isEqualTo(1);
+        assertThat(registry.get("cinefund.invest.group-commit.fallbacks").counter().count()).isZero();
+    }
+
+    @Test
+    void countsBatchesRetriedOneByOne() {
+        start(true, 1);
+        when(fundingService.createInvestments(anyList(), anyList())).thenThrow(new IllegalStateException("constraint"));
+        when(fundingService.createInvestment(any(), any())).thenReturn(created);
+
+        assertThat(service.submit(investment(), null)).isSameAs(created);
+
+        assertThat(registry.get("cinefund.invest.group-commit.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsRequestsRunOnTheCallerThread() {
+        start(false, 1);
+        when(fundingService.createInvestment(any(), any())).thenReturn(created);
+
+        assertThat(service.submit(investment(), null)).isSameAs(created);
+
+        assertThat(registry.get("cinefund.invest.group-commit.caller-runs").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cinefund.invest.group-commit.batch.size").summary().count()).isZero();
+    }
+
+    private void start(boolean enabled, int windowMs) {
+        service = new InvestmentGroupCommitService(100, registry);
+        ReflectionTestUtils.setField(service, "fundingService", fundingService);
+        ReflectionTestUtils.setField(service, "enabled", enabled);
+        ReflectionTestUtils.setField(service, "windowMs", (long) windowMs);
+        ReflectionTestUtils.setField(service, "maxBatchSize", 10);
+        service.start();
+    }
+
+    private static InvestmentDto investment() {
+        return new InvestmentDto(1L, 2L, 3L, BigDecimal.TEN);
+    }
+}
@@ -0,0 +1,114 @@
+package com.cinefund.fundingservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PayoutAllocatorTest {
+
+    @Test
+    void sharesAddUpToTheAmount() {
+        Random random = new Random(7);
+        for (int round = 0; round < 1000; round++) {
+            long[] weights = new long[1 + random.nextInt(50)];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = 1 + random.nextInt(10_000_000);
+            }
+            long amount = random.nextInt(1_000_000_000);
+
+            long[] shares = PayoutAllocator.allocate(weights, amount);
+
+            assertThat(Arrays.stream(shares).sum()).isEqualTo(amount);
+            long weightSum = Arrays.stream(weights).sum();
+            for (int i = 0; i < weights.length; i++) {
+                // Never more than one cent away from the exact quota
+                double quota = (double) weights[i] * amount / weightSum;
+                assertThat((double) shares[i]).isBetween(Math.floor(quota) - 1e-6, Math.floor(quota) + 1);
+            }
+        }
+    }
+
+    @Test
+    void leftoverCentsGoToTheLowerIndexOnTies() {
+        assertThat(PayoutAllocator.allocate(new long[]{1, 1, 1}, 100)).containsExactly(34, 33, 33);
+        assertThat(PayoutAllocator.allocate(new long[]{1, 1, 1, 1}, 2)).containsExactly(1, 1, 0, 0);
+        assertThat(PayoutAllocator.allocate(new long[]{5, 5, 5}, 1)).containsExactly(1, 0, 0);
+    }
+
+    @Test
+    void leftoverCentsGoToTheLargestRemainders() {
+        // Quotas 3.33 and 6.67: the cent goes to the larger remainder even though it comes second
+        assertThat(PayoutAllocator.allocate(new long[]{1, 2}, 10)).containsExactly(3, 7);
+        // Quotas 1.4, 2.8, 5.6 and 0.2: remainders .8 and .6 earn the two leftover cents
+        assertThat(PayoutAllocator.allocate(new long[]{7, 14, 28, 1}, 10)).containsExactly(1, 3, 6, 0);
+    }
+
+    @Test
+    void productsBeyondLongRangeAreExact() {
+        long[] weights = {Long.MAX_VALUE / 4, Long.MAX_VALUE / 4, 3};
+        long amount = 1_000_000_000_000L;
+
+        long[] shares = PayoutAllocator.allocate(weights, amount);
+
+        assertThat(Arrays.stream(shares).sum()).isEqualTo(amount);
+        assertThat(shares[0]).isEqualTo(shares[1]);
+        assertThat(shares[2]).isZero();
+    }
+
+    @Test
+    void zeroAmountAndEmptyWeights() {
+        assertThat(PayoutAllocator.allocate(new long[]{3, 4}, 0)).containsExactly(0, 0);
+        assertThat(PayoutAllocator.allocate(new long[0], 500)).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> PayoutAllocator.allocate(new long[]{1}, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayoutAllocator.allocate(new long[]{1, -1}, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayoutAllocator.allocate(new long[]{0, 0}, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayoutAllocator.cumulativeShare(10, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cumulativeSharesAcrossChunksAddUpToTheAmount() {
+        Random random = new Random(11);
+        long[] weights = new long[10_000];
+        long weightSum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 + random.nextInt(500_000);
+            weightSum += weights[i];
+        }
+        long amount = 987_654_321L;
+
+        long total = 0;
+        long allocated = 0;
+        long shareBefore = 0;
+        for (long weight : weights) {
+            allocated += weight;
+            long shareAfter = PayoutAllocator.cumulativeShare(amount, allocated, weightSum);
+            assertThat(shareAfter).isGreaterThanOrEqualTo(shareBefore);
+            total += shareAfter - shareBefore;
+            shareBefore = shareAfter;
+        }
+
+        assertThat(total).isEqualTo(amount);
+    }
+
+    @Test
+    void convertsToAndFromMinorUnits() {
+        assertThat(PayoutAllocator.toMinorUnits(new BigDecimal("1234.56"))).isEqualTo(123456);
+        assertThat(PayoutAllocator.toMinorUnits(new BigDecimal("0.005"))).isEqualTo(1);
+        assertThat(PayoutAllocator.toMinorUnits(new BigDecimal("10"))).isEqualTo(1000);
+        assertThat(PayoutAllocator.fromMinorUnits(123456)).isEqualByComparingTo("1234.56");
+        assertThat(PayoutAllocator.fromMinorUnits(7).scale()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,156 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.entity.NodeIdLease;
+import com.cinefund.fundingservice.repository.NodeIdLeaseJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SnowflakeTransactionIdGeneratorTest {
+
+    private static final int SEQUENCE_SIZE = 1 << SnowflakeTransactionIdGenerator.SEQUENCE_BITS;
+
+    private final AtomicLong millis = new AtomicLong(SnowflakeTransactionIdGenerator.EPOCH_MILLIS + 1_000);
+    private final AtomicLong nanos = new AtomicLong();
+    private final NodeIdLeaseJdbcRepository leaseRepository = mock(NodeIdLeaseJdbcRepository.class);
+
+    @Test
+    void movesToTheNextMillisecondWhenTheSequenceIsFull() {
+        SnowflakeTransactionIdGenerator generator = fixed(5);
+
+        long previous = -1;
+        for (int i = 0; i < SEQUENCE_SIZE; i++) {
+            long id = generator.nextRawId();
+            assertThat(timestamp(id)).isEqualTo(1_000);
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        long overflow = generator.nextRawId();
+
+        assertThat(timestamp(overflow)).isEqualTo(1_001);
+        assertThat(sequence(overflow)).isZero();
+        assertThat(overflow).isGreaterThan(previous);
+    }
+
+    @Test
+    void keepsIdsIncreasingWhenTheClockStepsBack() {
+        SnowflakeTransactionIdGenerator generator = fixed(5);
+        long before = generator.nextRawId();
+
+        millis.addAndGet(-500);
+        long after = generator.nextRawId();
+        millis.addAndGet(250);
+        long later = generator.nextRawId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(timestamp(after)).isEqualTo(1_000);
+        assertThat(later).isGreaterThan(after);
+
+        millis.addAndGet(251);
+        assertThat(timestamp(generator.nextRawId())).isEqualTo(1_001);
+    }
+
+    @Test
+    void encodesTheNodeIdAndKeepsStringOrder() {
+        SnowflakeTransactionIdGenerator generator = fixed(SnowflakeTransactionIdGenerator.MAX_NODE_ID);
+
+        String first = generator.nextId("TXN");
+        String second = generator.nextId("TXN");
+        millis.addAndGet(1);
+        String third = generator.nextId("TXN");
+
+        assertThat(first).startsWith("TXN").hasSize(16);
+        assertThat(first).isLessThan(second);
+        assertThat(second).isLessThan(third);
+        assertThat(node(generator.nextRawId())).isEqualTo(SnowflakeTransactionIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void rejectsNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeTransactionIdGenerator(SnowflakeTransactionIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void startsALeasedNodeIdAfterItsPreviousHolder() {
+        when(leaseRepository.claim(anyString(), anyLong(), anyLong())).thenReturn(new NodeIdLease(7, 5_000L));
+        when(leaseRepository.renew(anyInt(), anyString(), anyLong(), anyLong())).thenReturn(true);
+
+        SnowflakeTransactionIdGenerator generator = leased();
+        long id = generator.nextRawId();
+
+        assertThat(node(id)).isEqualTo(7);
+        assertThat(timestamp(id)).isEqualTo(5_001);
+        verify(leaseRepository).renew(eq(7), anyString(), eq(60_000L), eq(65_000L));
+    }
+
+    @Test
+    void stopsIssuingIdsOnceTheLeaseRunsOut() {
+        when(leaseRepository.claim(anyString(), anyLong(), anyLong())).thenReturn(new NodeIdLease(7, 0L));
+        when(leaseRepository.renew(anyInt(), anyString(), anyLong(), anyLong())).thenReturn(true);
+        SnowflakeTransactionIdGenerator generator = leased();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        generator.nextRawId();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThatThrownBy(generator::nextRawId).isInstanceOf(IllegalStateException.class);
+
+        generator.renewLease();
+        assertThat(node(generator.nextRawId())).isEqualTo(7);
+    }
+
+    @Test
+    void claimsAnotherNodeIdWhenTheLeaseIsTakenOver() {
+        when(leaseRepository.claim(anyString(), anyLong(), anyLong()))
+                .thenReturn(new NodeIdLease(7, 0L), new NodeIdLease(8, 9_000L));
+        when(leaseRepository.renew(eq(7), anyString(), anyLong(), anyLong())).thenReturn(true, false);
+        when(leaseRepository.renew(eq(8), anyString(), anyLong(), anyLong())).thenReturn(true);
+        SnowflakeTransactionIdGenerator generator = leased();
+        long before = generator.nextRawId();
+
+        generator.renewLease();
+        long after = generator.nextRawId();
+
+        assertThat(generator.nodeId()).isEqualTo(8);
+        assertThat(node(after)).isEqualTo(8);
+        assertThat(timestamp(after)).isEqualTo(9_001);
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void failsToStartWhenEveryNodeIdIsLeased() {
+        assertThatThrownBy(this::leased).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SnowflakeTransactionIdGenerator fixed(long nodeId) {
+        return new SnowflakeTransactionIdGenerator(nodeId, null, 0, millis::get, nanos::get);
+    }
+
+    private SnowflakeTransactionIdGenerator leased() {
+        return new SnowflakeTransactionIdGenerator(-1, leaseRepository, 60_000, millis::get, nanos::get);
+    }
+
+    private static long timestamp(long id) {
+        return id >>> (SnowflakeTransactionIdGenerator.NODE_BITS + SnowflakeTransactionIdGenerator.SEQUENCE_BITS);
+    }
+
+    private static long node(long id) {
+        return (id >>> SnowflakeTransactionIdGenerator.SEQUENCE_BITS) & SnowflakeTransactionIdGenerator.MAX_NODE_ID;
+    }
+
+    private static long sequence(long id) {
+        return id & (SEQUENCE_SIZE - 1);
+    }
+}
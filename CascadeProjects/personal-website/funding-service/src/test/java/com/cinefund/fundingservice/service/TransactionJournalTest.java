@@ -0,0 +1,189 @@
+package com.cinefund.fundingservice.service;
+
+import com.cinefund.fundingservice.entity.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionJournalTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysEveryRecordOfACleanSegment() {
+        writeRecords(5);
+
+        List<Path> segments = TransactionJournal.listSegments(directory);
+        assertThat(segments).hasSize(1);
+        List<TransactionJournal.Entry> entries = TransactionJournal.read(segments.get(0));
+
+        assertThat(entries).extracting(TransactionJournal.Entry::getTransactionId)
+                .containsExactly("TXN0", "TXN1", "TXN2", "TXN3", "DISCARD4");
+        Transaction first = entries.get(0).getTransaction();
+        assertThat(first.getUserId()).isEqualTo(100L);
+        assertThat(first.getMovieId()).isEqualTo(7L);
+        assertThat(first.getProducerId()).isNull();
+        assertThat(first.getAmount()).isEqualByComparingTo("1000.50");
+        assertThat(first.getType()).isEqualTo(Transaction.TransactionType.INVESTMENT);
+        assertThat(first.getDescription()).isEqualTo("Investment 0 – café");
+        assertThat(first.getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 5, 1, 10, 30, 0, 123_000_000));
+        assertThat(entries.get(4).getKind()).isEqualTo(TransactionJournal.Kind.DISCARD);
+    }
+
+    @Test
+    void tornPayloadStopsReplayAtTheLastIntactRecord() throws IOException {
+        writeRecords(5);
+        Path segment = TransactionJournal.listSegments(directory).get(0);
+        List<Integer> offsets = recordOffsets(segment);
+
+        // The crash left the header of the last record but only half of its payload
+        int last = offsets.get(offsets.size() - 1);
+        int length = readInt(segment, last);
+        zero(segment, last + 8 + length / 2, length - length / 2);
+
+        assertThat(TransactionJournal.read(segment)).extracting(TransactionJournal.Entry::getTransactionId)
+                .containsExactly("TXN0", "TXN1", "TXN2", "TXN3");
+    }
+
+    @Test
+    void tornHeaderStopsReplayAtTheLastIntactRecord() throws IOException {
+        writeRecords(3);
+        Path segment = TransactionJournal.listSegments(directory).get(0);
+        List<Integer> offsets = recordOffsets(segment);
+
+        // Only the length of the last record reached the disk, not its checksum
+        zero(segment, offsets.get(2) + 4, 4);
+
+        assertThat(TransactionJournal.read(segment)).extracting(TransactionJournal.Entry::getTransactionId)
+                .containsExactly("TXN0", "TXN1");
+    }
+
+    @Test
+    void truncatedFileStopsReplayAtTheLastIntactRecord() throws IOException {
+        writeRecords(3);
+        Path segment = TransactionJournal.listSegments(directory).get(0);
+        List<Integer> offsets = recordOffsets(segment);
+
+        // The length points past the end of the file
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(offsets.get(2) + 12);
+        }
+
+        assertThat(TransactionJournal.read(segment)).extracting(TransactionJournal.Entry::getTransactionId)
+                .containsExactly("TXN0", "TXN1");
+    }
+
+    @Test
+    void corruptRecordHidesEverythingAfterIt() throws IOException {
+        writeRecords(5);
+        Path segment = TransactionJournal.listSegments(directory).get(0);
+        List<Integer> offsets = recordOffsets(segment);
+
+        int middle = offsets.get(2);
+        ByteBuffer flipped = ByteBuffer.allocate(1).put(0, (byte) (readByte(segment, middle + 12) ^ 0x01));
+        write(segment, middle + 12, flipped);
+
+        assertThat(TransactionJournal.read(segment)).extracting(TransactionJournal.Entry::getTransactionId)
+                .containsExactly("TXN0", "TXN1");
+    }
+
+    @Test
+    void rollsToNewSegmentsAndDeletesThemOnceReleased() {
+        List<TransactionJournal.Entry> entries = new ArrayList<>();
+        TransactionJournal journal = new TransactionJournal(directory, 1024, 41);
+        for (int i = 0; i < 20; i++) {
+            TransactionJournal.Entry entry = TransactionJournal.Entry.insert(transaction(i));
+            journal.append(entry);
+            entries.add(entry);
+        }
+
+        List<Path> segments = TransactionJournal.listSegments(directory);
+        assertThat(segments.size()).isGreaterThan(1);
+        assertThat(TransactionJournal.sequenceOf(segments.get(0))).isEqualTo(41);
+        List<String> replayed = new ArrayList<>();
+        for (Path segment : segments) {
+            TransactionJournal.read(segment).forEach(entry -> replayed.add(entry.getTransactionId()));
+        }
+        assertThat(replayed).containsExactlyElementsOf(entries.stream().map(TransactionJournal.Entry::getTransactionId).toList());
+
+        journal.release(entries);
+        // Only the active segment is left, and close removes it once it is empty
+        assertThat(TransactionJournal.listSegments(directory)).hasSize(1);
+        journal.close();
+        assertThat(TransactionJournal.listSegments(directory)).isEmpty();
+    }
+
+    private void writeRecords(int count) {
+        TransactionJournal journal = new TransactionJournal(directory, SEGMENT_SIZE, 1);
+        for (int i = 0; i < count - 1; i++) {
+            journal.append(TransactionJournal.Entry.insert(transaction(i)));
+        }
+        journal.append(TransactionJournal.Entry.discard("DISCARD" + (count - 1)));
+        // Unreleased records keep the segment on disk, as after a crash
+        journal.close();
+    }
+
+    private static Transaction transaction(int i) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId("TXN" + i);
+        transaction.setUserId(100L + i);
+        transaction.setMovieId(7L);
+        transaction.setAmount(new BigDecimal("1000.50"));
+        transaction.setType(Transaction.TransactionType.INVESTMENT);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        transaction.setDescription("Investment " + i + " – café");
+        transaction.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30, 0, 123_000_000));
+        return transaction;
+    }
+
+    private static List<Integer> recordOffsets(Path segment) throws IOException {
+        List<Integer> offsets = new ArrayList<>();
+        int offset = 0;
+        int length;
+        while ((length = readInt(segment, offset)) > 0) {
+            offsets.add(offset);
+            offset += 8 + length;
+        }
+        return offsets;
+    }
+
+    private static int readInt(Path segment, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            channel.read(buffer, position);
+            return buffer.flip().getInt();
+        }
+    }
+
+    private static byte readByte(Path segment, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            return buffer.get(0);
+        }
+    }
+
+    private static void zero(Path segment, int position, int length) throws IOException {
+        write(segment, position, ByteBuffer.allocate(length));
+    }
+
+    private static void write(Path segment, int position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.cinefund.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Creates the synthetic data set through the public API, so every row goes through the same
+ * validation and side effects as real traffic: producers, investors with funded wallets and
+ * logged-in tokens, movies open for funding, and investments of which every other one is
+ * confirmed (the payout phase pays those out).
+ */
+public class DataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final BigDecimal WALLET_FUNDS = new BigDecimal("100000000");
+    // Far above what a run can raise, so movies stay open for funding
+    private static final BigDecimal MOVIE_BUDGET = new BigDecimal("1000000000000");
+
+    private final GatewayClient client;
+    private final ExecutorService executor;
+
+    public DataSeeder(GatewayClient client, ExecutorService executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    public SeedData seed(LoadTestOptions options) throws InterruptedException {
+        long startNanos = System.nanoTime();
+
+        List<Producer> producers = parallel(options.getProducers(), i -> {
+            String username = "lt-producer-" + i;
+            long id = client.registerUser(username, PASSWORD, "PRODUCER").get("id").asLong();
+            return new Producer(id, username);
+        });
+        log.info("Registered {} producers", producers.size());
+
+        List<SeedData.Investor> investors = parallel(options.getInvestors(), i -> {
+            String username = "lt-investor-" + i;
+            long id = client.registerUser(username, PASSWORD, "INVESTOR").get("id").asLong();
+            String token = client.login(username, PASSWORD);
+            client.fundWallet(id, token, WALLET_FUNDS);
+            return new SeedData.Investor(id, token);
+        });
+        log.info("Registered {} investors", investors.size());
+
+        List<SeedData.Movie> movies = parallel(options.getMovies(), i -> {
+            Producer producer = producers.get(i % producers.size());
+            JsonNode movie = client.createMovie(producer.id, producer.username, "Load Test Movie " + i, MOVIE_BUDGET);
+            return new SeedData.Movie(movie.get("id").asLong(), producer.id);
+        });
+        log.info("Created {} movies", movies.size());
+
+        SeedData data = new SeedData(investors, movies);
+        parallel(options.getSeedInvestments(), i -> {
+            SeedData.Investor investor = investors.get(i % investors.size());
+            SeedData.Movie movie = movies.get(i % movies.size());
+            long investmentId = client.invest(investor.getId(), investor.getToken(), movie.getId(),
+                    SeedData.randomAmount()).get("id").asLong();
+            if (i % 2 == 0) {
+                client.confirm(client.transactionIdOf(investmentId));
+            }
+            return investmentId;
+        });
+        log.info("Made {} investments, {} confirmed, in {} s", options.getSeedInvestments(),
+                (options.getSeedInvestments() + 1) / 2, (System.nanoTime() - startNanos) / 1_000_000_000);
+        return data;
+    }
+
+    // Runs count tasks on the executor and returns their results in index order
+    private <T> List<T> parallel(int count, IntFunction<T> task) throws InterruptedException {
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> task.apply(index)));
+        }
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Seeding failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+
+    private static class Producer {
+        private final long id;
+        private final String username;
+
+        Producer(long id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.cinefund.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The platform's REST API as the frontend sees it, through the gateway. Every call is timed
+ * and recorded under its route template in the current {@link RouteStats}.
+ */
+public class GatewayClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile RouteStats stats;
+
+    public GatewayClient(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    public void recordTo(RouteStats stats) {
+        this.stats = stats;
+    }
+
+    public JsonNode registerUser(String username, String password, String role) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("username", username);
+        body.put("email", username + "@loadtest.cinefund.com");
+        body.put("password", password);
+        body.put("firstName", "Load");
+        body.put("lastName", username);
+        body.put("role", role);
+        return call("POST /api/users/register", post("/api/users/register", body)).get("user");
+    }
+
+    public String login(String username, String password) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("usernameOrEmail", username);
+        body.put("password", password);
+        return call("POST /api/users/login", post("/api/users/login", body)).get("token").asText();
+    }
+
+    public void fundWallet(long userId, String token, BigDecimal amount) {
+        HttpRequest request = request("/api/users/" + userId + "/wallet?amount=" + amount.toPlainString())
+                .header("Authorization", "Bearer " + token)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        call("PUT /api/users/{id}/wallet", request);
+    }
+
+    public JsonNode createMovie(long producerId, String producerName, String title, BigDecimal budget) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("title", title);
+        body.put("description", "Synthetic movie created by the load test");
+        body.put("budget", budget);
+        body.put("expectedReturnPercentage", new BigDecimal("15.00"));
+        body.put("producerId", producerId);
+        body.put("producerName", producerName);
+        body.put("genre", "Drama");
+        body.put("fundingDeadline", LocalDate.now().plusYears(1).toString());
+        return call("POST /api/movies", post("/api/movies", body)).get("movie");
+    }
+
+    public JsonNode browseFunding() {
+        return call("GET /api/movies/funding", get("/api/movies/funding"));
+    }
+
+    public JsonNode getMovie(long movieId) {
+        return call("GET /api/movies/{id}", get("/api/movies/" + movieId));
+    }
+
+    public JsonNode invest(long userId, String token, long movieId, BigDecimal amount) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("movieId", movieId);
+        body.put("amount", amount);
+        HttpRequest request = request("/api/users/" + userId + "/invest")
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(body)))
+                .build();
+        return call("POST /api/users/{id}/invest", request).get("investment");
+    }
+
+    public String transactionIdOf(long investmentId) {
+        return call("GET /api/funding/investment/{id}", get("/api/funding/investment/" + investmentId))
+                .get("investment").get("transactionId").asText();
+    }
+
+    public JsonNode confirm(String transactionId) {
+        HttpRequest request = request("/api/funding/confirm/" + transactionId)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return call("PUT /api/funding/confirm/{transactionId}", request);
+    }
+
+    public JsonNode payReturns(long producerId, long movieId, BigDecimal totalRevenue) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("totalRevenue", totalRevenue);
+        body.put("notes", "Load test payout");
+        return call("POST /api/funding/producer/{producerId}/movie/{movieId}/returns",
+                post("/api/funding/producer/" + producerId + "/movie/" + movieId + "/returns", body));
+    }
+
+    private JsonNode call(String route, HttpRequest request) {
+        long startNanos = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            record(route, System.nanoTime() - startNanos, true);
+            throw new ApiException(route, -1, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(route, -1, "interrupted");
+        }
+        long latencyNanos = System.nanoTime() - startNanos;
+
+        JsonNode body = parse(response.body());
+        boolean error = response.statusCode() >= 400 || (body.has("success") && !body.get("success").asBoolean());
+        record(route, latencyNanos, error);
+        if (error) {
+            String message = body.has("message") ? body.get("message").asText() : "HTTP " + response.statusCode();
+            throw new ApiException(route, response.statusCode(), message);
+        }
+        return body;
+    }
+
+    private void record(String route, long latencyNanos, boolean error) {
+        RouteStats current = stats;
+        if (current != null) {
+            current.record(route, latencyNanos, error);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, Object> body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(body)))
+                .build();
+    }
+
+    private byte[] json(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialise request body", e);
+        }
+    }
+
+    private JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.createObjectNode();
+        }
+    }
+
+    /**
+     * A call that failed at the transport level, answered with an error status, or returned
+     * {@code "success": false}.
+     */
+    public static class ApiException extends RuntimeException {
+        private final int status;
+
+        public ApiException(String route, int status, String message) {
+            super(route + " failed" + (status > 0 ? " (" + status + ")" : "") + ": " + message);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
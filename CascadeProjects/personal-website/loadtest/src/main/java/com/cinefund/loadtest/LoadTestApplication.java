@@ -0,0 +1,251 @@
+package com.cinefund.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: starts PostgreSQL and all four services, seeds data through the
+ * gateway, runs a warm-up and a measured phase of mixed traffic, pays out a few movies, and
+ * reports latency percentiles and throughput per route.
+ */
+public class LoadTestApplication {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestOptions options;
+    private final String runId = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    private final List<ServiceProcess> services = new ArrayList<>();
+
+    public LoadTestApplication(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.isHelp()) {
+            System.out.println(LoadTestOptions.USAGE);
+            return;
+        }
+        new LoadTestApplication(options).run();
+    }
+
+    public void run() throws Exception {
+        Path runDir = options.getResultsDir().toAbsolutePath().resolve(runId);
+        Files.createDirectories(runDir);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+        Thread stopServices = new Thread(this::stopServices, "loadtest-shutdown");
+        Runtime.getRuntime().addShutdownHook(stopServices);
+
+        LoadTestDatabase database = null;
+        try {
+            database = LoadTestDatabase.start(options);
+            startPlatform(database, http, runDir);
+
+            GatewayClient client = new GatewayClient(http, "http://localhost:" + port("gateway"));
+            client.recordTo(new RouteStats("seed"));
+            SeedData data = new DataSeeder(client, executor).seed(options);
+            Workload workload = new Workload(client, data, options);
+
+            if (options.getWarmupSeconds() > 0) {
+                log.info("Warming up for {} s", options.getWarmupSeconds());
+                client.recordTo(new RouteStats("warmup"));
+                workload.run(Duration.ofSeconds(options.getWarmupSeconds()));
+            }
+
+            log.info("Measuring for {} s with {} virtual users", options.getDurationSeconds(), options.getConcurrency());
+            RouteStats load = new RouteStats("load");
+            client.recordTo(load);
+            workload.run(Duration.ofSeconds(options.getDurationSeconds()));
+            load.finish();
+
+            List<RouteStats> phases = new ArrayList<>(List.of(load));
+            if (options.getPayouts() > 0) {
+                log.info("Paying out {} movies", options.getPayouts());
+                RouteStats payouts = new RouteStats("payouts");
+                client.recordTo(payouts);
+                workload.payOut(options.getPayouts(), executor);
+                payouts.finish();
+                phases.add(payouts);
+            }
+            report(phases, runDir);
+        } finally {
+            executor.shutdownNow();
+            stopServices();
+            // Only once the services are gone: they release leases and locks on their way out
+            if (database != null) {
+                database.close();
+            }
+            Runtime.getRuntime().removeShutdownHook(stopServices);
+        }
+    }
+
+    private void startPlatform(LoadTestDatabase database, HttpClient http, Path runDir) throws Exception {
+        Path projectDir = options.getProjectDir();
+        Path logDir = runDir.resolve("logs");
+
+        Map<String, String> movie = serviceProperties(database, "movie", "loadtest_movies", "movieservice");
+
+        Map<String, String> funding = serviceProperties(database, "funding", "loadtest_investments", "fundingservice");
+        funding.put("funding.journal.directory", runDir.resolve("journal").toString());
+
+        Map<String, String> user = serviceProperties(database, "user", "loadtest_users", "userservice");
+        user.put("services.movie.url", "http://localhost:" + port("movie"));
+        user.put("services.funding.url", "http://localhost:" + port("funding"));
+        user.put("logging.level.org.springframework.security", "INFO");
+
+        // The route list is replaced as a whole, so every route is passed in full
+        Map<String, String> gateway = new LinkedHashMap<>();
+        gateway.put("server.port", String.valueOf(port("gateway")));
+        String[][] routes = {
+                {"user-service", "user", "/api/users/**"},
+                {"movie-service", "movie", "/api/movies/**"},
+                {"funding-service", "funding", "/api/funding/**"}};
+        for (int i = 0; i < routes.length; i++) {
+            String prefix = "spring.cloud.gateway.routes[" + i + "].";
+            gateway.put(prefix + "id", routes[i][0]);
+            gateway.put(prefix + "uri", "http://localhost:" + port(routes[i][1]));
+            gateway.put(prefix + "predicates[0]", "Path=" + routes[i][2]);
+            gateway.put(prefix + "filters[0]", "StripPrefix=0");
+        }
+        gateway.put("logging.level.org.springframework.cloud.gateway", "INFO");
+        gateway.put("logging.level.org.springframework.web.cors", "INFO");
+        gateway.putAll(options.getServiceProperties("gateway"));
+
+        for (String name : List.of("loadtest_movies", "loadtest_investments", "loadtest_users")) {
+            database.recreate(name);
+        }
+        ServiceProcess movieService = start("movie-service", "com.cinefund.movieservice.MovieServiceApplication", movie, logDir);
+        ServiceProcess fundingService = start("funding-service", "com.cinefund.fundingservice.FundingServiceApplication", funding, logDir);
+        ServiceProcess userService = start("user-service", "com.cinefund.userservice.UserServiceApplication", user, logDir);
+        ServiceProcess gatewayService = start("api-gateway", "com.cinefund.apigateway.ApiGatewayApplication", gateway, logDir);
+
+        movieService.awaitReady(http, URI.create("http://localhost:" + port("movie") + "/actuator/health"), STARTUP_TIMEOUT);
+        fundingService.awaitReady(http, URI.create("http://localhost:" + port("funding") + "/actuator/health"), STARTUP_TIMEOUT);
+        userService.awaitReady(http, URI.create("http://localhost:" + port("user") + "/actuator/health"), STARTUP_TIMEOUT);
+        gatewayService.awaitReady(http, URI.create("http://localhost:" + port("gateway") + "/api/movies/funding"), STARTUP_TIMEOUT);
+
+        // Hibernate creates the tables; the partial indexes the queries rely on come from the setup script
+        database.execute("loadtest_investments", indexStatements(projectDir.resolve("create-investment-tables.sql")));
+    }
+
+    private Map<String, String> serviceProperties(LoadTestDatabase database, String service, String databaseName, String basePackage) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", String.valueOf(port(service)));
+        properties.put("spring.datasource.url", database.jdbcUrl(databaseName) + "?reWriteBatchedInserts=true");
+        properties.put("spring.datasource.username", database.getUser());
+        properties.put("spring.datasource.password", database.getPassword());
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.threads.virtual.enabled", String.valueOf(options.isVirtualThreads()));
+        properties.put("logging.level.com.cinefund." + basePackage, "INFO");
+        properties.putAll(options.getServiceProperties(service));
+        return properties;
+    }
+
+    private ServiceProcess start(String module, String mainClass, Map<String, String> properties, Path logDir) throws Exception {
+        ServiceProcess service = ServiceProcess.start(module, options.getProjectDir().resolve(module), mainClass,
+                options.getJvmArgs(), properties, logDir);
+        synchronized (services) {
+            services.add(service);
+        }
+        return service;
+    }
+
+    private int port(String service) {
+        return options.getBasePort() + switch (service) {
+            case "gateway" -> 10;
+            case "user" -> 4;
+            case "movie" -> 2;
+            case "funding" -> 3;
+            default -> throw new IllegalArgumentException("Unknown service " + service);
+        };
+    }
+
+    private void stopServices() {
+        List<ServiceProcess> running;
+        synchronized (services) {
+            running = new ArrayList<>(services);
+            services.clear();
+        }
+        Collections.reverse(running);
+        for (ServiceProcess service : running) {
+            log.info("Stopping {}", service.getName());
+            service.close();
+        }
+    }
+
+    static List<String> indexStatements(Path script) throws IOException {
+        List<String> statements = new ArrayList<>();
+        for (String statement : Files.readString(script).split(";")) {
+            StringBuilder sql = new StringBuilder();
+            for (String line : statement.split("\\R")) {
+                if (!line.trim().startsWith("--")) {
+                    sql.append(line).append('\n');
+                }
+            }
+            String trimmed = sql.toString().trim();
+            if (trimmed.startsWith("CREATE INDEX")) {
+                statements.add(trimmed);
+            }
+        }
+        return statements;
+    }
+
+    private void report(List<RouteStats> phases, Path runDir) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runId", runId);
+        report.put("options", options.describe());
+        List<Map<String, Object>> phaseReports = new ArrayList<>();
+        for (RouteStats phase : phases) {
+            List<Map<String, Object>> routes = phase.summarize();
+            Map<String, Object> phaseReport = new LinkedHashMap<>();
+            phaseReport.put("phase", phase.getPhase());
+            phaseReport.put("durationSeconds", Math.round(phase.getElapsedSeconds() * 100) / 100.0);
+            phaseReport.put("routes", routes);
+            phaseReports.add(phaseReport);
+            print(phase, routes);
+        }
+        report.put("phases", phaseReports);
+
+        Path file = runDir.resolve("report.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        log.info("Report written to {}", file);
+    }
+
+    private static void print(RouteStats phase, List<Map<String, Object>> routes) {
+        System.out.printf("%nPhase %s (%.1f s)%n", phase.getPhase(), phase.getElapsedSeconds());
+        String format = "%-62s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n";
+        System.out.printf(format, "Route", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "Max ms");
+        for (Map<String, Object> route : routes) {
+            System.out.printf(format, route.get("route"), route.get("requests"), route.get("errors"), route.get("throughput"),
+                    route.get("p50Ms"), route.get("p90Ms"), route.get("p95Ms"), route.get("p99Ms"), route.get("p999Ms"), route.get("maxMs"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.cinefund.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The PostgreSQL server the services run against: an embedded one started for the run, or an
+ * existing server given with {@code --jdbc-url}. Either way each service gets a freshly
+ * created database of its own.
+ */
+public class LoadTestDatabase implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDatabase.class);
+
+    private final EmbeddedPostgres embedded;
+    private final String serverUrl;
+    private final String user;
+    private final String password;
+
+    private LoadTestDatabase(EmbeddedPostgres embedded, String serverUrl, String user, String password) {
+        this.embedded = embedded;
+        this.serverUrl = serverUrl.endsWith("/") ? serverUrl : serverUrl + "/";
+        this.user = user;
+        this.password = password;
+    }
+
+    public static LoadTestDatabase start(LoadTestOptions options) {
+        if (options.getJdbcUrl() != null) {
+            log.info("Using PostgreSQL at {}", options.getJdbcUrl());
+            return new LoadTestDatabase(null, options.getJdbcUrl(), options.getDbUser(), options.getDbPassword());
+        }
+        try {
+            EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                    // Room for every service's connection pool
+                    .setServerConfig("max_connections", "300")
+                    .start();
+            log.info("Started embedded PostgreSQL on port {}", embedded.getPort());
+            return new LoadTestDatabase(embedded, "jdbc:postgresql://localhost:" + embedded.getPort() + "/", "postgres", "postgres");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    public String getUser() { return user; }
+    public String getPassword() { return password; }
+
+    public String jdbcUrl(String database) {
+        return serverUrl + database;
+    }
+
+    /**
+     * Drops the database if it is left over from an earlier run and creates it empty.
+     */
+    public void recreate(String database) {
+        execute("postgres", List.of(
+                "DROP DATABASE IF EXISTS " + database + " WITH (FORCE)",
+                "CREATE DATABASE " + database));
+    }
+
+    public void execute(String database, List<String> statements) {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(database), user, password);
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to run SQL against " + database + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (embedded == null) {
+            return;
+        }
+        try {
+            embedded.close();
+        } catch (IOException e) {
+            log.warn("Could not stop embedded PostgreSQL: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.cinefund.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Command line of the load test. Every option is {@code --name=value}; flags take no value.
+ */
+public class LoadTestOptions {
+
+    static final String USAGE = String.join("\n",
+            "Usage: java -jar loadtest/target/loadtest.jar [options]",
+            "",
+            "Platform",
+            "  --project-dir=DIR        directory holding the service modules (default: . or ..)",
+            "  --base-port=N            gateway on N+10, users N+4, movies N+2, funding N+3 (default 18080)",
+            "  --jdbc-url=URL           use this PostgreSQL server (jdbc:postgresql://host:port/) instead of an embedded one",
+            "  --db-user=NAME           database user for --jdbc-url (default postgres)",
+            "  --db-password=SECRET     database password for --jdbc-url (default password)",
+            "  --jvm-args=ARGS          JVM options for every service (default \"-Xms256m -Xmx1g\")",
+            "  --virtual-threads        run the services with spring.threads.virtual.enabled (Java 21)",
+            "  --user=KEY=VALUE         extra property for user-service (repeatable; also --movie, --funding, --gateway)",
+            "",
+            "Data",
+            "  --investors=N            investors to register (default 200)",
+            "  --producers=N            producers to register (default 10)",
+            "  --movies=N               movies to create (default 40)",
+            "  --seed-investments=N     investments made before the run, half of them confirmed (default 400)",
+            "",
+            "Load",
+            "  --concurrency=N          concurrent virtual users (default 50)",
+            "  --warmup=SECONDS         unmeasured warm-up (default 15)",
+            "  --duration=SECONDS       measured run (default 60)",
+            "  --mix=OP=W,...           operation weights over browse, movie, invest, confirm",
+            "                           (default browse=60,movie=15,invest=15,confirm=10)",
+            "  --hot-movie              every investment goes to the same movie",
+            "  --payouts=N              movies paid out after the run (default 5)",
+            "  --results-dir=DIR        report and service logs (default loadtest-results)",
+            "  --help");
+
+    private Path projectDir;
+    private int basePort = 18080;
+    private String jdbcUrl;
+    private String dbUser = "postgres";
+    private String dbPassword = "password";
+    private String jvmArgs = "-Xms256m -Xmx1g";
+    private boolean virtualThreads;
+    private final Map<String, Map<String, String>> serviceProperties = new HashMap<>();
+
+    private int investors = 200;
+    private int producers = 10;
+    private int movies = 40;
+    private int seedInvestments = 400;
+
+    private int concurrency = 50;
+    private int warmupSeconds = 15;
+    private int durationSeconds = 60;
+    private Map<Operation, Integer> mix = parseMix("browse=60,movie=15,invest=15,confirm=10");
+    private boolean hotMovie;
+    private int payouts = 5;
+    private Path resultsDir = Paths.get("loadtest-results");
+
+    private boolean help;
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg.substring(2) : arg.substring(2, equals);
+            String value = equals < 0 ? null : arg.substring(equals + 1);
+            options.set(name, value);
+        }
+        if (options.projectDir == null) {
+            options.projectDir = Files.isDirectory(Paths.get("user-service")) ? Paths.get(".") : Paths.get("..");
+        }
+        options.projectDir = options.projectDir.toAbsolutePath().normalize();
+        if (!Files.isDirectory(options.projectDir.resolve("user-service"))) {
+            throw new IllegalArgumentException("No service modules under " + options.projectDir + "; pass --project-dir");
+        }
+        if (options.movies < options.payouts) {
+            throw new IllegalArgumentException("--payouts cannot exceed --movies");
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "help" -> help = true;
+            case "virtual-threads" -> virtualThreads = true;
+            case "hot-movie" -> hotMovie = true;
+            case "project-dir" -> projectDir = Paths.get(required(name, value));
+            case "base-port" -> basePort = positive(name, value);
+            case "jdbc-url" -> jdbcUrl = required(name, value);
+            case "db-user" -> dbUser = required(name, value);
+            case "db-password" -> dbPassword = required(name, value);
+            case "jvm-args" -> jvmArgs = required(name, value);
+            case "user", "movie", "funding", "gateway" -> {
+                String property = required(name, value);
+                int equals = property.indexOf('=');
+                if (equals <= 0) {
+                    throw new IllegalArgumentException("--" + name + " expects KEY=VALUE, got " + property);
+                }
+                serviceProperties.computeIfAbsent(name, key -> new LinkedHashMap<>())
+                        .put(property.substring(0, equals), property.substring(equals + 1));
+            }
+            case "investors" -> investors = positive(name, value);
+            case "producers" -> producers = positive(name, value);
+            case "movies" -> movies = positive(name, value);
+            case "seed-investments" -> seedInvestments = nonNegative(name, value);
+            case "concurrency" -> concurrency = positive(name, value);
+            case "warmup" -> warmupSeconds = nonNegative(name, value);
+            case "duration" -> durationSeconds = positive(name, value);
+            case "mix" -> mix = parseMix(required(name, value));
+            case "payouts" -> payouts = nonNegative(name, value);
+            case "results-dir" -> resultsDir = Paths.get(required(name, value));
+            default -> throw new IllegalArgumentException("Unknown option --" + name);
+        }
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("--mix expects OP=WEIGHT pairs, got " + part);
+            }
+            Operation operation;
+            try {
+                operation = Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown operation in --mix: " + pair[0]);
+            }
+            weights.put(operation, nonNegative("mix", pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix weights must not all be zero");
+        }
+        return weights;
+    }
+
+    private static String required(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("--" + name + " needs a value");
+        }
+        return value;
+    }
+
+    private static int positive(String name, String value) {
+        int number = nonNegative(name, value);
+        if (number == 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return number;
+    }
+
+    private static int nonNegative(String name, String value) {
+        try {
+            int number = Integer.parseInt(required(name, value));
+            if (number < 0) {
+                throw new IllegalArgumentException("--" + name + " must not be negative");
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " expects a number, got " + value);
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("database", jdbcUrl == null ? "embedded" : jdbcUrl);
+        description.put("jvmArgs", jvmArgs);
+        description.put("virtualThreads", virtualThreads);
+        description.put("serviceProperties", serviceProperties);
+        description.put("investors", investors);
+        description.put("producers", producers);
+        description.put("movies", movies);
+        description.put("seedInvestments", seedInvestments);
+        description.put("concurrency", concurrency);
+        description.put("warmupSeconds", warmupSeconds);
+        description.put("durationSeconds", durationSeconds);
+        description.put("mix", mix);
+        description.put("hotMovie", hotMovie);
+        description.put("payouts", payouts);
+        return description;
+    }
+
+    // Getters
+    public Path getProjectDir() { return projectDir; }
+    public int getBasePort() { return basePort; }
+    public String getJdbcUrl() { return jdbcUrl; }
+    public String getDbUser() { return dbUser; }
+    public String getDbPassword() { return dbPassword; }
+    public String getJvmArgs() { return jvmArgs; }
+    public boolean isVirtualThreads() { return virtualThreads; }
+    public Map<String, String> getServiceProperties(String service) {
+        return serviceProperties.getOrDefault(service, Collections.emptyMap());
+    }
+    public int getInvestors() { return investors; }
+    public int getProducers() { return producers; }
+    public int getMovies() { return movies; }
+    public int getSeedInvestments() { return seedInvestments; }
+    public int getConcurrency() { return concurrency; }
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public int getDurationSeconds() { return durationSeconds; }
+    public Map<Operation, Integer> getMix() { return mix; }
+    public boolean isHotMovie() { return hotMovie; }
+    public int getPayouts() { return payouts; }
+    public Path getResultsDir() { return resultsDir; }
+    public boolean isHelp() { return help; }
+}
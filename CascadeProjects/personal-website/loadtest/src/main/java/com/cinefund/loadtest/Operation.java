@@ -0,0 +1,15 @@
+package com.cinefund.loadtest;
+
+/**
+ * What a virtual user does on one iteration of the load phase.
+ */
+public enum Operation {
+    // Movies open for funding, the catalogue page
+    BROWSE,
+    // One movie's detail page
+    MOVIE,
+    // An investor funds a movie through user-service
+    INVEST,
+    // An investment made during the run is looked up and confirmed
+    CONFIRM
+}
@@ -0,0 +1,88 @@
+package com.cinefund.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and error counts per route for one phase of the run. Recording is lock-free, so
+ * it adds next to nothing to the latency being measured.
+ */
+public class RouteStats {
+
+    // 1 microsecond to 5 minutes at 3 significant digits
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String phase;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public RouteStats(String phase) {
+        this.phase = phase;
+    }
+
+    public void record(String route, long latencyNanos, boolean error) {
+        Route stats = routes.computeIfAbsent(route, name -> new Route());
+        stats.recorder.recordValue(Math.min(Math.max(latencyNanos, 1000), HIGHEST_TRACKABLE_NANOS));
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public double getElapsedSeconds() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1e9;
+    }
+
+    /**
+     * One summary per route, sorted by route. Call once, after {@link #finish()}.
+     */
+    public List<Map<String, Object>> summarize() {
+        double seconds = getElapsedSeconds();
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (String route : new TreeSet<>(routes.keySet())) {
+            Route stats = routes.get(route);
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("route", route);
+            summary.put("requests", requests);
+            summary.put("errors", stats.errors.sum());
+            summary.put("throughput", round(requests / seconds));
+            summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            summary.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            summary.put("p95Ms", millis(histogram.getValueAtPercentile(95)));
+            summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            summary.put("maxMs", millis(histogram.getMaxValue()));
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static class Route {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
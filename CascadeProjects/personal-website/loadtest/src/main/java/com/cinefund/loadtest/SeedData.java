@@ -0,0 +1,62 @@
+package com.cinefund.loadtest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The investors and movies created by {@link DataSeeder}, shared read-only by the virtual users.
+ */
+public class SeedData {
+
+    private final List<Investor> investors;
+    private final List<Movie> movies;
+
+    public SeedData(List<Investor> investors, List<Movie> movies) {
+        this.investors = investors;
+        this.movies = movies;
+    }
+
+    public Investor randomInvestor() {
+        return investors.get(ThreadLocalRandom.current().nextInt(investors.size()));
+    }
+
+    public Movie randomMovie() {
+        return movies.get(ThreadLocalRandom.current().nextInt(movies.size()));
+    }
+
+    public List<Movie> getMovies() {
+        return movies;
+    }
+
+    // Whole amounts between 100 and 5,000
+    public static BigDecimal randomAmount() {
+        return BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 5001));
+    }
+
+    public static class Investor {
+        private final long id;
+        private final String token;
+
+        public Investor(long id, String token) {
+            this.id = id;
+            this.token = token;
+        }
+
+        public long getId() { return id; }
+        public String getToken() { return token; }
+    }
+
+    public static class Movie {
+        private final long id;
+        private final long producerId;
+
+        public Movie(long id, long producerId) {
+            this.id = id;
+            this.producerId = producerId;
+        }
+
+        public long getId() { return id; }
+        public long getProducerId() { return producerId; }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cinefund.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One service running in its own JVM, started from the module's compiled classes and its
+ * runtime classpath as Maven resolves it, with Spring properties passed on the command line.
+ */
+public class ServiceProcess implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceProcess.class);
+
+    private static final boolean WINDOWS = System.getProperty("os.name").startsWith("Windows");
+
+    private final String name;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, Process process, Path logFile) {
+        this.name = name;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    public static ServiceProcess start(String name, Path moduleDir, String mainClass, String jvmArgs,
+                                       Map<String, String> properties, Path logDir) throws IOException, InterruptedException {
+        Path classes = moduleDir.resolve("target/classes");
+        if (!Files.isDirectory(classes)) {
+            throw new IllegalStateException(moduleDir.getFileName() + " is not built; run mvn -DskipTests package first");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        command.add("-cp");
+        command.add(classes + java.io.File.pathSeparator + resolveClasspath(moduleDir));
+        command.add(mainClass);
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Files.createDirectories(logDir);
+        Path logFile = logDir.resolve(name + ".log");
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(moduleDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        log.info("Starting {} (log: {})", name, logFile);
+        return new ServiceProcess(name, builder.start(), logFile);
+    }
+
+    // Written once per module and reused until the pom changes
+    private static String resolveClasspath(Path moduleDir) throws IOException, InterruptedException {
+        Path classpathFile = moduleDir.resolve("target/loadtest-classpath.txt");
+        Path pom = moduleDir.resolve("pom.xml");
+        if (!Files.exists(classpathFile)
+                || Files.getLastModifiedTime(classpathFile).compareTo(Files.getLastModifiedTime(pom)) < 0) {
+            Process maven = new ProcessBuilder(WINDOWS ? "mvn.cmd" : "mvn", "-q", "-B",
+                    "dependency:build-classpath",
+                    "-Dmdep.includeScope=runtime",
+                    "-Dmdep.outputFile=" + classpathFile)
+                    .directory(moduleDir.toFile())
+                    .inheritIO()
+                    .start();
+            if (maven.waitFor() != 0) {
+                throw new IllegalStateException("Could not resolve the classpath of " + moduleDir.getFileName());
+            }
+        }
+        return Files.readString(classpathFile).trim();
+    }
+
+    /**
+     * Polls the URL until it answers 200, failing if the process exits or the timeout passes.
+     */
+    public void awaitReady(HttpClient client, URI readinessUrl, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(readinessUrl).timeout(Duration.ofSeconds(5)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue() + "; see " + logFile);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{} is up", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(name + " did not become ready within " + timeout.toSeconds() + "s; see " + logFile);
+    }
+
+    @Override
+    public void close() {
+        if (!process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                log.warn("{} did not stop in time, killing it", name);
+                process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroyForcibly();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,128 @@
+package com.cinefund.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Closed-loop load: each virtual user picks an operation from the weighted mix, waits for the
+ * answer, and goes again until time is up. Investments made during the run are queued for
+ * the confirm operation, so confirms always act on fresh PENDING rows.
+ */
+public class Workload {
+
+    private static final Logger log = LoggerFactory.getLogger(Workload.class);
+
+    private static final BigDecimal PAYOUT_REVENUE = new BigDecimal("5000000");
+
+    private final GatewayClient client;
+    private final SeedData data;
+    private final LoadTestOptions options;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final Queue<Long> unconfirmed = new ConcurrentLinkedQueue<>();
+    private final Set<String> reportedFailures = ConcurrentHashMap.newKeySet();
+
+    public Workload(GatewayClient client, SeedData data, LoadTestOptions options) {
+        this.client = client;
+        this.data = data;
+        this.options = options;
+        Map<Operation, Integer> mix = options.getMix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public void run(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> users = new ArrayList<>(options.getConcurrency());
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            Thread user = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    perform(nextOperation());
+                }
+            }, "virtual-user-" + i);
+            user.start();
+            users.add(user);
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+    }
+
+    /**
+     * Pays out returns on the first {@code count} seeded movies, a few movies at a time.
+     */
+    public void payOut(int count, ExecutorService executor) throws InterruptedException {
+        List<Callable<Object>> payouts = new ArrayList<>(count);
+        for (SeedData.Movie movie : data.getMovies().subList(0, count)) {
+            payouts.add(() -> {
+                try {
+                    client.payReturns(movie.getProducerId(), movie.getId(), PAYOUT_REVENUE);
+                } catch (GatewayClient.ApiException e) {
+                    reportFirstFailure("payout", e);
+                }
+                return null;
+            });
+        }
+        executor.invokeAll(payouts);
+    }
+
+    private Operation nextOperation() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void perform(Operation operation) {
+        try {
+            switch (operation) {
+                case BROWSE -> client.browseFunding();
+                case MOVIE -> client.getMovie(data.randomMovie().getId());
+                case INVEST -> invest();
+                case CONFIRM -> {
+                    Long investmentId = unconfirmed.poll();
+                    if (investmentId == null) {
+                        invest();
+                    } else {
+                        client.confirm(client.transactionIdOf(investmentId));
+                    }
+                }
+            }
+        } catch (GatewayClient.ApiException e) {
+            // Already counted as an error on its route; keep the virtual user going
+            reportFirstFailure(operation.name(), e);
+        }
+    }
+
+    private void invest() {
+        SeedData.Investor investor = data.randomInvestor();
+        SeedData.Movie movie = options.isHotMovie() ? data.getMovies().get(0) : data.randomMovie();
+        long investmentId = client.invest(investor.getId(), investor.getToken(), movie.getId(), SeedData.randomAmount())
+                .get("id").asLong();
+        unconfirmed.add(investmentId);
+    }
+
+    private void reportFirstFailure(String operation, GatewayClient.ApiException e) {
+        if (reportedFailures.add(operation)) {
+            log.warn("First {} failure (later ones are only counted): {}", operation, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+-- CineFund migration: pooled sequence ids
+-- The User, Movie, Investment and Transaction entities now take ids from their table's
+-- sequence with allocationSize 50, so each sequence must step by 50. Existing ids are kept:
+-- every sequence is positioned so that the first block Hibernate hands out starts after
+-- the current MAX(id). Works for both BIGSERIAL and identity id columns.
+-- Run once per environment before deploying the new services:
+-- psql -U postgres -f migrate-to-pooled-ids.sql
+
+\c user_db;
+
+CREATE OR REPLACE FUNCTION pg_temp.use_pooled_ids(table_name TEXT, block_size INTEGER) RETURNS VOID AS $$
+DECLARE
+    seq TEXT := pg_get_serial_sequence(table_name, 'id');
+    max_id BIGINT;
+BEGIN
+    IF (SELECT attidentity FROM pg_attribute WHERE attrelid = table_name::regclass AND attname = 'id') <> '' THEN
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY %s', table_name, block_size);
+    ELSE
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', seq, block_size);
+    END IF;
+    EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', table_name) INTO max_id;
+    -- The pooled optimizer treats each nextval as the top of a block of block_size ids
+    PERFORM setval(seq, max_id + block_size, false);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.use_pooled_ids('users', 50);
+
+\c movies;
+
+CREATE OR REPLACE FUNCTION pg_temp.use_pooled_ids(table_name TEXT, block_size INTEGER) RETURNS VOID AS $$
+DECLARE
+    seq TEXT := pg_get_serial_sequence(table_name, 'id');
+    max_id BIGINT;
+BEGIN
+    IF (SELECT attidentity FROM pg_attribute WHERE attrelid = table_name::regclass AND attname = 'id') <> '' THEN
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY %s', table_name, block_size);
+    ELSE
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', seq, block_size);
+    END IF;
+    EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', table_name) INTO max_id;
+    PERFORM setval(seq, max_id + block_size, false);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.use_pooled_ids('movies', 50);
+
+\c investments;
+
+CREATE OR REPLACE FUNCTION pg_temp.use_pooled_ids(table_name TEXT, block_size INTEGER) RETURNS VOID AS $$
+DECLARE
+    seq TEXT := pg_get_serial_sequence(table_name, 'id');
+    max_id BIGINT;
+BEGIN
+    IF (SELECT attidentity FROM pg_attribute WHERE attrelid = table_name::regclass AND attname = 'id') <> '' THEN
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY %s', table_name, block_size);
+    ELSE
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', seq, block_size);
+    END IF;
+    EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', table_name) INTO max_id;
+    PERFORM setval(seq, max_id + block_size, false);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT pg_temp.use_pooled_ids('investments', 50);
+SELECT pg_temp.use_pooled_ids('transactions', 50);
+
+\echo 'Id sequences now step by 50; existing ids are unchanged.'
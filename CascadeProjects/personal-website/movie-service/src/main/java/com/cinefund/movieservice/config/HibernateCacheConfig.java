@@ -0,0 +1,70 @@
+package com.cinefund.movieservice.config;
+
+import com.cinefund.movieservice.entity.Movie;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Caffeine-backed regions for Hibernate's second-level and query cache. Every region is
+ * created here with a size bound, and Hibernate is set to fail on any region it cannot find,
+ * so nothing ends up cached without one.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // One entry per table
+    private static final long TIMESTAMPS_MAX_SIZE = 100;
+
+    @Value("${movie.cache.entity.max-size:10000}")
+    private long entityMaxSize;
+
+    @Value("${movie.cache.entity.ttl:10m}")
+    private Duration entityTtl;
+
+    @Value("${movie.cache.listings.max-size:1000}")
+    private long listingsMaxSize;
+
+    @Value("${movie.cache.listings.ttl:1m}")
+    private Duration listingsTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(Movie.CACHE_REGION, region(entityMaxSize, entityTtl));
+        cacheManager.createCache(Movie.LISTINGS_CACHE_REGION, region(listingsMaxSize, listingsTtl));
+        // Created by Hibernate whenever the query cache is on, though every cached query names its own region
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(listingsMaxSize, listingsTtl));
+        // Cached queries are checked against these table timestamps, so they must never expire first
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(TIMESTAMPS_MAX_SIZE, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Hibernate stores immutable disassembled state, so copying on every get/put buys nothing
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
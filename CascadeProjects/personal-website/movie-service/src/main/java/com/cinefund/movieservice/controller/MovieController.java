@@ -1,6 +1,10 @@
 package com.cinefund.movieservice.controller;
 
+import com.cinefund.movieservice.dto.ApiResponse;
+import com.cinefund.movieservice.dto.CountPayload;
 import com.cinefund.movieservice.dto.MovieDto;
+import com.cinefund.movieservice.dto.MovieListPayload;
+import com.cinefund.movieservice.dto.MoviePayload;
 import com.cinefund.movieservice.dto.MovieResponseDto;
 import com.cinefund.movieservice.entity.Movie;
 import com.cinefund.movieservice.service.MovieService;
@@ -9,13 +13,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -31,16 +34,9 @@ public class MovieController {
     public ResponseEntity<?> createMovie(@Valid @RequestBody MovieDto movieDto) {
         try {
             MovieResponseDto movie = movieService.createMovie(movieDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Movie created successfully");
-            response.put("movie", movie);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("Movie created successfully", new MoviePayload(movie)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -49,14 +45,8 @@ public class MovieController {
     public ResponseEntity<?> getMovieById(@PathVariable Long id) {
         try {
             MovieResponseDto movie = movieService.getMovieById(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("movie", movie);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok(new MoviePayload(movie)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -64,56 +54,33 @@ public class MovieController {
     @GetMapping
     @Operation(summary = "Get all movies", description = "Retrieve all movies in the system")
     public ResponseEntity<?> getAllMovies(@RequestParam(name = "activeOnly", defaultValue = "false") boolean activeOnly) {
-        List<MovieResponseDto> movies = activeOnly ? movieService.getActiveMovies() : movieService.getAllMovies();
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+        return json(activeOnly ? movieService.getActiveMoviesJson() : movieService.getAllMoviesJson());
     }
 
     @GetMapping("/funding")
     @Operation(summary = "Get movies available for funding", description = "Retrieve movies that are currently accepting investments")
     public ResponseEntity<?> getMoviesForFunding() {
-        List<MovieResponseDto> movies = movieService.getMoviesForFunding();
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+        return json(movieService.getMoviesForFundingJson());
     }
 
     @GetMapping("/producer/{producerId}")
     @Operation(summary = "Get movies by producer", description = "Retrieve all movies by a specific producer")
     public ResponseEntity<?> getMoviesByProducer(@PathVariable Long producerId) {
         List<MovieResponseDto> movies = movieService.getMoviesByProducer(producerId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new MovieListPayload(movies)));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get movies by status", description = "Retrieve movies by their current status")
     public ResponseEntity<?> getMoviesByStatus(@PathVariable Movie.MovieStatus status) {
-        List<MovieResponseDto> movies = movieService.getMoviesByStatus(status);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+        return json(movieService.getMoviesByStatusJson(status));
     }
 
     @GetMapping("/genre/{genre}")
     @Operation(summary = "Get movies by genre", description = "Retrieve movies by genre")
     public ResponseEntity<?> getMoviesByGenre(@PathVariable String genre) {
         List<MovieResponseDto> movies = movieService.getMoviesByGenre(genre);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new MovieListPayload(movies)));
     }
 
     @PutMapping("/{id}")
@@ -121,16 +88,9 @@ public class MovieController {
     public ResponseEntity<?> updateMovie(@PathVariable Long id, @Valid @RequestBody MovieDto movieDto) {
         try {
             MovieResponseDto movie = movieService.updateMovie(id, movieDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Movie updated successfully");
-            response.put("movie", movie);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Movie updated successfully", new MoviePayload(movie)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -139,16 +99,9 @@ public class MovieController {
     public ResponseEntity<?> updateMovieStatus(@PathVariable Long id, @RequestParam(name = "status") Movie.MovieStatus status) {
         try {
             MovieResponseDto movie = movieService.updateMovieStatus(id, status);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Movie status updated successfully");
-            response.put("movie", movie);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Movie status updated successfully", new MoviePayload(movie)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -157,16 +110,9 @@ public class MovieController {
     public ResponseEntity<?> updateRaisedAmount(@PathVariable Long id, @RequestParam(name = "amount") BigDecimal amount) {
         try {
             MovieResponseDto movie = movieService.updateRaisedAmount(id, amount);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Raised amount updated successfully");
-            response.put("movie", movie);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Raised amount updated successfully", new MoviePayload(movie)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -175,15 +121,9 @@ public class MovieController {
     public ResponseEntity<?> deactivateMovie(@PathVariable Long id) {
         try {
             movieService.deactivateMovie(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Movie deactivated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Movie deactivated successfully"));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -192,47 +132,40 @@ public class MovieController {
     public ResponseEntity<?> activateMovie(@PathVariable Long id) {
         try {
             movieService.activateMovie(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Movie activated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Movie activated successfully"));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search movies", description = "Search movies by title, description, genre, director, or cast")
-    public ResponseEntity<?> searchMovies(@RequestParam(name = "keyword") String keyword) {
-        List<MovieResponseDto> movies = movieService.searchMovies(keyword);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+    @Operation(summary = "Search movies", description = "Search movies by title, description, genre, director, or cast, best match first")
+    public ResponseEntity<?> searchMovies(@RequestParam(name = "keyword") String keyword,
+                                          @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        try {
+            List<MovieResponseDto> movies = movieService.searchMovies(keyword, limit);
+            return ResponseEntity.ok(ApiResponse.ok(new MovieListPayload(movies)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
     }
 
     @GetMapping("/budget-range")
     @Operation(summary = "Get movies by budget range", description = "Retrieve movies within a specific budget range")
     public ResponseEntity<?> getMoviesByBudgetRange(@RequestParam(name = "minBudget") BigDecimal minBudget, @RequestParam(name = "maxBudget") BigDecimal maxBudget) {
         List<MovieResponseDto> movies = movieService.getMoviesByBudgetRange(minBudget, maxBudget);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("movies", movies);
-        response.put("count", movies.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new MovieListPayload(movies)));
     }
 
     @GetMapping("/producer/{producerId}/funding-count")
     @Operation(summary = "Get active funding movies count by producer", description = "Get count of active funding movies for a producer")
     public ResponseEntity<?> getActiveFundingMoviesCount(@PathVariable Long producerId) {
         Long count = movieService.getActiveFundingMoviesCountByProducer(producerId);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("count", count);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new CountPayload(count)));
+    }
+
+    // Browse responses come pre-serialised from the catalog snapshot
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 }
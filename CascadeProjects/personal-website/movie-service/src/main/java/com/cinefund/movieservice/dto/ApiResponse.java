@@ -0,0 +1,29 @@
+package com.cinefund.movieservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Envelope of every movie API response: {@code success}, an optional {@code message}, and the
+ * payload record's properties written inline next to them. Errors are the same envelope
+ * without a payload.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(boolean success, String message, @JsonUnwrapped T payload) {
+
+    public static <T> ApiResponse<T> ok(T payload) {
+        return new ApiResponse<>(true, null, payload);
+    }
+
+    public static <T> ApiResponse<T> ok(String message, T payload) {
+        return new ApiResponse<>(true, message, payload);
+    }
+
+    public static ApiResponse<Void> ok(String message) {
+        return new ApiResponse<>(true, message, null);
+    }
+
+    public static ApiResponse<Void> error(String message) {
+        return new ApiResponse<>(false, message, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.cinefund.movieservice.dto;
+
+import java.util.List;
+
+public record MovieListPayload(List<MovieResponseDto> movies, int count) {
+
+    public MovieListPayload(List<MovieResponseDto> movies) {
+        this(movies, movies.size());
+    }
+}
@@ -0,0 +1,4 @@
+package com.cinefund.movieservice.dto;
+
+public record MoviePayload(MovieResponseDto movie) {
+}
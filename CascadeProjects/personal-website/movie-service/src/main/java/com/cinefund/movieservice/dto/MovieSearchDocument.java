@@ -0,0 +1,15 @@
+package com.cinefund.movieservice.dto;
+
+import com.cinefund.movieservice.entity.Movie;
+
+/**
+ * The searchable fields of one movie, as fed to the search index.
+ */
+public record MovieSearchDocument(Long id, String title, String description, String genre,
+                                  String directorName, String cast) {
+
+    public static MovieSearchDocument of(Movie movie) {
+        return new MovieSearchDocument(movie.getId(), movie.getTitle(), movie.getDescription(), movie.getGenre(),
+                movie.getDirectorName(), movie.getCast());
+    }
+}
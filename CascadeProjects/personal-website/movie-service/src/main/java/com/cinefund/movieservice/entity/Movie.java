@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -13,9 +16,19 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "movies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Movie.CACHE_REGION)
+// Updates write only the columns that changed, so saving an edit never puts back a stale status
+@DynamicUpdate
 public class Movie {
+
+    // Second-level cache regions, sized and expired in HibernateCacheConfig
+    public static final String CACHE_REGION = "movies";
+    public static final String LISTINGS_CACHE_REGION = "movie-listings";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_id_seq")
+    @SequenceGenerator(name = "movies_id_seq", sequenceName = "movies_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Movie title is required")
@@ -33,7 +46,8 @@ public class Movie {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal budget;
 
-    @Column(name = "raised_amount", precision = 19, scale = 2)
+    // Changed only by MovieFundingJdbcRepository's atomic increments, never by saving the entity
+    @Column(name = "raised_amount", precision = 19, scale = 2, updatable = false)
     private BigDecimal raisedAmount = BigDecimal.ZERO;
 
     @Column(name = "expected_return_percentage", precision = 5, scale = 2)
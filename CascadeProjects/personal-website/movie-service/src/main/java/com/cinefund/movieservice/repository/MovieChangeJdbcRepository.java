@@ -0,0 +1,64 @@
+package com.cinefund.movieservice.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Announces committed movie writes to the other movie-service instances with PostgreSQL's
+ * NOTIFY. The payload is this instance's id and the movie id, so an instance can skip the
+ * announcements it sent itself.
+ */
+@Repository
+public class MovieChangeJdbcRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieChangeJdbcRepository.class);
+
+    public static final String CHANNEL = "movie_changes";
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${movie.changes.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void publish(Long movieId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, instanceId + ":" + movieId);
+        } catch (DataAccessException e) {
+            // The others still catch up with the catalog reload and the cache TTL
+            log.warn("Failed to announce change to movie {}: {}", movieId, e.getMessage());
+        }
+    }
+
+    /**
+     * The movie id of an announcement sent by another instance, or null for one sent by this
+     * instance or one that is not in the expected form.
+     */
+    public Long parseOtherInstanceChange(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(instanceId)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(payload.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
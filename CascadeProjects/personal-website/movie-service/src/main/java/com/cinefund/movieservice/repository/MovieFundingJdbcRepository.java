@@ -0,0 +1,80 @@
+package com.cinefund.movieservice.repository;
+
+import com.cinefund.movieservice.entity.Movie;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Atomic raised-amount and status updates on the movies table. These run as plain SQL rather
+ * than JPQL bulk updates, because Hibernate answers a bulk update by dropping the whole movie
+ * cache region; here only the updated movie and the cached listings are evicted, once before
+ * the write and again when the surrounding transaction completes.
+ */
+@Repository
+public class MovieFundingJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Applied in the database so concurrent writers never overwrite each other's increments
+    public int addToRaisedAmount(Long movieId, BigDecimal delta) {
+        evictOnCompletion(movieId);
+        return jdbcTemplate.update(
+                "UPDATE movies SET raised_amount = raised_amount + ?, updated_at = LOCALTIMESTAMP WHERE id = ?",
+                delta, movieId);
+    }
+
+    public int addToRaisedAmountIfNotNegative(Long movieId, BigDecimal delta) {
+        evictOnCompletion(movieId);
+        return jdbcTemplate.update(
+                "UPDATE movies SET raised_amount = raised_amount + ?, updated_at = LOCALTIMESTAMP " +
+                "WHERE id = ? AND raised_amount + ? >= 0",
+                delta, movieId, delta);
+    }
+
+    // Returns 1 for exactly one caller: the first to see the budget reached while still FUNDING
+    public int startProductionIfFunded(Long movieId) {
+        evictOnCompletion(movieId);
+        return jdbcTemplate.update(
+                "UPDATE movies SET status = 'PRODUCTION', updated_at = LOCALTIMESTAMP " +
+                "WHERE id = ? AND status = 'FUNDING' AND raised_amount >= budget",
+                movieId);
+    }
+
+    private void evictOnCompletion(Long movieId) {
+        evict(movieId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(movieId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the movie and the cached listings from the second-level cache.
+     */
+    public void evict(Long movieId) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Movie.class, movieId);
+        sessionFactory.getCache().evictQueryRegion(Movie.LISTINGS_CACHE_REGION);
+    }
+
+    public void evictAll() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Movie.class);
+        sessionFactory.getCache().evictQueryRegion(Movie.LISTINGS_CACHE_REGION);
+    }
+}
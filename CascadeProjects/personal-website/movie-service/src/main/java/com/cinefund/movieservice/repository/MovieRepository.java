@@ -1,8 +1,12 @@
 package com.cinefund.movieservice.repository;
 
+import com.cinefund.movieservice.dto.MovieSearchDocument;
 import com.cinefund.movieservice.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,6 +28,9 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE m.status = :status AND m.isActive = true")
     List<Movie> findActiveMoviesByStatus(@Param("status") Movie.MovieStatus status);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Movie.LISTINGS_CACHE_REGION)})
     @Query("SELECT m FROM Movie m WHERE m.fundingDeadline >= :currentDate AND m.status = 'FUNDING' AND m.isActive = true")
     List<Movie> findActiveMoviesForFunding(@Param("currentDate") LocalDate currentDate);
     
@@ -33,12 +40,19 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE m.raisedAmount >= m.budget AND m.status = 'FUNDING' AND m.isActive = true")
     List<Movie> findFullyFundedMovies();
     
+    // Only the searchable columns, for building the search index
+    @Query("SELECT new com.cinefund.movieservice.dto.MovieSearchDocument(m.id, m.title, m.description, m.genre, m.directorName, m.cast) FROM Movie m")
+    List<MovieSearchDocument> findSearchDocuments();
+    
     @Query("SELECT m FROM Movie m WHERE (m.title LIKE %:keyword% OR m.description LIKE %:keyword% OR m.genre LIKE %:keyword% OR m.directorName LIKE %:keyword% OR m.cast LIKE %:keyword%) AND m.isActive = true")
     List<Movie> searchActiveMovies(@Param("keyword") String keyword);
     
     @Query("SELECT m FROM Movie m WHERE m.budget BETWEEN :minBudget AND :maxBudget AND m.isActive = true")
     List<Movie> findMoviesByBudgetRange(@Param("minBudget") BigDecimal minBudget, @Param("maxBudget") BigDecimal maxBudget);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Movie.LISTINGS_CACHE_REGION)})
     @Query("SELECT m FROM Movie m WHERE m.producerId = :producerId AND m.isActive = true ORDER BY m.createdAt DESC")
     List<Movie> findActiveMoviesByProducer(@Param("producerId") Long producerId);
     
@@ -0,0 +1,302 @@
+package com.cinefund.movieservice.service;
+
+import com.cinefund.movieservice.dto.ApiResponse;
+import com.cinefund.movieservice.dto.MovieListPayload;
+import com.cinefund.movieservice.dto.MovieResponseDto;
+import com.cinefund.movieservice.entity.Movie;
+import com.cinefund.movieservice.repository.MovieChangeJdbcRepository;
+import com.cinefund.movieservice.repository.MovieRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Immutable in-memory copy of the movie catalog that the browse endpoints are served from.
+ * Every committed write re-reads the movies it touched and swaps in a new snapshot, so
+ * readers never lock and never see a half-applied change. Each view keeps its DTO list, in
+ * id order, and once first asked for, its serialised response body.
+ *
+ * <p>A change is merged into the views it touches; the other views, and their serialised
+ * bodies, carry over to the new snapshot unchanged. Raised-amount flushes go through
+ * {@link #refreshLater}, so a hot movie costs one merge per {@code movie.catalog.refresh-batch-ms}
+ * rather than one per flush.
+ *
+ * <p>A refresh is announced to the other instances, which pick it up through
+ * {@link MovieChangeListener}. Anything they miss arrives with the periodic reload
+ * ({@code movie.catalog.reload-interval-ms}).
+ */
+@Component
+public class MovieCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieCatalog.class);
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MovieChangeJdbcRepository movieChangeJdbcRepository;
+
+    // Held while reading the database and swapping the snapshot, so changes apply in read order
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Set<Long> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    private volatile Snapshot snapshot;
+
+    public View all() {
+        return current().all;
+    }
+
+    public View active() {
+        return current().active;
+    }
+
+    public View forFunding() {
+        return current().forFunding;
+    }
+
+    public View byStatus(Movie.MovieStatus status) {
+        return current().byStatus.get(status);
+    }
+
+    public MovieResponseDto find(Long movieId) {
+        List<MovieResponseDto> movies = current().all.movies;
+        int index = indexOf(movies, movieId);
+        return index >= 0 ? movies.get(index) : null;
+    }
+
+    public boolean isActive(long movieId) {
+        MovieResponseDto movie = find(movieId);
+        return movie != null && Boolean.TRUE.equals(movie.getIsActive());
+    }
+
+    /**
+     * Picks up a committed change to one movie made by this instance, and tells the others.
+     */
+    public void refresh(Long movieId) {
+        refreshLocally(List.of(movieId));
+        movieChangeJdbcRepository.publish(movieId);
+    }
+
+    /**
+     * Like {@link #refresh}, but applied with the next batch, for writes that come often
+     * and may show a little late.
+     */
+    public void refreshLater(Long movieId) {
+        pendingRefreshes.add(movieId);
+    }
+
+    @Scheduled(fixedDelayString = "${movie.catalog.refresh-batch-ms:1000}")
+    public void refreshPending() {
+        if (pendingRefreshes.isEmpty()) {
+            return;
+        }
+        List<Long> movieIds = new ArrayList<>();
+        for (Iterator<Long> it = pendingRefreshes.iterator(); it.hasNext(); ) {
+            movieIds.add(it.next());
+            it.remove();
+        }
+        try {
+            refreshLocally(movieIds);
+        } catch (RuntimeException e) {
+            // Retried with the next batch
+            pendingRefreshes.addAll(movieIds);
+            throw e;
+        }
+        movieIds.forEach(movieChangeJdbcRepository::publish);
+    }
+
+    /**
+     * Picks up committed changes to the given movies in one new snapshot.
+     */
+    public void refreshLocally(Collection<Long> movieIds) {
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                reload();
+                return;
+            }
+            // Removed movies stay mapped to null
+            NavigableMap<Long, MovieResponseDto> changes = new TreeMap<>();
+            movieIds.forEach(id -> changes.put(id, null));
+            for (Movie movie : movieRepository.findAllById(movieIds)) {
+                changes.put(movie.getId(), new MovieResponseDto(movie));
+            }
+            snapshot = new Snapshot(current, changes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${movie.catalog.reload-interval-ms:30000}")
+    public void reload() {
+        lock.lock();
+        try {
+            List<MovieResponseDto> movies = new ArrayList<>();
+            for (Movie movie : movieRepository.findAll()) {
+                movies.add(new MovieResponseDto(movie));
+            }
+            movies.sort(Comparator.comparing(MovieResponseDto::getId));
+            snapshot = new Snapshot(movies, LocalDate.now());
+            log.debug("Reloaded movie catalog: {} movies", movies.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        LocalDate today = LocalDate.now();
+        if (current != null && current.date.equals(today)) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                reload();
+            } else if (!snapshot.date.equals(today)) {
+                // Funding deadlines are relative to today, so a new day needs new views
+                snapshot = new Snapshot(snapshot.all.movies, today);
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Binary search of a list in id order
+    private static int indexOf(List<MovieResponseDto> movies, long movieId) {
+        int low = 0;
+        int high = movies.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = movies.get(middle).getId();
+            if (id < movieId) {
+                low = middle + 1;
+            } else if (id > movieId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private final class Snapshot {
+        private final LocalDate date;
+        private final View all;
+        private final View active;
+        private final View forFunding;
+        private final Map<Movie.MovieStatus, View> byStatus = new EnumMap<>(Movie.MovieStatus.class);
+
+        // Builds every view from movies in id order
+        private Snapshot(List<MovieResponseDto> movies, LocalDate date) {
+            this.date = date;
+            this.all = new View(movies);
+            this.active = new View(movies.stream().filter(MovieCatalog::isActiveMovie).toList());
+            this.forFunding = new View(movies.stream().filter(movie -> isOpenForFunding(movie, date)).toList());
+            for (Movie.MovieStatus status : Movie.MovieStatus.values()) {
+                byStatus.put(status, new View(movies.stream().filter(movie -> hasStatus(movie, status)).toList()));
+            }
+        }
+
+        // The previous snapshot with the changes merged in; current() still rolls it over to a new day
+        private Snapshot(Snapshot previous, NavigableMap<Long, MovieResponseDto> changes) {
+            this.date = previous.date;
+            this.all = previous.all.with(changes, movie -> true);
+            this.active = previous.active.with(changes, MovieCatalog::isActiveMovie);
+            this.forFunding = previous.forFunding.with(changes, movie -> isOpenForFunding(movie, date));
+            previous.byStatus.forEach((status, view) -> byStatus.put(status, view.with(changes, movie -> hasStatus(movie, status))));
+        }
+    }
+
+    // Same filters as findByIsActiveTrue, findActiveMoviesByStatus and findActiveMoviesForFunding
+    private static boolean isActiveMovie(MovieResponseDto movie) {
+        return Boolean.TRUE.equals(movie.getIsActive());
+    }
+
+    private static boolean hasStatus(MovieResponseDto movie, Movie.MovieStatus status) {
+        return isActiveMovie(movie) && movie.getStatus() == status;
+    }
+
+    private static boolean isOpenForFunding(MovieResponseDto movie, LocalDate date) {
+        return isActiveMovie(movie) && movie.getStatus() == Movie.MovieStatus.FUNDING
+                && movie.getFundingDeadline() != null && !movie.getFundingDeadline().isBefore(date);
+    }
+
+    /**
+     * One browse result: the DTOs, and the JSON body of the list response built from them.
+     */
+    public final class View {
+        private final List<MovieResponseDto> movies;
+        private volatile byte[] json;
+
+        private View(List<MovieResponseDto> movies) {
+            this.movies = Collections.unmodifiableList(movies);
+        }
+
+        public List<MovieResponseDto> getMovies() {
+            return movies;
+        }
+
+        // Built on first use; two racing requests may both build it, and either copy is correct
+        public byte[] getJson() {
+            byte[] body = json;
+            if (body == null) {
+                try {
+                    body = objectMapper.writeValueAsBytes(ApiResponse.ok(new MovieListPayload(movies)));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Failed to serialise movie list", e);
+                }
+                json = body;
+            }
+            return body;
+        }
+
+        /**
+         * This view with the changed movies put in, dropped or replaced as the filter now says,
+         * or this same view if no changed movie was or is in it. Unchanged movies are copied
+         * over in runs, never re-filtered.
+         */
+        private View with(NavigableMap<Long, MovieResponseDto> changes, Predicate<MovieResponseDto> filter) {
+            boolean affected = false;
+            for (Map.Entry<Long, MovieResponseDto> change : changes.entrySet()) {
+                if (indexOf(movies, change.getKey()) >= 0 || (change.getValue() != null && filter.test(change.getValue()))) {
+                    affected = true;
+                    break;
+                }
+            }
+            if (!affected) {
+                return this;
+            }
+            List<MovieResponseDto> merged = new ArrayList<>(movies.size() + changes.size());
+            int from = 0;
+            for (Map.Entry<Long, MovieResponseDto> change : changes.entrySet()) {
+                int index = indexOf(movies, change.getKey());
+                int to = index >= 0 ? index : -(index + 1);
+                merged.addAll(movies.subList(from, to));
+                // Skips the previous version, if there was one
+                from = index >= 0 ? index + 1 : to;
+                if (change.getValue() != null && filter.test(change.getValue())) {
+                    merged.add(change.getValue());
+                }
+            }
+            merged.addAll(movies.subList(from, movies.size()));
+            return new View(merged);
+        }
+    }
+}
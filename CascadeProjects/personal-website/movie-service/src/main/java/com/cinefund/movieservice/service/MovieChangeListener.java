@@ -0,0 +1,141 @@
+package com.cinefund.movieservice.service;
+
+import com.cinefund.movieservice.dto.MovieSearchDocument;
+import com.cinefund.movieservice.repository.MovieChangeJdbcRepository;
+import com.cinefund.movieservice.repository.MovieFundingJdbcRepository;
+import com.cinefund.movieservice.repository.MovieRepository;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Applies movie writes announced by other instances: the movie is evicted from the
+ * second-level cache along with the cached listings, and re-read into the catalog and the
+ * search index. Listens on a connection of its own, outside the pool. Whenever that
+ * connection has to be re-opened, announcements may have been missed, so the whole movie
+ * cache is dropped and the catalog and index are rebuilt.
+ */
+@Component
+public class MovieChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieChangeListener.class);
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    @Autowired
+    private MovieChangeJdbcRepository movieChangeJdbcRepository;
+
+    @Autowired
+    private MovieFundingJdbcRepository movieFundingJdbcRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieCatalog movieCatalog;
+
+    @Autowired
+    private MovieSearchIndex movieSearchIndex;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!movieChangeJdbcRepository.isEnabled()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "movie-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(POLL_TIMEOUT_MS * 2L);
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + MovieChangeJdbcRepository.CHANNEL);
+                }
+                if (connectedBefore) {
+                    resync();
+                }
+                connectedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        apply(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Lost the {} listener connection, reconnecting in {} ms: {}",
+                        MovieChangeJdbcRepository.CHANNEL, RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(PGNotification[] notifications) {
+        // A hot movie can be announced several times per poll; one refresh covers them all
+        Set<Long> movieIds = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            Long movieId = movieChangeJdbcRepository.parseOtherInstanceChange(notification.getParameter());
+            if (movieId != null) {
+                movieIds.add(movieId);
+            }
+        }
+        if (movieIds.isEmpty()) {
+            return;
+        }
+        movieIds.forEach(movieFundingJdbcRepository::evict);
+        movieCatalog.refreshLocally(movieIds);
+        for (Long movieId : movieIds) {
+            movieRepository.findById(movieId)
+                    .ifPresent(movie -> movieSearchIndex.put(MovieSearchDocument.of(movie)));
+        }
+    }
+
+    private void resync() {
+        log.info("Reconnected to {}, dropping cached movies and reloading", MovieChangeJdbcRepository.CHANNEL);
+        movieFundingJdbcRepository.evictAll();
+        movieCatalog.reload();
+        movieSearchIndex.rebuild();
+    }
+}
@@ -0,0 +1,497 @@
+package com.cinefund.movieservice.service;
+
+import com.cinefund.movieservice.dto.MovieSearchDocument;
+import com.cinefund.movieservice.repository.MovieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory inverted index over movie titles, descriptions, genres, directors and cast, ranked
+ * with BM25. Text is split on anything that is not a letter or digit, lower-cased and stripped
+ * of accents, so "Amélie" and "amelie" match. Postings are kept in document order and scored
+ * document-at-a-time into a top-k heap, so a query allocates in proportion to its limit rather
+ * than to the catalog.
+ *
+ * <p>The index is built from the database on startup and again every
+ * {@code movie.search.rebuild-interval-ms}; between rebuilds, created and updated movies are
+ * added through {@link #put}. Whether a movie is active is left to the caller's filter.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieSearchIndex.class);
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // How many times a word counts towards the score, by the field it appears in
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CREDITS_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "its", "of", "on", "or", "s", "t", "that", "the", "this", "to", "was", "with");
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // One rebuild at a time; a lock rather than a monitor, so a virtual thread reading the
+    // database for a rebuild does not pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Written under the write lock; volatile only so isReady() can skip the lock
+    private volatile Segment segment;
+
+    // Movies put while a rebuild is reading the database, replayed onto the rebuilt segment
+    private List<MovieSearchDocument> replay;
+
+    public boolean isReady() {
+        return segment != null;
+    }
+
+    @Scheduled(fixedDelayString = "${movie.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            startCapturing();
+            List<MovieSearchDocument> documents;
+            Segment rebuilt = null;
+            try {
+                documents = movieRepository.findSearchDocuments();
+                rebuilt = Segment.of(documents);
+            } finally {
+                install(rebuilt);
+            }
+            log.info("Built search index over {} movies in {} ms", documents.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given movies.
+     */
+    public void rebuild(Collection<MovieSearchDocument> documents) {
+        rebuildLock.lock();
+        try {
+            startCapturing();
+            Segment rebuilt = null;
+            try {
+                rebuilt = Segment.of(documents);
+            } finally {
+                install(rebuilt);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Indexes a created movie, or re-indexes an updated one in place of its previous version.
+     */
+    public void put(MovieSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (segment != null) {
+                segment.put(document);
+            }
+            if (replay != null) {
+                replay.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best-scoring movies for the query, best first. A movie matches if it contains
+     * any of the query's words; {@code filter} is asked only about movies that would make the cut.
+     */
+    public List<Long> search(String query, int limit, LongPredicate filter) {
+        Set<String> terms = new LinkedHashSet<>();
+        forEachToken(query, terms::add);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            return current == null ? List.of() : current.search(terms, limit, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void startCapturing() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A null segment (the load failed) keeps the current one
+    private void install(Segment rebuilt) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                for (MovieSearchDocument document : replay) {
+                    rebuilt.put(document);
+                }
+                segment = rebuilt;
+            }
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void forEachToken(String text, Consumer<String> action) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        if (isAscii(text)) {
+            forEachAsciiToken(text, action);
+            return;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+                emit(token, action);
+            }
+            // Accents that NFKD split off their letters are dropped without ending the word
+        }
+        emit(token, action);
+    }
+
+    // Same rules as above without the Unicode tables, for the common all-ASCII text
+    private static void forEachAsciiToken(String text, Consumer<String> action) {
+        int length = text.length();
+        int start = -1;
+        boolean lowerCase = true;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            boolean upper = c >= 'A' && c <= 'Z';
+            if (upper || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (start < 0) {
+                    start = i;
+                    lowerCase = true;
+                }
+                lowerCase &= !upper;
+            } else if (start >= 0) {
+                String term = text.substring(start, i);
+                if (!lowerCase) {
+                    term = term.toLowerCase(Locale.ROOT);
+                }
+                if (!STOP_WORDS.contains(term)) {
+                    action.accept(term);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private static void emit(StringBuilder token, Consumer<String> action) {
+        if (token.length() > 0) {
+            String term = token.toString();
+            if (!STOP_WORDS.contains(term)) {
+                action.accept(term);
+            }
+            token.setLength(0);
+        }
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The index proper. Not thread-safe; guarded by the outer lock. Each indexed version of a
+     * movie gets the next document number, so postings stay sorted by appending. Replaced
+     * versions are marked deleted and dropped from the postings once they make up a quarter
+     * of the index.
+     */
+    private static final class Segment {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> documentsByMovie;
+        private final BitSet deleted = new BitSet();
+        private long[] movieIds;
+        private int[] lengths;
+        private int documentCount;
+        private int unpurgedDeletes;
+        private long totalLength;
+
+        private Segment(int expectedMovies) {
+            int capacity = Math.max(16, expectedMovies);
+            documentsByMovie = new HashMap<>(capacity * 4 / 3 + 1);
+            movieIds = new long[capacity];
+            lengths = new int[capacity];
+        }
+
+        static Segment of(Collection<MovieSearchDocument> documents) {
+            Segment segment = new Segment(documents.size());
+            for (MovieSearchDocument document : documents) {
+                segment.put(document);
+            }
+            return segment;
+        }
+
+        int liveCount() {
+            return documentsByMovie.size();
+        }
+
+        void put(MovieSearchDocument document) {
+            Integer previous = documentsByMovie.get(document.id());
+            if (previous != null) {
+                deleted.set(previous);
+                totalLength -= lengths[previous];
+                unpurgedDeletes++;
+            }
+
+            int doc = documentCount++;
+            if (doc == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            int length = index(doc, document.title(), TITLE_WEIGHT)
+                    + index(doc, document.genre(), CREDITS_WEIGHT)
+                    + index(doc, document.directorName(), CREDITS_WEIGHT)
+                    + index(doc, document.cast(), CREDITS_WEIGHT)
+                    + index(doc, document.description(), DESCRIPTION_WEIGHT);
+            movieIds[doc] = document.id();
+            lengths[doc] = length;
+            totalLength += length;
+            documentsByMovie.put(document.id(), doc);
+
+            if (unpurgedDeletes > 1024 && unpurgedDeletes > liveCount() / 4) {
+                purge();
+            }
+        }
+
+        // Returns the weighted number of words added
+        private int index(int doc, String text, int weight) {
+            int[] length = new int[1];
+            forEachToken(text, term -> {
+                postings.computeIfAbsent(term, t -> new Postings()).add(doc, weight);
+                length[0] += weight;
+            });
+            return length[0];
+        }
+
+        private void purge() {
+            Iterator<Postings> iterator = postings.values().iterator();
+            while (iterator.hasNext()) {
+                Postings list = iterator.next();
+                list.removeAll(deleted);
+                if (list.size == 0) {
+                    iterator.remove();
+                }
+            }
+            unpurgedDeletes = 0;
+        }
+
+        List<Long> search(Set<String> terms, int limit, LongPredicate filter) {
+            int live = liveCount();
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty() || live == 0) {
+                return List.of();
+            }
+
+            int n = lists.size();
+            float[] idf = new float[n];
+            for (int i = 0; i < n; i++) {
+                int df = Math.min(lists.get(i).size, live);
+                idf[i] = (float) Math.log(1 + (live - df + 0.5) / (df + 0.5));
+            }
+            float averageLength = Math.max(1f, (float) totalLength / live);
+
+            TopDocs top = new TopDocs(Math.min(limit, live));
+            int[] cursors = new int[n];
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int i = 0; i < n; i++) {
+                    Postings list = lists.get(i);
+                    if (cursors[i] < list.size && list.docs[cursors[i]] < doc) {
+                        doc = list.docs[cursors[i]];
+                    }
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                float score = 0;
+                for (int i = 0; i < n; i++) {
+                    Postings list = lists.get(i);
+                    if (cursors[i] < list.size && list.docs[cursors[i]] == doc) {
+                        float tf = list.frequencies[cursors[i]];
+                        score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                        cursors[i]++;
+                    }
+                }
+                if (top.isCompetitive(score) && !deleted.get(doc) && filter.test(movieIds[doc])) {
+                    top.add(doc, score);
+                }
+            }
+
+            int[] docs = top.drainBestFirst();
+            List<Long> result = new ArrayList<>(docs.length);
+            for (int doc : docs) {
+                result.add(movieIds[doc]);
+            }
+            return result;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private short[] frequencies = new short[4];
+        private int size;
+        // Copy of the last entry's document, kept here so indexing does not read back the arrays
+        private int lastDoc = -1;
+
+        // Documents arrive in order, so a repeat of the word in the same one lands on the last entry
+        void add(int doc, int weight) {
+            if (doc == lastDoc) {
+                frequencies[size - 1] = (short) Math.min(frequencies[size - 1] + weight, Short.MAX_VALUE);
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = (short) weight;
+            size++;
+            lastDoc = doc;
+        }
+
+        void removeAll(BitSet deleted) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!deleted.get(docs[i])) {
+                    docs[kept] = docs[i];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            lastDoc = kept > 0 ? docs[kept - 1] : -1;
+        }
+    }
+
+    // Min-heap of the best {@code capacity} documents seen so far
+    private static final class TopDocs {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        TopDocs(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        boolean isCompetitive(float score) {
+            return docs.length > 0 && (size < docs.length || score > scores[0]);
+        }
+
+        void add(int doc, float score) {
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        int[] drainBestFirst() {
+            int[] best = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                best[i] = docs[0];
+                size--;
+                docs[0] = docs[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return best;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!less(i, parent)) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && less(left, smallest)) {
+                    smallest = left;
+                }
+                if (right < size && less(right, smallest)) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        // Lower score first; on equal scores the later document is the one to evict
+        private boolean less(int a, int b) {
+            return scores[a] < scores[b] || (scores[a] == scores[b] && docs[a] > docs[b]);
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -2,22 +2,43 @@ package com.cinefund.movieservice.service;
 
 import com.cinefund.movieservice.dto.MovieDto;
 import com.cinefund.movieservice.dto.MovieResponseDto;
+import com.cinefund.movieservice.dto.MovieSearchDocument;
 import com.cinefund.movieservice.entity.Movie;
+import com.cinefund.movieservice.repository.MovieFundingJdbcRepository;
 import com.cinefund.movieservice.repository.MovieRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "cinefund.service", histogram = true)
 public class MovieService {
 
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private MovieFundingJdbcRepository movieFundingJdbcRepository;
+
+    @Autowired
+    private RaisedAmountCounter raisedAmountCounter;
+
+    @Autowired
+    private MovieCatalog movieCatalog;
+
+    @Autowired
+    private MovieSearchIndex movieSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public MovieResponseDto createMovie(MovieDto movieDto) {
         Movie movie = new Movie();
         movie.setTitle(movieDto.getTitle());
@@ -40,6 +61,8 @@ public class MovieService {
         movie.setIsActive(true);
 
         Movie savedMovie = movieRepository.save(movie);
+        movieCatalog.refresh(savedMovie.getId());
+        movieSearchIndex.put(MovieSearchDocument.of(savedMovie));
         return new MovieResponseDto(savedMovie);
     }
 
@@ -50,15 +73,19 @@ public class MovieService {
     }
 
     public List<MovieResponseDto> getAllMovies() {
-        return movieRepository.findAll().stream()
-                .map(MovieResponseDto::new)
-                .collect(Collectors.toList());
+        return movieCatalog.all().getMovies();
+    }
+
+    public byte[] getAllMoviesJson() {
+        return movieCatalog.all().getJson();
     }
 
     public List<MovieResponseDto> getActiveMovies() {
-        return movieRepository.findByIsActiveTrue().stream()
-                .map(MovieResponseDto::new)
-                .collect(Collectors.toList());
+        return movieCatalog.active().getMovies();
+    }
+
+    public byte[] getActiveMoviesJson() {
+        return movieCatalog.active().getJson();
     }
 
     public List<MovieResponseDto> getMoviesByProducer(Long producerId) {
@@ -68,15 +95,19 @@ public class MovieService {
     }
 
     public List<MovieResponseDto> getMoviesByStatus(Movie.MovieStatus status) {
-        return movieRepository.findActiveMoviesByStatus(status).stream()
-                .map(MovieResponseDto::new)
-                .collect(Collectors.toList());
+        return movieCatalog.byStatus(status).getMovies();
+    }
+
+    public byte[] getMoviesByStatusJson(Movie.MovieStatus status) {
+        return movieCatalog.byStatus(status).getJson();
     }
 
     public List<MovieResponseDto> getMoviesForFunding() {
-        return movieRepository.findActiveMoviesForFunding(LocalDate.now()).stream()
-                .map(MovieResponseDto::new)
-                .collect(Collectors.toList());
+        return movieCatalog.forFunding().getMovies();
+    }
+
+    public byte[] getMoviesForFundingJson() {
+        return movieCatalog.forFunding().getJson();
     }
 
     public List<MovieResponseDto> getMoviesByGenre(String genre) {
@@ -105,6 +136,8 @@ public class MovieService {
         movie.setTrailerUrl(movieDto.getTrailerUrl());
 
         Movie updatedMovie = movieRepository.save(movie);
+        movieCatalog.refresh(id);
+        movieSearchIndex.put(MovieSearchDocument.of(updatedMovie));
         return new MovieResponseDto(updatedMovie);
     }
 
@@ -114,27 +147,39 @@ public class MovieService {
         
         movie.setStatus(status);
         Movie updatedMovie = movieRepository.save(movie);
+        movieCatalog.refresh(id);
         return new MovieResponseDto(updatedMovie);
     }
 
+    /**
+     * Adds to a movie's raised amount. Increments are accumulated by {@link RaisedAmountCounter}
+     * and reach the database within its flush interval, so the returned movie may not include
+     * them yet. Decreases are applied straight away because they must not go below zero.
+     */
     public MovieResponseDto updateRaisedAmount(Long movieId, BigDecimal amount) {
         Movie movie = movieRepository.findById(movieId)
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
-        
-        BigDecimal newAmount = movie.getRaisedAmount().add(amount);
-        if (newAmount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new RuntimeException("Invalid amount: raised amount cannot be negative");
+
+        if (amount.signum() >= 0) {
+            raisedAmountCounter.add(movieId, amount);
+            return new MovieResponseDto(movie);
         }
-        
-        movie.setRaisedAmount(newAmount);
-        
-        // Auto-update status if funding is complete
-        if (movie.isFundingComplete() && movie.getStatus() == Movie.MovieStatus.FUNDING) {
-            movie.setStatus(Movie.MovieStatus.PRODUCTION);
+
+        // Pending increments count towards the balance being checked
+        raisedAmountCounter.flush(movieId);
+        Boolean applied = transactionTemplate.execute(status -> {
+            if (movieFundingJdbcRepository.addToRaisedAmountIfNotNegative(movieId, amount) == 0) {
+                return false;
+            }
+            movieFundingJdbcRepository.startProductionIfFunded(movieId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            throw new RuntimeException("Invalid amount: raised amount cannot be negative");
         }
-        
-        Movie updatedMovie = movieRepository.save(movie);
-        return new MovieResponseDto(updatedMovie);
+        movieCatalog.refresh(movieId);
+        return new MovieResponseDto(movieRepository.findById(movieId)
+                .orElseThrow(() -> new RuntimeException("Movie not found")));
     }
 
     public void deactivateMovie(Long id) {
@@ -142,6 +187,7 @@ public class MovieService {
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
         movie.setIsActive(false);
         movieRepository.save(movie);
+        movieCatalog.refresh(id);
     }
 
     public void activateMovie(Long id) {
@@ -149,11 +195,27 @@ public class MovieService {
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
         movie.setIsActive(true);
         movieRepository.save(movie);
+        movieCatalog.refresh(id);
     }
 
-    public List<MovieResponseDto> searchMovies(String keyword) {
-        return movieRepository.searchActiveMovies(keyword).stream()
-                .map(MovieResponseDto::new)
+    /**
+     * Active movies matching any word of the keyword, best BM25 match first. Words are matched
+     * whole, ignoring case and accents. Until the search index has been built at startup this
+     * falls back to the substring query.
+     */
+    public List<MovieResponseDto> searchMovies(String keyword, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (!movieSearchIndex.isReady()) {
+            return movieRepository.searchActiveMovies(keyword).stream()
+                    .limit(limit)
+                    .map(MovieResponseDto::new)
+                    .collect(Collectors.toList());
+        }
+        return movieSearchIndex.search(keyword, limit, movieCatalog::isActive).stream()
+                .map(movieCatalog::find)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,136 @@
+package com.cinefund.movieservice.service;
+
+import com.cinefund.movieservice.repository.MovieFundingJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates raised-amount increments per movie in memory (in cents, on LongAdders, so
+ * concurrent investors in one movie never contend) and writes them to the movies table as
+ * a single {@code raised_amount = raised_amount + ?} update per movie. That happens every
+ * {@code flush-interval-ms}, or straight away once a movie has {@code flush-threshold}
+ * increments waiting.
+ */
+@Component
+public class RaisedAmountCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(RaisedAmountCounter.class);
+
+    private static final int MINOR_UNIT_SCALE = 2;
+
+    @Autowired
+    private MovieFundingJdbcRepository movieFundingJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MovieCatalog movieCatalog;
+
+    @Value("${movie.funding-counter.flush-threshold:500}")
+    private long flushThreshold;
+
+    private final Map<Long, PendingAmount> pending = new ConcurrentHashMap<>();
+
+    public void add(Long movieId, BigDecimal amount) {
+        long cents = amount.setScale(MINOR_UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        PendingAmount movie = pending.computeIfAbsent(movieId, id -> new PendingAmount());
+        movie.cents.add(cents);
+        movie.increments.increment();
+        if (movie.increments.sum() >= flushThreshold) {
+            flush(movieId, movie);
+        }
+    }
+
+    /**
+     * Increments added for this movie that are not in the database yet.
+     */
+    public BigDecimal pendingAmount(Long movieId) {
+        PendingAmount movie = pending.get(movieId);
+        return BigDecimal.valueOf(movie == null ? 0 : movie.cents.sum(), MINOR_UNIT_SCALE);
+    }
+
+    public void flush(Long movieId) {
+        PendingAmount movie = pending.get(movieId);
+        if (movie != null) {
+            flush(movieId, movie);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${movie.funding-counter.flush-interval-ms:100}")
+    public void flushAll() {
+        for (Map.Entry<Long, PendingAmount> entry : pending.entrySet()) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flushAll();
+    }
+
+    private void flush(Long movieId, PendingAmount movie) {
+        // One flusher per movie; the others just keep accumulating
+        if (!movie.flushing.compareAndSet(false, true)) {
+            return;
+        }
+        long cents = 0;
+        long increments = 0;
+        boolean written = false;
+        try {
+            // Subtracting what was read, rather than resetting, keeps increments that race with us
+            cents = movie.cents.sum();
+            increments = movie.increments.sum();
+            movie.cents.add(-cents);
+            movie.increments.add(-increments);
+            if (cents == 0) {
+                return;
+            }
+
+            BigDecimal delta = BigDecimal.valueOf(cents, MINOR_UNIT_SCALE);
+            Boolean reachedBudget = transactionTemplate.execute(status -> {
+                if (movieFundingJdbcRepository.addToRaisedAmount(movieId, delta) == 0) {
+                    log.warn("Dropped raised amount {} for movie {}: movie not found", delta, movieId);
+                    return false;
+                }
+                // Conditional on status = FUNDING, so exactly one flush wins the transition
+                return movieFundingJdbcRepository.startProductionIfFunded(movieId) == 1;
+            });
+            if (Boolean.TRUE.equals(reachedBudget)) {
+                log.info("Movie {} reached its budget and moved from FUNDING to PRODUCTION", movieId);
+            }
+            written = true;
+        } catch (RuntimeException e) {
+            // Put the amount back so the next flush retries it
+            movie.cents.add(cents);
+            movie.increments.add(increments);
+            log.warn("Failed to flush raised amount for movie {}: {}", movieId, e.getMessage());
+        } finally {
+            movie.flushing.set(false);
+        }
+
+        // The catalog picks the new amount up with its next batch rather than once per flush
+        if (written) {
+            movieCatalog.refreshLater(movieId);
+        }
+    }
+
+    private static class PendingAmount {
+        private final LongAdder cents = new LongAdder();
+        private final LongAdder increments = new LongAdder();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+    }
+}
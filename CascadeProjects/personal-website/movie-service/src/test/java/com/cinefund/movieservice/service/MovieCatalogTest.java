@@ -0,0 +1,163 @@
+package com.cinefund.movieservice.service;
+
+import com.cinefund.movieservice.dto.MovieResponseDto;
+import com.cinefund.movieservice.entity.Movie;
+import com.cinefund.movieservice.repository.MovieChangeJdbcRepository;
+import com.cinefund.movieservice.repository.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieCatalogTest {
+
+    private final Map<Long, Movie> table = new TreeMap<>();
+    private final MovieRepository movieRepository = mock(MovieRepository.class);
+    private final MovieChangeJdbcRepository movieChangeJdbcRepository = mock(MovieChangeJdbcRepository.class);
+    private final MovieCatalog catalog = new MovieCatalog();
+
+    @BeforeEach
+    void setUp() {
+        when(movieRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(table.values()));
+        when(movieRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Movie> found = new ArrayList<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                if (table.containsKey(id)) {
+                    found.add(table.get(id));
+                }
+            }
+            return found;
+        });
+        ReflectionTestUtils.setField(catalog, "movieRepository", movieRepository);
+        ReflectionTestUtils.setField(catalog, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(catalog, "movieChangeJdbcRepository", movieChangeJdbcRepository);
+
+        for (long id = 10; id <= 50; id += 10) {
+            save(movie(id, Movie.MovieStatus.FUNDING));
+        }
+        save(movie(60, Movie.MovieStatus.RELEASED));
+        catalog.reload();
+    }
+
+    @Test
+    void movesAChangedMovieBetweenViewsInIdOrder() {
+        MovieCatalog.View released = catalog.byStatus(Movie.MovieStatus.RELEASED);
+
+        save(movie(30, Movie.MovieStatus.RELEASED));
+        catalog.refresh(30L);
+
+        assertThat(ids(catalog.forFunding())).containsExactly(10L, 20L, 40L, 50L);
+        assertThat(ids(catalog.byStatus(Movie.MovieStatus.RELEASED))).containsExactly(30L, 60L);
+        assertThat(catalog.byStatus(Movie.MovieStatus.RELEASED)).isNotSameAs(released);
+        assertThat(ids(catalog.all())).containsExactly(10L, 20L, 30L, 40L, 50L, 60L);
+        assertThat(catalog.find(30L).getStatus()).isEqualTo(Movie.MovieStatus.RELEASED);
+        verify(movieChangeJdbcRepository).publish(30L);
+    }
+
+    @Test
+    void keepsViewsAndTheirJsonThatAChangeDoesNotTouch() {
+        MovieCatalog.View released = catalog.byStatus(Movie.MovieStatus.RELEASED);
+        byte[] json = released.getJson();
+        MovieCatalog.View funding = catalog.forFunding();
+
+        Movie movie = movie(20, Movie.MovieStatus.FUNDING);
+        movie.setRaisedAmount(BigDecimal.valueOf(500));
+        save(movie);
+        catalog.refresh(20L);
+
+        assertThat(catalog.byStatus(Movie.MovieStatus.RELEASED)).isSameAs(released);
+        assertThat(catalog.byStatus(Movie.MovieStatus.RELEASED).getJson()).isSameAs(json);
+        assertThat(catalog.forFunding()).isNotSameAs(funding);
+        assertThat(catalog.find(20L).getRaisedAmount()).isEqualByComparingTo("500");
+    }
+
+    @Test
+    void addsNewMoviesAndDropsRemovedOnesInOneBatch() {
+        save(movie(5, Movie.MovieStatus.FUNDING));
+        save(movie(45, Movie.MovieStatus.FUNDING));
+        table.remove(10L);
+        Movie inactive = movie(50, Movie.MovieStatus.FUNDING);
+        inactive.setIsActive(false);
+        save(inactive);
+
+        catalog.refreshLocally(List.of(5L, 10L, 45L, 50L));
+
+        assertThat(ids(catalog.all())).containsExactly(5L, 20L, 30L, 40L, 45L, 50L, 60L);
+        assertThat(ids(catalog.active())).containsExactly(5L, 20L, 30L, 40L, 45L, 60L);
+        assertThat(ids(catalog.forFunding())).containsExactly(5L, 20L, 30L, 40L, 45L);
+        assertThat(catalog.find(10L)).isNull();
+        assertThat(catalog.isActive(50L)).isFalse();
+    }
+
+    @Test
+    void appliesQueuedRefreshesWithTheNextBatch() {
+        Movie movie = movie(40, Movie.MovieStatus.FUNDING);
+        movie.setRaisedAmount(BigDecimal.valueOf(700));
+        save(movie);
+
+        catalog.refreshLater(40L);
+        catalog.refreshLater(40L);
+        assertThat(catalog.find(40L).getRaisedAmount()).isEqualByComparingTo("0");
+
+        catalog.refreshPending();
+        assertThat(catalog.find(40L).getRaisedAmount()).isEqualByComparingTo("700");
+        verify(movieChangeJdbcRepository).publish(40L);
+
+        catalog.refreshPending();
+        verify(movieChangeJdbcRepository).publish(anyLong());
+    }
+
+    @Test
+    void retriesQueuedRefreshesThatFailed() {
+        catalog.refreshLater(40L);
+        doThrow(new IllegalStateException("database down")).when(movieRepository).findAllById(any());
+
+        assertThatThrownBy(catalog::refreshPending).isInstanceOf(IllegalStateException.class);
+        verify(movieChangeJdbcRepository, never()).publish(anyLong());
+
+        doReturn(List.of(table.get(40L))).when(movieRepository).findAllById(any());
+        catalog.refreshPending();
+        verify(movieChangeJdbcRepository).publish(40L);
+    }
+
+    private void save(Movie movie) {
+        table.put(movie.getId(), movie);
+    }
+
+    private static List<Long> ids(MovieCatalog.View view) {
+        return view.getMovies().stream().map(MovieResponseDto::getId).toList();
+    }
+
+    private static Movie movie(long id, Movie.MovieStatus status) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle("Movie " + id);
+        movie.setBudget(BigDecimal.valueOf(1_000_000));
+        movie.setRaisedAmount(BigDecimal.ZERO);
+        movie.setProducerId(1L);
+        movie.setStatus(status);
+        movie.setFundingDeadline(LocalDate.now().plusYears(1));
+        movie.setIsActive(true);
+        return movie;
+    }
+}
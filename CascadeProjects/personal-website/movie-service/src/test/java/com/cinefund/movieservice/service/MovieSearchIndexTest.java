@@ -0,0 +1,138 @@
+package com.cinefund.movieservice.service;
+
+import com.cinefund.movieservice.dto.MovieSearchDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchIndexTest {
+
+    private final MovieSearchIndex index = new MovieSearchIndex();
+
+    @Test
+    void findsNothingUntilBuilt() {
+        assertThat(index.isReady()).isFalse();
+        index.put(movie(1, "Harbor Lights", "A quiet drama"));
+        assertThat(search("harbor")).isEmpty();
+
+        index.rebuild(List.of(movie(1, "Harbor Lights", "A quiet drama")));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(search("harbor")).containsExactly(1L);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        index.rebuild(List.of(
+                movie(1, "Night Shift", "A nurse finds a harbor of calm"),
+                movie(2, "Quiet Harbor", "A fishing village drama"),
+                movie(3, "Open Sea", "Sailors and storms")));
+
+        assertThat(search("harbor")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void ranksRarerWordsAboveCommonOnes() {
+        index.rebuild(List.of(
+                movie(1, "Alpha", "harbor lights fade"),
+                movie(2, "Bravo", "harbor nights fall"),
+                movie(3, "Charlie", "harbor tides turn"),
+                movie(4, "Delta", "harbor bells ring"),
+                movie(5, "Echo", "storm winds rise")));
+
+        assertThat(search("harbor storm").get(0)).isEqualTo(5L);
+    }
+
+    @Test
+    void ranksShorterMoviesFirstOnEqualMatches() {
+        index.rebuild(List.of(
+                movie(1, "Alpha", "harbor lights over a long and winding coastal road through seven villages"),
+                movie(2, "Bravo", "harbor lights")));
+
+        assertThat(search("harbor")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void matchesWholeWordsIgnoringCaseAccentsAndStopWords() {
+        index.rebuild(List.of(movie(1, "Amélie", "The story of a café in Paris")));
+
+        assertThat(search("AMELIE")).containsExactly(1L);
+        assertThat(search("cafe")).containsExactly(1L);
+        assertThat(search("ame")).isEmpty();
+        assertThat(search("the of")).isEmpty();
+    }
+
+    @Test
+    void appliesTheLimitAndFilterToTheBestMatches() {
+        index.rebuild(List.of(
+                movie(1, "Harbor", "harbor"),
+                movie(2, "Harbor", "drama"),
+                movie(3, "Alpha", "harbor"),
+                movie(4, "Bravo", "harbor lights and more words")));
+
+        assertThat(index.search("harbor", 2, id -> true)).containsExactly(1L, 2L);
+        assertThat(index.search("harbor", 2, id -> id != 1L)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void putReplacesThePreviousVersionOfAMovie() {
+        index.rebuild(List.of(movie(1, "Harbor Lights", "A quiet drama")));
+
+        index.put(movie(1, "Desert Run", "A quiet drama"));
+        index.put(movie(2, "Harbor Nights", "A loud comedy"));
+
+        assertThat(search("desert")).containsExactly(1L);
+        assertThat(search("harbor")).containsExactly(2L);
+        assertThat(search("quiet")).containsExactly(1L);
+    }
+
+    @Test
+    void keepsResultsCorrectThroughPurgesOfReplacedVersions() {
+        int movies = 2000;
+        List<MovieSearchDocument> documents = new ArrayList<>();
+        for (int id = 1; id <= movies; id++) {
+            documents.add(movie(id, "Movie " + id, id % 2 == 0 ? "even" : "odd"));
+        }
+        index.rebuild(documents);
+
+        // Three rounds of updates replace far more than a quarter of the index, so the
+        // replaced versions are purged from the postings along the way
+        Set<Long> even = new TreeSet<>();
+        for (int round = 1; round <= 3; round++) {
+            even.clear();
+            for (int id = 1; id <= movies; id++) {
+                boolean isEven = (id + round) % 3 == 0;
+                index.put(movie(id, "Movie " + id, isEven ? "even" : "odd"));
+                if (isEven) {
+                    even.add((long) id);
+                }
+            }
+        }
+
+        assertThat(index.search("even", movies, id -> true)).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(even);
+        assertThat(index.search("odd", movies, id -> true)).hasSize(movies - even.size()).doesNotContainAnyElementsOf(even);
+        assertThat(index.search("movie", movies, id -> true)).hasSize(movies);
+    }
+
+    @Test
+    void rebuildReplacesTheWholeIndex() {
+        index.rebuild(List.of(movie(1, "Harbor Lights", "A quiet drama")));
+        index.rebuild(List.of(movie(2, "Desert Run", "A loud comedy")));
+
+        assertThat(search("harbor")).isEmpty();
+        assertThat(search("desert")).containsExactly(2L);
+    }
+
+    private List<Long> search(String query) {
+        return index.search(query, 10, id -> true);
+    }
+
+    private static MovieSearchDocument movie(long id, String title, String description) {
+        return new MovieSearchDocument(id, title, description, null, null, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.cinefund.userservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the requests in flight when they are served on virtual threads. The platform pool
+ * bounds them by its size, but virtual threads start one per request and pile up on the
+ * connection pool until its timeout. Requests over the cap wait here in arrival order, and
+ * get 503 if no permit frees up within the wait timeout.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long waitTimeoutMillis;
+
+    public ConcurrencyLimitFilter(@Value("${request-limit.max-concurrent:20}") int maxConcurrent,
+                                  @Value("${request-limit.wait-timeout-ms:30000}") long waitTimeoutMillis,
+                                  MeterRegistry registry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalStateException("request-limit.max-concurrent must be at least 1, was " + maxConcurrent);
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        Gauge.builder("cinefund.requests.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a concurrency limit permit")
+                .register(registry);
+    }
+
+    // Health checks and scrapes still answer while the service is saturated
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            // Written directly: sendError would forward to /error, which Spring Security answers with 403
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests in flight");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
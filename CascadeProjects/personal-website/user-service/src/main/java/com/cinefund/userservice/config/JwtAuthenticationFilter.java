@@ -0,0 +1,79 @@
+package com.cinefund.userservice.config;
+
+import com.cinefund.userservice.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates requests carrying the {@code Authorization: Bearer <token>} issued by login.
+ * Requests without a valid token continue unauthenticated and are rejected by the security
+ * rules if the endpoint needs a user.
+ *
+ * <p>Requests that act on one account ({@code PUT /api/users/{id}} and everything under
+ * {@code /api/users/{id}/}, such as invest and wallet) are answered 403 unless the token
+ * belongs to that user or to an admin.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Pattern ACCOUNT_PATH = Pattern.compile("^/api/users/(\\d+)(/.*)?$");
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                // Parsing verifies the signature and rejects expired tokens
+                Claims claims = jwtService.extractAllClaims(header.substring(BEARER_PREFIX.length()));
+                String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+                if (!ownsAccount(request, claims.get(JwtService.USER_ID_CLAIM, Long.class), role)) {
+                    response.sendError(HttpServletResponse.SC_FORBIDDEN, "Token does not belong to this user");
+                    return;
+                }
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        claims.getSubject(), null,
+                        role == null ? Collections.emptyList() : List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Ignoring invalid bearer token: " + e.getMessage());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean ownsAccount(HttpServletRequest request, Long userId, String role) {
+        Matcher matcher = ACCOUNT_PATH.matcher(request.getServletPath());
+        if (!matcher.matches() || "ADMIN".equals(role)) {
+            return true;
+        }
+        // Reading a profile is open to any signed-in user; changing one is not
+        if (matcher.group(2) == null && HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        return userId != null && matcher.group(1).equals(userId.toString());
+    }
+}
@@ -1,9 +1,14 @@
 package com.cinefund.userservice.controller;
 
+import com.cinefund.userservice.dto.ApiResponse;
 import com.cinefund.userservice.dto.InvestmentDto;
+import com.cinefund.userservice.dto.InvestmentPayload;
 import com.cinefund.userservice.dto.InvestmentResponseDto;
+import com.cinefund.userservice.dto.TokenPayload;
+import com.cinefund.userservice.dto.UserListPayload;
 import com.cinefund.userservice.dto.UserLoginDto;
 import com.cinefund.userservice.dto.UserRegistrationDto;
+import com.cinefund.userservice.dto.UserPayload;
 import com.cinefund.userservice.dto.UserResponseDto;
 import com.cinefund.userservice.entity.User;
 import com.cinefund.userservice.service.InvestmentService;
@@ -17,9 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -38,16 +41,9 @@ public class UserController {
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
         try {
             UserResponseDto user = userService.registerUser(registrationDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "User registered successfully");
-            response.put("user", user);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("User registered successfully", new UserPayload(user)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -57,16 +53,9 @@ public class UserController {
         System.out.println("Received login request: " + loginDto.getUsernameOrEmail() + " / " + (loginDto.getPassword() != null ? "***" : "null"));
         try {
             String token = userService.loginUser(loginDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Login successful");
-            response.put("token", token);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Login successful", new TokenPayload(token)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -75,14 +64,8 @@ public class UserController {
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
             UserResponseDto user = userService.getUserById(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("user", user);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok(new UserPayload(user)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -92,14 +75,8 @@ public class UserController {
     public ResponseEntity<?> getUserByUsername(@PathVariable String username) {
         try {
             UserResponseDto user = userService.getUserByUsername(username);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("user", user);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok(new UserPayload(user)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
@@ -108,22 +85,14 @@ public class UserController {
     @Operation(summary = "Get all users", description = "Retrieve all users in the system")
     public ResponseEntity<?> getAllUsers() {
         List<UserResponseDto> users = userService.getAllUsers();
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("users", users);
-        response.put("count", users.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new UserListPayload(users)));
     }
 
     @GetMapping("/role/{role}")
     @Operation(summary = "Get users by role", description = "Retrieve users by their role (INVESTOR, PRODUCER, ADMIN)")
     public ResponseEntity<?> getUsersByRole(@PathVariable User.Role role) {
         List<UserResponseDto> users = userService.getUsersByRole(role);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("users", users);
-        response.put("count", users.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new UserListPayload(users)));
     }
 
     @PutMapping("/{id}")
@@ -131,16 +100,9 @@ public class UserController {
     public ResponseEntity<?> updateUser(@PathVariable Long id, @Valid @RequestBody UserRegistrationDto updateDto) {
         try {
             UserResponseDto user = userService.updateUser(id, updateDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "User updated successfully");
-            response.put("user", user);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("User updated successfully", new UserPayload(user)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -149,15 +111,9 @@ public class UserController {
     public ResponseEntity<?> deactivateUser(@PathVariable Long id) {
         try {
             userService.deactivateUser(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "User deactivated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("User deactivated successfully"));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -166,15 +122,9 @@ public class UserController {
     public ResponseEntity<?> activateUser(@PathVariable Long id) {
         try {
             userService.activateUser(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "User activated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("User activated successfully"));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -183,16 +133,9 @@ public class UserController {
     public ResponseEntity<?> updateWalletBalance(@PathVariable Long id, @RequestParam BigDecimal amount) {
         try {
             UserResponseDto user = userService.updateWalletBalance(id, amount);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Wallet balance updated successfully");
-            response.put("user", user);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.ok("Wallet balance updated successfully", new UserPayload(user)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
@@ -200,11 +143,7 @@ public class UserController {
     @Operation(summary = "Search users", description = "Search users by name or username")
     public ResponseEntity<?> searchUsers(@RequestParam String keyword) {
         List<UserResponseDto> users = userService.searchUsers(keyword);
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("users", users);
-        response.put("count", users.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ApiResponse.ok(new UserListPayload(users)));
     }
 
     @PostMapping("/{userId}/invest")
@@ -212,16 +151,9 @@ public class UserController {
     public ResponseEntity<?> investInMovie(@PathVariable Long userId, @Valid @RequestBody InvestmentDto investmentDto) {
         try {
             InvestmentResponseDto investment = investmentService.investInMovie(userId, investmentDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Investment successful");
-            response.put("investment", investment);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("Investment successful", new InvestmentPayload(investment)));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 }
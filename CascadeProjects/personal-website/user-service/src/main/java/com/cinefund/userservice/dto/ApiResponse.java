@@ -0,0 +1,28 @@
+package com.cinefund.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Response body of the user API. The payload's properties are unwrapped next to
+ * {@code success} and {@code message}; a failure carries only the message.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(boolean success, String message, @JsonUnwrapped T payload) {
+
+    public static <T> ApiResponse<T> ok(T payload) {
+        return new ApiResponse<>(true, null, payload);
+    }
+
+    public static <T> ApiResponse<T> ok(String message, T payload) {
+        return new ApiResponse<>(true, message, payload);
+    }
+
+    public static ApiResponse<Void> ok(String message) {
+        return new ApiResponse<>(true, message, null);
+    }
+
+    public static ApiResponse<Void> error(String message) {
+        return new ApiResponse<>(false, message, null);
+    }
+}
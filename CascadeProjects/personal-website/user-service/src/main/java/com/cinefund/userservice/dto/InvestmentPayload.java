@@ -0,0 +1,4 @@
+package com.cinefund.userservice.dto;
+
+public record InvestmentPayload(InvestmentResponseDto investment) {
+}
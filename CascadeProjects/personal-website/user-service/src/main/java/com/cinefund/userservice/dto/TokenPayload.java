@@ -0,0 +1,4 @@
+package com.cinefund.userservice.dto;
+
+public record TokenPayload(String token) {
+}
@@ -0,0 +1,10 @@
+package com.cinefund.userservice.dto;
+
+import java.util.List;
+
+public record UserListPayload(List<UserResponseDto> users, int count) {
+
+    public UserListPayload(List<UserResponseDto> users) {
+        this(users, users.size());
+    }
+}
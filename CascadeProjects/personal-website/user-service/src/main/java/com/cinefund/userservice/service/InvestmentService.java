@@ -4,28 +4,37 @@ import com.cinefund.userservice.dto.InvestmentDto;
 import com.cinefund.userservice.dto.InvestmentResponseDto;
 import com.cinefund.userservice.entity.User;
 import com.cinefund.userservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
+@Timed(value = "cinefund.service", histogram = true)
 public class InvestmentService {
 
     @Autowired
     private UserRepository userRepository;
 
     private final RestTemplate restTemplate = new RestTemplate();
-    private final String FUNDING_SERVICE_URL = "http://localhost:8083";
-    private final String MOVIE_SERVICE_URL = "http://localhost:8082";
+
+    @Value("${services.funding.url:http://localhost:8083}")
+    private String fundingServiceUrl;
+
+    @Value("${services.movie.url:http://localhost:8082}")
+    private String movieServiceUrl;
 
     public InvestmentResponseDto investInMovie(Long investorId, InvestmentDto investmentDto) {
         // 1. Validate investor exists and has sufficient balance
@@ -51,8 +60,8 @@ public class InvestmentService {
 
         // 4. Create investment record in Funding Service
         Map<String, Object> investmentData = new HashMap<>();
-        investmentData.put("investorId", investorId);
-        investmentData.put("investorName", investor.getFirstName() + " " + investor.getLastName());
+        investmentData.put("userId", investorId);
+        investmentData.put("userName", investor.getFirstName() + " " + investor.getLastName());
         investmentData.put("movieId", investmentDto.getMovieId());
         investmentData.put("movieTitle", movieTitle);
         investmentData.put("producerId", producerId);
@@ -75,7 +84,7 @@ public class InvestmentService {
 
     private Map<String, Object> getMovieDetails(Long movieId) {
         try {
-            String url = MOVIE_SERVICE_URL + "/api/movies/" + movieId;
+            String url = movieServiceUrl + "/api/movies/" + movieId;
             ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
@@ -92,13 +101,20 @@ public class InvestmentService {
 
     private InvestmentResponseDto createInvestmentRecord(Map<String, Object> investmentData) {
         try {
-            String url = FUNDING_SERVICE_URL + "/api/funding/invest";
+            String url = fundingServiceUrl + "/api/funding/invest";
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
+            // One key per investment, reused on retry so a lost response cannot create it twice
+            headers.set("Idempotency-Key", UUID.randomUUID().toString());
             
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(investmentData, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+            ResponseEntity<Map> response;
+            try {
+                response = restTemplate.postForEntity(url, request, Map.class);
+            } catch (ResourceAccessException e) {
+                response = restTemplate.postForEntity(url, request, Map.class);
+            }
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 Map<String, Object> responseBody = response.getBody();
@@ -115,7 +131,7 @@ public class InvestmentService {
 
     private void updateMovieRaisedAmount(Long movieId, BigDecimal amount) {
         try {
-            String url = MOVIE_SERVICE_URL + "/api/movies/" + movieId + "/funding?amount=" + amount;
+            String url = movieServiceUrl + "/api/movies/" + movieId + "/funding?amount=" + amount;
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -131,8 +147,9 @@ public class InvestmentService {
     private InvestmentResponseDto mapToInvestmentResponseDto(Map<String, Object> investment) {
         InvestmentResponseDto dto = new InvestmentResponseDto();
         dto.setId(((Number) investment.get("id")).longValue());
-        dto.setInvestorId(((Number) investment.get("investorId")).longValue());
-        dto.setInvestorName((String) investment.get("investorName"));
+        // Funding service names the investor userId/userName
+        dto.setInvestorId(((Number) investment.get("userId")).longValue());
+        dto.setInvestorName((String) investment.get("userName"));
         dto.setMovieId(((Number) investment.get("movieId")).longValue());
         dto.setMovieTitle((String) investment.get("movieTitle"));
         dto.setProducerId(((Number) investment.get("producerId")).longValue());
@@ -5,6 +5,7 @@ import com.cinefund.userservice.dto.UserRegistrationDto;
 import com.cinefund.userservice.dto.UserResponseDto;
 import com.cinefund.userservice.entity.User;
 import com.cinefund.userservice.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -15,6 +16,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "cinefund.service", histogram = true)
 public class UserService {
 
     @Autowired
@@ -65,7 +67,7 @@ public class UserService {
             throw new RuntimeException("Account is deactivated");
         }
 
-        return jwtService.generateToken(user.getUsername());
+        return jwtService.generateToken(user.getUsername(), user.getId(), user.getRole().name());
     }
 
     public UserResponseDto getUserById(Long id) {